@@ -0,0 +1,82 @@
+package com.alura_foro_api.foro_backend.dto;
+
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de entidades a {@link DetalleTopicoDTO} y serialización JSON de
+ * una página completa, como la que devuelve {@code GET /api/v1/topicos}.
+ * El ObjectMapper se configura igual que el de Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DetalleTopicoBenchmark {
+
+    @Param({"10", "100"})
+    public int tamanoPagina;
+
+    @Param({"200", "2000"})
+    public int largoMensaje;
+
+    private List<Topico> topicos;
+    private Page<DetalleTopicoDTO> pagina;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void preparar() {
+        topicos = new ArrayList<>(tamanoPagina);
+        String mensaje = "m".repeat(largoMensaje);
+        for (int i = 0; i < tamanoPagina; i++) {
+            Topico topico = new Topico();
+            topico.setId((long) i);
+            topico.setTitulo("Título del tópico " + i);
+            topico.setMensaje(mensaje);
+            topico.setAutor("autor" + (i % 7));
+            topico.setCurso("Curso " + (i % 5));
+            topico.setFechaCreacion(LocalDateTime.now().minusMinutes(i));
+            topicos.add(topico);
+        }
+        pagina = new PageImpl<>(convertir(),
+                PageRequest.of(0, tamanoPagina, Sort.by(Sort.Direction.DESC, "fechaCreacion")), 10_000);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<DetalleTopicoDTO> convertir() {
+        List<DetalleTopicoDTO> detalles = new ArrayList<>(topicos.size());
+        for (Topico topico : topicos) {
+            detalles.add(new DetalleTopicoDTO(topico));
+        }
+        return detalles;
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws Exception {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
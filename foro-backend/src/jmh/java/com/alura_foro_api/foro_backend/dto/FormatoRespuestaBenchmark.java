@@ -0,0 +1,109 @@
+package com.alura_foro_api.foro_backend.dto;
+
+import com.alura_foro_api.foro_backend.config.SerializacionConfig;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tamaño y costo de serializar una página de tópicos en cada formato que
+ * negocia la API: JSON tal como era antes (reflexión), JSON con Blackbird, y
+ * CBOR y Smile con el envoltorio reducido de {@link SerializacionConfig}.
+ * {@code leer} aproxima el costo de interpretar la respuesta en el cliente.
+ * Los bytes por página aparecen como métrica secundaria {@code bytes} de {@code serializar}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatoRespuestaBenchmark {
+
+    @Param({"json-reflexion", "json", "cbor", "smile"})
+    public String formato;
+
+    @Param({"10", "100"})
+    public int tamanoPagina;
+
+    private Page<DetalleTopicoDTO> pagina;
+    private ObjectMapper objectMapper;
+    private byte[] serializada;
+
+    @Setup
+    public void preparar() throws Exception {
+        List<DetalleTopicoDTO> detalles = new ArrayList<>(tamanoPagina);
+        for (int i = 0; i < tamanoPagina; i++) {
+            Topico topico = new Topico();
+            topico.setId(100_000L + i);
+            topico.setTitulo("Título del tópico " + i);
+            topico.setMensaje("Mensaje de ejemplo con una longitud típica de una consulta en el foro. ".repeat(3));
+            topico.setAutor("autor" + (i % 7));
+            topico.setCurso("Curso " + (i % 5));
+            topico.setEstado("ABIERTO");
+            topico.setFechaCreacion(LocalDateTime.now().minusMinutes(i));
+            topico.setFechaActualizacion(LocalDateTime.now());
+            detalles.add(new DetalleTopicoDTO(topico));
+        }
+        pagina = new PageImpl<>(detalles,
+                PageRequest.of(0, tamanoPagina, Sort.by(Sort.Direction.DESC, "fechaCreacion")), 10_000);
+
+        objectMapper = switch (formato) {
+            case "json-reflexion" -> Jackson2ObjectMapperBuilder.json().build();
+            case "json" -> Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+            case "cbor" -> SerializacionConfig.mapperCompacto(
+                    Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()), new CBORFactory());
+            case "smile" -> SerializacionConfig.mapperCompacto(
+                    Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()), new SmileFactory());
+            default -> throw new IllegalArgumentException(formato);
+        };
+        serializada = objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] serializar(Tamano tamano) throws Exception {
+        byte[] bytes = objectMapper.writeValueAsBytes(pagina);
+        tamano.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public JsonNode leer() throws Exception {
+        return objectMapper.readTree(serializada);
+    }
+
+    /**
+     * Tamaño de la última página serializada; JMH lo informa tal cual al final
+     * de cada iteración, sin dividirlo por el tiempo
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Tamano {
+        public long bytes;
+    }
+}
@@ -0,0 +1,54 @@
+package com.alura_foro_api.foro_backend.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de hash y verificación de contraseñas según el costo de BCrypt
+ * ({@code seguridad.bcrypt.costo}). Sirve para elegir un costo que no
+ * sature el pool de {@link HashContrasenasService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+    private static final String CONTRASENA = "contrasena_de_prueba_123";
+
+    @Param({"4", "8", "10", "12"})
+    public int costo;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        encoder = new BCryptPasswordEncoder(costo);
+        hash = encoder.encode(CONTRASENA);
+    }
+
+    @Benchmark
+    public String codificar() {
+        return encoder.encode(CONTRASENA);
+    }
+
+    @Benchmark
+    public boolean verificar() {
+        return encoder.matches(CONTRASENA, hash);
+    }
+}
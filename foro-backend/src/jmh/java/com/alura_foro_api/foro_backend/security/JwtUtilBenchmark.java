@@ -0,0 +1,63 @@
+package com.alura_foro_api.foro_backend.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación y validación de tokens JWT. Con {@code tamanoCache=0} cada
+ * validación verifica la firma; con el valor por defecto se mide el acierto
+ * en la cache de tokens ya verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRETO =
+            "esta_es_mi_clave_jwt_super_secreta_de_al_menos_64_caracteres_para_mayor_seguridad";
+
+    @Param({"0", "10000"})
+    public long tamanoCache;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", SECRETO);
+        ReflectionTestUtils.setField(jwtUtil, "tamanoMaximoCache", tamanoCache);
+        jwtUtil.init();
+        token = jwtUtil.generateToken("usuario_benchmark");
+    }
+
+    @Benchmark
+    public String generarToken() {
+        return jwtUtil.generateToken("usuario_benchmark");
+    }
+
+    @Benchmark
+    public boolean validarToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extraerUsuario() {
+        return jwtUtil.extractUsername(token);
+    }
+}
@@ -0,0 +1,44 @@
+package com.alura_foro_api.foro_backend.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de decidir si una ruta es pública en {@link JwtAuthenticationFilter},
+ * que se evalúa en cada petición. La ruta de la API es el peor caso: recorre
+ * todas las comparaciones antes de responder que no es pública.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RutasPublicasBenchmark {
+
+    @Param({"/api/v1/topicos/42", "/auth/login", "/swagger-ui/index.html", "/actuator/health"})
+    public String ruta;
+
+    private JwtAuthenticationFilter filtro;
+
+    @Setup
+    public void preparar() {
+        filtro = new JwtAuthenticationFilter(null);
+    }
+
+    @Benchmark
+    public boolean esRutaPublica() {
+        return filtro.isPublicPath(ruta);
+    }
+}
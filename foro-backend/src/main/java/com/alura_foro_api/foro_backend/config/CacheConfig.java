@@ -0,0 +1,109 @@
+package com.alura_foro_api.foro_backend.config;
+
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResumenTopicoDTO;
+import com.alura_foro_api.foro_backend.service.CargadorTopicos;
+import com.alura_foro_api.foro_backend.service.ConsultaTopicos;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+
+import java.util.Collections;
+import java.util.function.Function;
+
+/**
+ * Configuración de los caches de tópicos sobre Caffeine.
+ * Cada cache tiene un peso máximo (en bytes aproximados), un tiempo de
+ * expiración y un refresco anticipado que recarga las entradas activas en
+ * segundo plano, de modo que las lecturas frecuentes no esperan a la base de datos.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheTopicosProperties.class)
+public class CacheConfig {
+
+    public static final String TOPICO = "topico";
+    public static final String TOPICOS = "topicos";
+    public static final String TOPICOS_RESUMEN = "topicosResumen";
+    public static final String TOPICOS_POR_CURSO = "topicosPorCurso";
+    public static final String TOPICOS_POR_AUTOR = "topicosPorAutor";
+
+    @Bean
+    public CacheManager cacheManager(CacheTopicosProperties propiedades, CargadorTopicos cargador) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Sin caches dinámicos: un nombre desconocido no debe crear un cache sin límite
+        cacheManager.setCacheNames(Collections.emptyList());
+
+        registrar(cacheManager, TOPICO, propiedades,
+                id -> cargador.cargarDetalle((Long) id).orElse(null));
+        registrar(cacheManager, TOPICOS, propiedades,
+                consulta -> cargador.cargarPagina((ConsultaTopicos) consulta));
+        registrar(cacheManager, TOPICOS_RESUMEN, propiedades,
+                consulta -> cargador.cargarPaginaResumen((ConsultaTopicos) consulta));
+        registrar(cacheManager, TOPICOS_POR_CURSO, propiedades,
+                consulta -> cargador.cargarPaginaPorCurso((ConsultaTopicos) consulta));
+        registrar(cacheManager, TOPICOS_POR_AUTOR, propiedades,
+                consulta -> cargador.cargarPaginaPorAutor((ConsultaTopicos) consulta));
+
+        return cacheManager;
+    }
+
+    private void registrar(CaffeineCacheManager cacheManager, String nombre,
+                           CacheTopicosProperties propiedades, Function<Object, Object> recarga) {
+        CacheTopicosProperties.Especificacion especificacion = propiedades.especificacion(nombre);
+        CacheLoader<Object, Object> loader = recarga::apply;
+
+        cacheManager.registerCustomCache(nombre, Caffeine.newBuilder()
+                .maximumWeight(especificacion.getPesoMaximo())
+                .weigher(PESO_ESTIMADO)
+                .expireAfterWrite(especificacion.getExpiracion())
+                .refreshAfterWrite(especificacion.getRefresco())
+                .recordStats()
+                .build(loader));
+    }
+
+    /**
+     * Estimación del tamaño en memoria de cada entrada.
+     * No necesita ser exacta, solo proporcional al contenido real.
+     */
+    static final Weigher<Object, Object> PESO_ESTIMADO = (clave, valor) -> {
+        if (valor instanceof DetalleTopicoDTO detalle) {
+            return pesoDetalle(detalle);
+        }
+        if (valor instanceof Page<?> pagina) {
+            int peso = 128;
+            for (Object elemento : pagina.getContent()) {
+                if (elemento instanceof DetalleTopicoDTO detalle) {
+                    peso += pesoDetalle(detalle);
+                } else if (elemento instanceof ResumenTopicoDTO resumen) {
+                    peso += pesoResumen(resumen);
+                } else {
+                    peso += 64;
+                }
+            }
+            return peso;
+        }
+        return 64;
+    };
+
+    private static int pesoDetalle(DetalleTopicoDTO detalle) {
+        return 96 + pesoTexto(detalle.getTitulo()) + pesoTexto(detalle.getMensaje())
+                + pesoTexto(detalle.getAutor()) + pesoTexto(detalle.getCurso())
+                + pesoTexto(detalle.getEstado());
+    }
+
+    private static int pesoResumen(ResumenTopicoDTO resumen) {
+        return 96 + pesoTexto(resumen.getTitulo()) + pesoTexto(resumen.getVistaPrevia())
+                + pesoTexto(resumen.getAutor()) + pesoTexto(resumen.getCurso())
+                + pesoTexto(resumen.getEstado());
+    }
+
+    private static int pesoTexto(String texto) {
+        return texto == null ? 0 : 40 + texto.length() * 2;
+    }
+}
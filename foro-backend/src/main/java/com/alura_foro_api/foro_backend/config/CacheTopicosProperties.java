@@ -0,0 +1,45 @@
+package com.alura_foro_api.foro_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Límites configurables para cada cache de tópicos.
+ * Se leen de las propiedades {@code foro.cache.caches.<nombre>.*}
+ */
+@ConfigurationProperties(prefix = "foro.cache")
+public class CacheTopicosProperties {
+
+    private Map<String, Especificacion> caches = new LinkedHashMap<>();
+
+    public Map<String, Especificacion> getCaches() { return caches; }
+    public void setCaches(Map<String, Especificacion> caches) { this.caches = caches; }
+
+    public Especificacion especificacion(String nombre) {
+        return caches.getOrDefault(nombre, new Especificacion());
+    }
+
+    public static class Especificacion {
+
+        /** Peso máximo de la cache, en bytes aproximados */
+        private long pesoMaximo = 8 * 1024 * 1024;
+
+        /** Tiempo tras el cual una entrada escrita expira */
+        private Duration expiracion = Duration.ofMinutes(10);
+
+        /** Tiempo tras el cual una entrada leída se recarga en segundo plano */
+        private Duration refresco = Duration.ofMinutes(1);
+
+        public long getPesoMaximo() { return pesoMaximo; }
+        public void setPesoMaximo(long pesoMaximo) { this.pesoMaximo = pesoMaximo; }
+
+        public Duration getExpiracion() { return expiracion; }
+        public void setExpiracion(Duration expiracion) { this.expiracion = expiracion; }
+
+        public Duration getRefresco() { return refresco; }
+        public void setRefresco(Duration refresco) { this.refresco = refresco; }
+    }
+}
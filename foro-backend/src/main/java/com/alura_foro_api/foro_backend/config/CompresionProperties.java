@@ -0,0 +1,52 @@
+package com.alura_foro_api.foro_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compresión gzip de las respuestas de tópicos.
+ * Se lee de las propiedades {@code foro.compresion.*}
+ */
+@ConfigurationProperties(prefix = "foro.compresion")
+public class CompresionProperties {
+
+    /** Comprime las respuestas de /api/v1/topicos/** cuando el cliente acepta gzip */
+    private boolean habilitada = true;
+
+    /** Tamaño mínimo del cuerpo, en bytes, para comprimirlo */
+    private int umbral = 1024;
+
+    /** Nivel de compresión (1 = más rápido, 9 = más compacto) */
+    private int nivel = 6;
+
+    /** Tipos de contenido que se comprimen */
+    private List<String> tipos = new ArrayList<>(List.of(
+            "application/json", "application/cbor", "application/x-jackson-smile"));
+
+    /** Peso máximo, en bytes, de las respuestas comprimidas guardadas por ETag */
+    private long pesoMaximoCache = 16 * 1024 * 1024;
+
+    /** Tiempo sin accesos tras el cual una respuesta comprimida se descarta */
+    private Duration expiracionCache = Duration.ofMinutes(10);
+
+    public boolean isHabilitada() { return habilitada; }
+    public void setHabilitada(boolean habilitada) { this.habilitada = habilitada; }
+
+    public int getUmbral() { return umbral; }
+    public void setUmbral(int umbral) { this.umbral = umbral; }
+
+    public int getNivel() { return nivel; }
+    public void setNivel(int nivel) { this.nivel = nivel; }
+
+    public List<String> getTipos() { return tipos; }
+    public void setTipos(List<String> tipos) { this.tipos = tipos; }
+
+    public long getPesoMaximoCache() { return pesoMaximoCache; }
+    public void setPesoMaximoCache(long pesoMaximoCache) { this.pesoMaximoCache = pesoMaximoCache; }
+
+    public Duration getExpiracionCache() { return expiracionCache; }
+    public void setExpiracionCache(Duration expiracionCache) { this.expiracionCache = expiracionCache; }
+}
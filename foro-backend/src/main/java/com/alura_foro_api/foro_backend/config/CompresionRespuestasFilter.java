@@ -0,0 +1,341 @@
+package com.alura_foro_api.foro_backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Comprime con gzip las respuestas de tópicos cuando el cliente lo acepta y
+ * el cuerpo supera el umbral configurado.
+ *
+ * <p>Las respuestas con ETag (detalle y listados servidos desde los caches de
+ * tópicos) guardan su versión comprimida en una cache propia indexada por
+ * ruta, ETag y tipo de contenido: mientras el ETag no cambie, las peticiones
+ * siguientes reutilizan esos bytes sin volver a comprimir. Las respuestas sin
+ * ETag se comprimen en cada petición.</p>
+ *
+ * <p>Al comprimir, el ETag pasa a ser débil ({@code W/"..."}), como hacen los
+ * servidores web, porque el cuerpo ya no es byte a byte el de la
+ * representación original. Spring compara If-None-Match de forma débil, así
+ * que las peticiones condicionales siguen respondiendo 304.</p>
+ *
+ * <p>El cuerpo se acumula en memoria antes de decidir. Las respuestas que
+ * empiezan a escribirse con la petición ya en modo asíncrono (el flujo SSE,
+ * un {@code StreamingResponseBody}) o con un tipo que no se comprime (la
+ * exportación en NDJSON o CSV) no se acumulan: se escriben directo en la
+ * respuesta original. Las demás respuestas asíncronas ({@code DeferredResult},
+ * {@code Callable}) se acumulan y se terminan en el despacho final.</p>
+ */
+public class CompresionRespuestasFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final CompresionProperties propiedades;
+    private final List<MediaType> tipos;
+    private final Cache<String, byte[]> comprimidas;
+
+    public CompresionRespuestasFilter(CompresionProperties propiedades, MeterRegistry meterRegistry) {
+        this.propiedades = propiedades;
+        this.tipos = MediaType.parseMediaTypes(propiedades.getTipos());
+        this.comprimidas = Caffeine.newBuilder()
+                .maximumWeight(propiedades.getPesoMaximoCache())
+                .<String, byte[]>weigher((clave, bytes) -> clave.length() * 2 + bytes.length)
+                .expireAfterAccess(propiedades.getExpiracionCache())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, comprimidas, "respuestasComprimidas");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    /**
+     * El despacho final de una petición asíncrona también pasa por el filtro:
+     * es el que termina la respuesta acumulada en el despacho inicial
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        EnvolturaCompresion envoltura;
+        HttpServletResponse respuesta;
+        if (isAsyncDispatch(request)) {
+            // El contenedor despacha con la respuesta del despacho inicial, que
+            // envuelve a la nuestra si el cliente aceptaba gzip
+            envoltura = WebUtils.getNativeResponse(response, EnvolturaCompresion.class);
+            if (envoltura == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            respuesta = response;
+        } else {
+            // La representación depende de Accept-Encoding aunque este cliente no lo envíe
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (!aceptaGzip(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            envoltura = new EnvolturaCompresion(request, response);
+            respuesta = envoltura;
+        }
+
+        try {
+            filterChain.doFilter(request, respuesta);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                responder(request, envoltura);
+            }
+        }
+    }
+
+    private void responder(HttpServletRequest request, EnvolturaCompresion envoltura) throws IOException {
+        if (envoltura.esDirecta()) {
+            return;
+        }
+        byte[] cuerpo = envoltura.getContentAsByteArray();
+        if (!debeComprimir(envoltura, cuerpo.length)) {
+            envoltura.copyBodyToResponse();
+            return;
+        }
+
+        String etag = envoltura.getHeader(HttpHeaders.ETAG);
+        byte[] gzip;
+        if (etag == null) {
+            gzip = comprimir(cuerpo);
+        } else {
+            String clave = request.getRequestURI() + '?' + request.getQueryString()
+                    + '|' + etag + '|' + envoltura.getContentType();
+            gzip = comprimidas.get(clave, k -> comprimir(cuerpo));
+        }
+
+        HttpServletResponse original = (HttpServletResponse) envoltura.getResponse();
+        original.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        if (etag != null && !etag.startsWith("W/")) {
+            original.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        }
+        original.setContentLength(gzip.length);
+        original.getOutputStream().write(gzip);
+        original.flushBuffer();
+    }
+
+    private boolean debeComprimir(HttpServletResponse response, int largo) {
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && largo >= propiedades.getUmbral()
+                && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && response.getContentType() != null
+                && esCompresible(response.getContentType());
+    }
+
+    private boolean esCompresible(String tipoContenido) {
+        MediaType tipo = MediaType.parseMediaType(tipoContenido);
+        return tipos.stream().anyMatch(aceptado -> aceptado.includes(tipo));
+    }
+
+    private byte[] comprimir(byte[] cuerpo) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(Math.max(64, cuerpo.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida) {
+            {
+                def.setLevel(propiedades.getNivel());
+            }
+        }) {
+            gzip.write(cuerpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    /**
+     * Indica si las cabeceras Accept-Encoding admiten gzip con un valor q mayor
+     * que cero. Una mención explícita de gzip manda sobre {@code *}, así que
+     * {@code gzip;q=0, *} lo rechaza.
+     */
+    private static boolean aceptaGzip(Enumeration<String> cabeceras) {
+        Double gzip = null;
+        Double comodin = null;
+        while (cabeceras.hasMoreElements()) {
+            for (String parte : cabeceras.nextElement().split(",")) {
+                String[] tokens = parte.split(";");
+                String codificacion = tokens[0].trim();
+                boolean esGzip = codificacion.equalsIgnoreCase(GZIP) || codificacion.equalsIgnoreCase("x-gzip");
+                if (!esGzip && !codificacion.equals("*")) {
+                    continue;
+                }
+                double q = 1;
+                for (int i = 1; i < tokens.length; i++) {
+                    String parametro = tokens[i].trim();
+                    if (parametro.startsWith("q=")) {
+                        try {
+                            q = Double.parseDouble(parametro.substring(2));
+                        } catch (NumberFormatException e) {
+                            q = 0;
+                        }
+                    }
+                }
+                if (esGzip) {
+                    gzip = gzip == null ? q : Math.max(gzip, q);
+                } else {
+                    comodin = comodin == null ? q : Math.max(comodin, q);
+                }
+            }
+        }
+        Double aplicable = gzip != null ? gzip : comodin;
+        return aplicable != null && aplicable > 0;
+    }
+
+    /**
+     * Acumula el cuerpo para comprimirlo al terminar la respuesta. Se decide con
+     * el primer uso de la salida, no al pedirla, porque un
+     * {@code StreamingResponseBody} la pide antes de pasar a modo asíncrono: si
+     * para entonces la petición ya es asíncrona o el tipo de contenido no se
+     * comprime, se escribe en la respuesta original y nada se acumula.
+     */
+    private final class EnvolturaCompresion extends ContentCachingResponseWrapper {
+
+        private final HttpServletRequest request;
+        private Boolean directa;
+        private ServletOutputStream salida;
+
+        EnvolturaCompresion(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (directa != null) {
+                return directa ? getResponse().getOutputStream() : super.getOutputStream();
+            }
+            if (salida == null) {
+                salida = new SalidaDiferida();
+            }
+            return salida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return decidirDirecta() ? getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (esDirecta()) {
+                getResponse().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void setContentLength(int largo) {
+            if (esDirecta()) {
+                getResponse().setContentLength(largo);
+            } else {
+                super.setContentLength(largo);
+            }
+        }
+
+        @Override
+        public void setContentLengthLong(long largo) {
+            if (esDirecta()) {
+                getResponse().setContentLengthLong(largo);
+            } else {
+                super.setContentLengthLong(largo);
+            }
+        }
+
+        boolean esDirecta() {
+            return Boolean.TRUE.equals(directa);
+        }
+
+        private boolean decidirDirecta() {
+            if (directa == null) {
+                String tipo = getContentType();
+                directa = request.isAsyncStarted() || (tipo != null && !esCompresible(tipo));
+                // Un largo fijado antes de pedir la salida quedó en la envoltura
+                String largo = super.getHeader(HttpHeaders.CONTENT_LENGTH);
+                if (directa && largo != null) {
+                    getResponse().setContentLengthLong(Long.parseLong(largo));
+                }
+            }
+            return directa;
+        }
+
+        private ServletOutputStream destino() throws IOException {
+            return decidirDirecta() ? getResponse().getOutputStream() : EnvolturaCompresion.super.getOutputStream();
+        }
+
+        /**
+         * Salida que elige su destino con la primera operación
+         */
+        private final class SalidaDiferida extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                destino().write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                destino().write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                destino().flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                destino().close();
+            }
+
+            @Override
+            public boolean isReady() {
+                try {
+                    return destino().isReady();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    destino().setWriteListener(writeListener);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
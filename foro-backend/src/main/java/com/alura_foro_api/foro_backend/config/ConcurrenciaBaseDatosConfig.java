@@ -0,0 +1,104 @@
+package com.alura_foro_api.foro_backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Límite de operaciones concurrentes sobre la base de datos.
+ *
+ * <p>Se activa con {@code foro.bd.limite-concurrencia.habilitado}, que por
+ * defecto sigue a {@code spring.threads.virtual.enabled}: con hilos de
+ * plataforma el pool de Tomcat ya acota la concurrencia, con hilos virtuales no.
+ * El máximo por defecto es el tamaño del pool de Hikari, de modo que las
+ * peticiones esperan en el semáforo y no dentro de Hikari.</p>
+ *
+ * <p>Solo se envuelven los pools; los DataSource que delegan en otros (el
+ * enrutador de réplicas y su proxy perezoso) quedan igual. Los pools de las
+ * réplicas no son beans: {@link ReplicasLecturaConfig} los envuelve con
+ * {@link #limitar}, con su propio semáforo del tamaño de cada pool.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "foro.bd.limite-concurrencia.habilitado", havingValue = "true")
+public class ConcurrenciaBaseDatosConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrenciaBaseDatosConfig.class);
+
+    @Bean
+    public static BeanPostProcessor limiteConcurrenciaDataSource(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource
+                        || bean instanceof AbstractRoutingDataSource) {
+                    return bean;
+                }
+                return limitar(dataSource, beanName,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10),
+                        environment);
+            }
+        };
+    }
+
+    static boolean habilitado(Environment environment) {
+        return environment.getProperty("foro.bd.limite-concurrencia.habilitado", Boolean.class, false);
+    }
+
+    /**
+     * Envuelve un pool en un {@link LimiteConcurrenciaDataSource}. El máximo es
+     * {@code foro.bd.limite-concurrencia.maximo} o, si no se definió, el tamaño del pool.
+     */
+    static LimiteConcurrenciaDataSource limitar(DataSource pool, String nombre, int tamanoPool,
+                                                Environment environment) {
+        int maximo = environment.getProperty("foro.bd.limite-concurrencia.maximo", Integer.class, tamanoPool);
+        Duration espera = environment.getProperty("foro.bd.limite-concurrencia.espera-maxima",
+                Duration.class, Duration.ofSeconds(2));
+        logger.info("DataSource '{}' limitado a {} operaciones concurrentes (espera máxima {} ms)",
+                nombre, maximo, espera.toMillis());
+        return new LimiteConcurrenciaDataSource(pool, maximo, espera.toMillis());
+    }
+
+    /**
+     * Permisos libres y peticiones esperando en cada semáforo (primario y
+     * réplicas), junto a las métricas hikaricp.*
+     */
+    @Bean
+    public MeterBinder metricasLimiteConcurrencia(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((nombre, dataSource) -> {
+            registrar(registry, nombre, dataSource);
+            if (dataSource instanceof EnrutadorDataSource enrutador) {
+                List<DataSource> replicas = enrutador.getReplicas();
+                for (int i = 0; i < replicas.size(); i++) {
+                    registrar(registry, "replica-" + i, replicas.get(i));
+                }
+            }
+        });
+    }
+
+    private static void registrar(MeterRegistry registry, String nombre, DataSource dataSource) {
+        if (dataSource instanceof LimiteConcurrenciaDataSource limite) {
+            Gauge.builder("foro.bd.limite.disponibles", limite, LimiteConcurrenciaDataSource::getPermisosDisponibles)
+                    .description("Operaciones de base de datos que pueden iniciarse sin esperar")
+                    .tag("datasource", nombre)
+                    .register(registry);
+            Gauge.builder("foro.bd.limite.en.espera", limite, LimiteConcurrenciaDataSource::getHilosEnEspera)
+                    .description("Peticiones esperando permiso para usar una conexión")
+                    .tag("datasource", nombre)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.alura_foro_api.foro_backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra cuántas sentencias SQL ejecuta cada petición
+ * ({@code foro.jpa.consultas.por.peticion}, por método y ruta) y advierte
+ * cuando una petición supera el umbral, señal típica de un problema N+1.
+ *
+ * <p>Solo cuenta lo ejecutado en el hilo de la petición: el trabajo de
+ * respuestas asíncronas (exportación, login) queda fuera.</p>
+ */
+public class ConsultasPorPeticionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsultasPorPeticionFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int umbral;
+
+    public ConsultasPorPeticionFilter(MeterRegistry meterRegistry, int umbral) {
+        this.meterRegistry = meterRegistry;
+        this.umbral = umbral;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorConsultas.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int consultas = ContadorConsultas.finalizar();
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String ruta = patron != null ? patron.toString() : "UNKNOWN";
+
+            DistributionSummary.builder("foro.jpa.consultas.por.peticion")
+                    .description("Sentencias SQL ejecutadas por petición")
+                    .tag("method", request.getMethod())
+                    .tag("uri", ruta)
+                    .register(meterRegistry)
+                    .record(consultas);
+
+            if (consultas > umbral) {
+                logger.warn("Posible N+1: {} sentencias SQL en {} {} (umbral {})",
+                        consultas, request.getMethod(), ruta, umbral);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.alura_foro_api.foro_backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual mientras
+ * hay una petición HTTP en curso (ver {@link ConsultasPorPeticionFilter}).
+ * No modifica el SQL; solo incrementa un contador por hilo.
+ */
+public class ContadorConsultas implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+
+    static void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    /**
+     * Deja de contar en el hilo actual
+     *
+     * @return sentencias ejecutadas desde {@link #iniciar()}
+     */
+    static int finalizar() {
+        int[] contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador == null ? 0 : contador[0];
+    }
+}
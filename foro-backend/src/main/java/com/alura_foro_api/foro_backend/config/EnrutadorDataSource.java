@@ -0,0 +1,141 @@
+package com.alura_foro_api.foro_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Envía las transacciones de solo lectura a las réplicas (en turno rotativo)
+ * y todo lo demás al primario.
+ *
+ * <p>La clave se decide al pedir la conexión física, por lo que debe usarse
+ * detrás de un {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * así la conexión se obtiene en la primera sentencia, cuando la transacción
+ * ya está marcada como de solo lectura.</p>
+ *
+ * <p>Las lecturas van al primario si el usuario escribió hace poco (ver
+ * {@link VentanaLecturaPropia}) o si se ejecutan dentro de {@link #enPrimario(Supplier)}.
+ * Si una réplica no puede conectarse a su base se usa el primario; si solo
+ * está saturada (su pool o su límite de concurrencia agotan la espera) el
+ * error se propaga, para no desviar toda esa carga al primario.</p>
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrutadorDataSource.class);
+    private static final String PRIMARIO = "primario";
+    private static final ThreadLocal<Boolean> FORZAR_PRIMARIO = new ThreadLocal<>();
+
+    private final DataSource primario;
+    private final List<DataSource> replicas;
+    private final VentanaLecturaPropia ventanaLecturaPropia;
+    private final AtomicInteger turno = new AtomicInteger();
+
+    public EnrutadorDataSource(DataSource primario, List<DataSource> replicas,
+                               VentanaLecturaPropia ventanaLecturaPropia) {
+        this.primario = primario;
+        this.replicas = List.copyOf(replicas);
+        this.ventanaLecturaPropia = ventanaLecturaPropia;
+
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            destinos.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Ejecuta {@code lectura} contra el primario aunque esté dentro de una
+     * transacción de solo lectura. Se usa en las lecturas cuyo resultado se
+     * guarda (caches, índices) o decide una escritura, donde el retraso de
+     * una réplica dejaría datos viejos por más tiempo que el propio retraso.
+     */
+    public static <T> T enPrimario(Supplier<T> lectura) {
+        Boolean anterior = FORZAR_PRIMARIO.get();
+        FORZAR_PRIMARIO.set(Boolean.TRUE);
+        try {
+            return lectura.get();
+        } finally {
+            if (anterior == null) {
+                FORZAR_PRIMARIO.remove();
+            } else {
+                FORZAR_PRIMARIO.set(anterior);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || FORZAR_PRIMARIO.get() != null
+                || ventanaLecturaPropia.activa()) {
+            return PRIMARIO;
+        }
+        return Math.floorMod(turno.getAndIncrement(), replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object clave = determineCurrentLookupKey();
+        if (PRIMARIO.equals(clave)) {
+            return primario.getConnection();
+        }
+        try {
+            return replicas.get((Integer) clave).getConnection();
+        } catch (SQLException e) {
+            if (!esFalloDeConexion(e)) {
+                throw e;
+            }
+            logger.warn("Réplica {} no disponible, leyendo del primario: {}", clave, e.getMessage());
+            return primario.getConnection();
+        }
+    }
+
+    /**
+     * Hikari y {@link LimiteConcurrenciaDataSource} informan la espera agotada con
+     * una {@link SQLTransientConnectionException}; Hikari le pone como causa el
+     * último error al conectar solo si la base no responde. Sin esa causa la
+     * réplica funciona pero está saturada.
+     */
+    private static boolean esFalloDeConexion(SQLException e) {
+        return !(e instanceof SQLTransientConnectionException) || e.getCause() instanceof SQLException;
+    }
+
+    public int getCantidadReplicas() {
+        return replicas.size();
+    }
+
+    List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Cierra los pools de las réplicas; el del primario lo administra Spring
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            DataSource pool = replica instanceof DelegatingDataSource limite ? limite.getTargetDataSource() : replica;
+            if (pool instanceof Closeable cerrable) {
+                cerrable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.alura_foro_api.foro_backend.config;
+
+import com.alura_foro_api.foro_backend.model.Topico;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ajustes de datos que {@code ddl-auto=update} no puede hacer por sí solo
+ * sobre una tabla {@code topico} existente. Se ejecuta al crear el contexto,
+ * antes de que el servidor web acepte peticiones.
+ */
+@Component
+public class EsquemaTopicoInicializador {
+
+    private static final Logger logger = LoggerFactory.getLogger(EsquemaTopicoInicializador.class);
+    private static final int LOTE_HUELLAS = 1000;
+    private static final int LOTE_NORMALIZADOS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EsquemaTopicoInicializador(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void inicializar() {
+        ajustarSecuenciaDeIds();
+        ampliarColumnaMensaje();
+        completarFechaActualizacion();
+        completarVersion();
+        completarHuellas();
+        completarNormalizados();
+    }
+
+    /**
+     * Los IDs de tópicos venían de una columna AUTO_INCREMENT; la secuencia
+     * {@code topico_seq} se crea empezando en 1. Se adelanta por encima del
+     * mayor ID existente (más un bloque completo del optimizador pooled)
+     * para que los nuevos IDs nunca choquen con filas anteriores.
+     */
+    private void ajustarSecuenciaDeIds() {
+        Long maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM topico", Long.class);
+        if (maximo == null || maximo == 0) {
+            return;
+        }
+        long siguiente = maximo + 1 + Topico.TAMANO_BLOQUE_IDS;
+
+        Dialect dialect = dialect();
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            Long actual = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString("topico_seq"), Long.class);
+            if (actual != null && actual < siguiente) {
+                jdbcTemplate.execute("ALTER SEQUENCE topico_seq RESTART WITH " + siguiente);
+                logger.info("Secuencia topico_seq adelantada a {}", siguiente);
+            }
+        } else {
+            int filas = jdbcTemplate.update(
+                    "UPDATE topico_seq SET next_val = ? WHERE next_val < ?", siguiente, siguiente);
+            if (filas > 0) {
+                logger.info("Tabla de secuencia topico_seq adelantada a {}", siguiente);
+            }
+        }
+    }
+
+    /**
+     * La columna {@code mensaje} se creó como VARCHAR(255) aunque la API acepta
+     * hasta {@link Topico#LARGO_MAXIMO_MENSAJE} caracteres, y {@code ddl-auto=update}
+     * no modifica columnas existentes. En MySQL se amplía aquí.
+     */
+    private void ampliarColumnaMensaje() {
+        if (!(dialect() instanceof MySQLDialect)) {
+            return;
+        }
+        Integer largo = jdbcTemplate.queryForObject(
+                "SELECT CHARACTER_MAXIMUM_LENGTH FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'topico' AND COLUMN_NAME = 'mensaje'",
+                Integer.class);
+        if (largo != null && largo < Topico.LARGO_MAXIMO_MENSAJE) {
+            jdbcTemplate.execute("ALTER TABLE topico MODIFY mensaje VARCHAR(" + Topico.LARGO_MAXIMO_MENSAJE + ") NOT NULL");
+            logger.info("Columna topico.mensaje ampliada de {} a {} caracteres", largo, Topico.LARGO_MAXIMO_MENSAJE);
+        }
+    }
+
+    /**
+     * Las filas anteriores a la columna {@code fecha_actualizacion} la tienen en NULL;
+     * se toma la fecha de creación como su última modificación conocida.
+     */
+    private void completarFechaActualizacion() {
+        int filas = jdbcTemplate.update(
+                "UPDATE topico SET fecha_actualizacion = fecha_creacion WHERE fecha_actualizacion IS NULL");
+        if (filas > 0) {
+            logger.info("fecha_actualizacion completada en {} tópicos", filas);
+        }
+    }
+
+    /**
+     * La columna {@code version} se agrega con NULL en las filas existentes y
+     * el UPDATE de edición parcial compara por igualdad; se parte de la versión 0.
+     */
+    private void completarVersion() {
+        int filas = jdbcTemplate.update("UPDATE topico SET version = 0 WHERE version IS NULL");
+        if (filas > 0) {
+            logger.info("version inicializada en {} tópicos", filas);
+        }
+    }
+
+    /**
+     * Calcula las huellas de contenido de las filas creadas antes de existir
+     * esas columnas. Si dos filas antiguas ya tenían el mismo título y mensaje,
+     * solo la primera recibe huellas; las demás quedan en NULL (la restricción
+     * única admite varios NULL) y se informan para revisarlas.
+     */
+    private void completarHuellas() {
+        String pendientes = "SELECT id, titulo, mensaje FROM topico " +
+                "WHERE (hash_titulo IS NULL OR hash_mensaje IS NULL) AND id > ? ORDER BY id LIMIT " + LOTE_HUELLAS;
+        long ultimoId = 0;
+        int completadas = 0;
+        List<Long> duplicadas = new ArrayList<>();
+        while (true) {
+            List<Object[]> filas = jdbcTemplate.query(pendientes, (rs, n) -> new Object[] {
+                    rs.getLong(1), Topico.huella(rs.getString(2)), Topico.huella(rs.getString(3)) }, ultimoId);
+            if (filas.isEmpty()) {
+                break;
+            }
+            for (Object[] fila : filas) {
+                try {
+                    jdbcTemplate.update("UPDATE topico SET hash_titulo = ?, hash_mensaje = ? WHERE id = ?",
+                            fila[1], fila[2], fila[0]);
+                    completadas++;
+                } catch (DuplicateKeyException e) {
+                    duplicadas.add((Long) fila[0]);
+                }
+            }
+            ultimoId = (Long) filas.get(filas.size() - 1)[0];
+        }
+        if (completadas > 0) {
+            logger.info("Huellas de contenido completadas en {} tópicos", completadas);
+        }
+        if (!duplicadas.isEmpty()) {
+            logger.warn("{} tópicos repiten título y mensaje de otro y quedaron sin huella: {}",
+                    duplicadas.size(), duplicadas);
+        }
+    }
+
+    /**
+     * Las filas anteriores a las columnas {@code curso_normalizado} y
+     * {@code autor_normalizado} las tienen en NULL y no aparecerían en los
+     * filtros. Se completan en lotes con la misma normalización de {@link Topico}.
+     */
+    private void completarNormalizados() {
+        String pendientes = "SELECT id, curso, autor FROM topico " +
+                "WHERE (curso_normalizado IS NULL OR autor_normalizado IS NULL) AND id > ? " +
+                "ORDER BY id LIMIT " + LOTE_NORMALIZADOS;
+        long ultimoId = 0;
+        int completados = 0;
+        while (true) {
+            List<Object[]> filas = jdbcTemplate.query(pendientes, (rs, n) -> new Object[] {
+                    Topico.normalizar(rs.getString(2)), Topico.normalizar(rs.getString(3)), rs.getLong(1) }, ultimoId);
+            if (filas.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate(
+                    "UPDATE topico SET curso_normalizado = ?, autor_normalizado = ? WHERE id = ?", filas);
+            completados += filas.size();
+            ultimoId = (Long) filas.get(filas.size() - 1)[2];
+        }
+        if (completados > 0) {
+            logger.info("Curso y autor normalizados completados en {} tópicos", completados);
+        }
+    }
+
+    private Dialect dialect() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+}
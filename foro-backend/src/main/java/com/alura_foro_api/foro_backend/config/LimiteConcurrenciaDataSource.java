@@ -0,0 +1,107 @@
+package com.alura_foro_api.foro_backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita cuántas conexiones pueden estar en uso a la vez.
+ *
+ * <p>Con hilos virtuales la cantidad de peticiones simultáneas ya no está
+ * acotada por el pool de Tomcat; sin este límite miles de hilos compiten
+ * por las pocas conexiones de Hikari y fallan por timeout en bloque. Aquí
+ * esperan en un semáforo justo (FIFO) y, si no obtienen permiso a tiempo,
+ * fallan rápido con una excepción transitoria.</p>
+ */
+public class LimiteConcurrenciaDataSource extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final long esperaMaximaMs;
+
+    public LimiteConcurrenciaDataSource(DataSource destino, int maximoConcurrente, long esperaMaximaMs) {
+        super(destino);
+        this.permisos = new Semaphore(maximoConcurrente, true);
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    public int getPermisosDisponibles() {
+        return permisos.availablePermits();
+    }
+
+    public int getHilosEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Límite de operaciones concurrentes en base de datos alcanzado tras " + esperaMaximaMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+    }
+
+    /**
+     * Devuelve un proxy de la conexión que libera el permiso al cerrarse (una sola vez)
+     */
+    private Connection envolver(Connection conexion) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, metodo, argumentos) -> {
+                    if ("close".equals(metodo.getName()) && liberada.compareAndSet(false, true)) {
+                        try {
+                            conexion.close();
+                        } finally {
+                            permisos.release();
+                        }
+                        return null;
+                    }
+                    if ("unwrap".equals(metodo.getName()) || "isWrapperFor".equals(metodo.getName())) {
+                        Class<?> tipo = (Class<?>) argumentos[0];
+                        if (tipo.isInstance(conexion)) {
+                            return "unwrap".equals(metodo.getName()) ? conexion : Boolean.TRUE;
+                        }
+                    }
+                    try {
+                        return metodo.invoke(conexion, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
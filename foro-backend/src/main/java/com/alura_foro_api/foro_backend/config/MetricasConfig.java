@@ -0,0 +1,37 @@
+package com.alura_foro_api.foro_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas propias de la aplicación que Spring Boot no registra por sí solo.
+ *
+ * <p>Latencia por endpoint ({@code http.server.requests}), tiempos por método de
+ * repositorio ({@code spring.data.repository.invocations}), pool de Hikari
+ * ({@code hikaricp.*}) y caches ({@code cache.*}) los publica Actuator;
+ * aquí se agrega el conteo de sentencias SQL por petición.</p>
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorConsultasHibernate() {
+        ContadorConsultas contador = new ContadorConsultas();
+        return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, contador);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConsultasPorPeticionFilter> consultasPorPeticionFilter(
+            MeterRegistry meterRegistry,
+            @Value("${foro.metricas.consultas-por-peticion.umbral:10}") int umbral) {
+        FilterRegistrationBean<ConsultasPorPeticionFilter> registro =
+                new FilterRegistrationBean<>(new ConsultasPorPeticionFilter(meterRegistry, umbral));
+        registro.addUrlPatterns("/api/*", "/auth/*");
+        return registro;
+    }
+}
@@ -0,0 +1,88 @@
+package com.alura_foro_api.foro_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enrutamiento de lecturas a réplicas.
+ *
+ * <p>Se activa al definir {@code foro.bd.replicas.urls}. Reemplaza el
+ * DataSource autoconfigurado por: el pool del primario (con las propiedades
+ * {@code spring.datasource.*}), un pool por réplica, el {@link EnrutadorDataSource}
+ * y, como DataSource principal, un {@link LazyConnectionDataSourceProxy} que
+ * retrasa la elección hasta la primera sentencia.</p>
+ *
+ * <p>Con {@code foro.bd.limite-concurrencia.habilitado} cada pool de réplica
+ * queda detrás de su propio {@link LimiteConcurrenciaDataSource}, igual que el
+ * primario (ver {@link ConcurrenciaBaseDatosConfig}).</p>
+ */
+@Configuration
+@ConditionalOnExpression("!'${foro.bd.replicas.urls:}'.isBlank()")
+@EnableConfigurationProperties(ReplicasLecturaProperties.class)
+public class ReplicasLecturaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicasLecturaConfig.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propiedades) {
+        return propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public EnrutadorDataSource enrutadorDataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                                                   DataSourceProperties propiedadesPrimario,
+                                                   ReplicasLecturaProperties propiedadesReplicas,
+                                                   VentanaLecturaPropia ventanaLecturaPropia,
+                                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                                   Environment environment) {
+        List<DataSource> replicas = new ArrayList<>();
+        List<String> urls = propiedadesReplicas.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setDriverClassName(propiedadesPrimario.determineDriverClassName());
+            replica.setUsername(propiedadesReplicas.getUsuario() != null
+                    ? propiedadesReplicas.getUsuario() : propiedadesPrimario.determineUsername());
+            replica.setPassword(propiedadesReplicas.getContrasena() != null
+                    ? propiedadesReplicas.getContrasena() : propiedadesPrimario.determinePassword());
+            replica.setMaximumPoolSize(propiedadesReplicas.getTamanoPool());
+            replica.setConnectionTimeout(propiedadesReplicas.getEsperaConexion().toMillis());
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(registry ->
+                    replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            // Los pools de réplica no son beans y el BeanPostProcessor del límite no los ve
+            replicas.add(ConcurrenciaBaseDatosConfig.habilitado(environment)
+                    ? ConcurrenciaBaseDatosConfig.limitar(replica, replica.getPoolName(),
+                            propiedadesReplicas.getTamanoPool(), environment)
+                    : replica);
+        }
+        logger.info("Lecturas de solo lectura enrutadas a {} réplica(s)", replicas.size());
+        return new EnrutadorDataSource(primario, replicas, ventanaLecturaPropia);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(EnrutadorDataSource enrutadorDataSource) {
+        return new LazyConnectionDataSourceProxy(enrutadorDataSource);
+    }
+}
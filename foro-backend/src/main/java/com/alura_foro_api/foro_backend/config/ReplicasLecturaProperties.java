@@ -0,0 +1,50 @@
+package com.alura_foro_api.foro_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de solo lectura de la base de datos.
+ * Se leen de las propiedades {@code foro.bd.replicas.*}; sin URLs no se
+ * configura el enrutamiento y todo va al {@code spring.datasource} principal.
+ */
+@ConfigurationProperties(prefix = "foro.bd.replicas")
+public class ReplicasLecturaProperties {
+
+    /** URLs JDBC de las réplicas */
+    private List<String> urls = new ArrayList<>();
+
+    /** Usuario de las réplicas; si no se indica se usa el del primario */
+    private String usuario;
+
+    /** Contraseña de las réplicas; si no se indica se usa la del primario */
+    private String contrasena;
+
+    /** Conexiones máximas del pool de cada réplica */
+    private int tamanoPool = 10;
+
+    /**
+     * Espera máxima por una conexión de réplica antes de leer del primario.
+     * Corta a propósito: una réplica caída no debe retener cada lectura
+     * durante el timeout completo del primario.
+     */
+    private Duration esperaConexion = Duration.ofMillis(500);
+
+    public List<String> getUrls() { return urls; }
+    public void setUrls(List<String> urls) { this.urls = urls; }
+
+    public String getUsuario() { return usuario; }
+    public void setUsuario(String usuario) { this.usuario = usuario; }
+
+    public String getContrasena() { return contrasena; }
+    public void setContrasena(String contrasena) { this.contrasena = contrasena; }
+
+    public int getTamanoPool() { return tamanoPool; }
+    public void setTamanoPool(int tamanoPool) { this.tamanoPool = tamanoPool; }
+
+    public Duration getEsperaConexion() { return esperaConexion; }
+    public void setEsperaConexion(Duration esperaConexion) { this.esperaConexion = esperaConexion; }
+}
@@ -0,0 +1,97 @@
+package com.alura_foro_api.foro_backend.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Serialización de las respuestas.
+ *
+ * <p>JSON sigue siendo el formato por defecto y no cambia de forma. Los clientes
+ * que envían {@code Accept: application/cbor} o {@code Accept: application/x-jackson-smile}
+ * reciben la misma respuesta en binario, con dos diferencias pensadas para
+ * clientes móviles: las páginas usan un envoltorio reducido
+ * ({@code contenido}, {@code pagina}, {@code tamano}, {@code totalElementos},
+ * {@code totalPaginas}) en lugar del de {@link Page}, y las fechas viajan como
+ * milisegundos desde la época (zona del servidor) en lugar de texto ISO.</p>
+ *
+ * <p>Blackbird reemplaza la reflexión de Jackson por accesores generados,
+ * para todos los formatos.</p>
+ */
+@Configuration
+public class SerializacionConfig {
+
+    /**
+     * Spring Boot registra los {@link Module} declarados como beans en el
+     * {@link Jackson2ObjectMapperBuilder} que usa para JSON
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(mapperCompacto(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(mapperCompacto(builder, new SmileFactory()));
+    }
+
+    /**
+     * ObjectMapper de un formato binario, con la configuración de Spring Boot
+     * más el envoltorio de página reducido y las fechas numéricas
+     */
+    public static ObjectMapper mapperCompacto(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .postConfigurer(mapper -> mapper.registerModule(moduloCompacto()))
+                .build();
+    }
+
+    private static Module moduloCompacto() {
+        SimpleModule modulo = new SimpleModule("formato-compacto");
+        modulo.addSerializer(Page.class, new PaginaCompactaSerializer());
+        modulo.addSerializer(LocalDateTime.class, new FechaEpocaSerializer());
+        return modulo;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class PaginaCompactaSerializer extends JsonSerializer<Page> {
+        @Override
+        public void serialize(Page pagina, JsonGenerator generador, SerializerProvider proveedor) throws IOException {
+            generador.writeStartObject();
+            proveedor.defaultSerializeField("contenido", pagina.getContent(), generador);
+            generador.writeNumberField("pagina", pagina.getNumber());
+            generador.writeNumberField("tamano", pagina.getSize());
+            generador.writeNumberField("totalElementos", pagina.getTotalElements());
+            generador.writeNumberField("totalPaginas", pagina.getTotalPages());
+            generador.writeEndObject();
+        }
+    }
+
+    private static final class FechaEpocaSerializer extends JsonSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime fecha, JsonGenerator generador, SerializerProvider proveedor) throws IOException {
+            generador.writeNumber(fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.alura_foro_api.foro_backend.config;
+
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Recuerda qué usuarios escribieron hace poco para que sus lecturas vayan al
+ * primario durante {@code foro.bd.replicas.lectura-propia}. Así quien crea o
+ * edita un tópico lo ve de inmediato aunque las réplicas tengan retraso.
+ */
+@Component
+public class VentanaLecturaPropia {
+
+    private final Cache<String, Boolean> escriturasRecientes;
+
+    public VentanaLecturaPropia(@Value("${foro.bd.replicas.lectura-propia:5s}") Duration duracion) {
+        this.escriturasRecientes = Caffeine.newBuilder()
+                .expireAfterWrite(duracion)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Se ejecuta antes que los demás receptores, que pueden releer el tópico
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void alCambiarTopico(TopicoEvento evento) {
+        registrarEscritura();
+    }
+
+    /**
+     * Abre la ventana para el usuario autenticado en el hilo actual
+     */
+    public void registrarEscritura() {
+        String usuario = usuarioActual();
+        if (usuario != null) {
+            registrarEscritura(usuario);
+        }
+    }
+
+    public void registrarEscritura(String usuario) {
+        escriturasRecientes.put(usuario, Boolean.TRUE);
+    }
+
+    /**
+     * Indica si el usuario autenticado en el hilo actual escribió dentro de la ventana
+     */
+    public boolean activa() {
+        String usuario = usuarioActual();
+        return usuario != null && escriturasRecientes.getIfPresent(usuario) != null;
+    }
+
+    private static String usuarioActual() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion == null || autenticacion instanceof AnonymousAuthenticationToken
+                || !autenticacion.isAuthenticated()) {
+            return null;
+        }
+        return autenticacion.getName();
+    }
+}
@@ -1,11 +1,16 @@
 package com.alura_foro_api.foro_backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@EnableConfigurationProperties(CompresionProperties.class)
 public class WebConfig {
     @Bean
     public WebMvcConfigurer corsConfigurer() {
@@ -14,10 +19,20 @@ public class WebConfig {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**")
                         .allowedOrigins("http://localhost:3000")
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
                         .allowCredentials(true);
             }
         };
     }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "foro.compresion", name = "habilitada", matchIfMissing = true)
+    public FilterRegistrationBean<CompresionRespuestasFilter> compresionRespuestasFilter(
+            CompresionProperties propiedades, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<CompresionRespuestasFilter> registro =
+                new FilterRegistrationBean<>(new CompresionRespuestasFilter(propiedades, meterRegistry));
+        registro.addUrlPatterns("/api/v1/topicos/*");
+        return registro;
+    }
 }
@@ -1,12 +1,15 @@
 package com.alura_foro_api.foro_backend.controller;
 
+import com.alura_foro_api.foro_backend.config.VentanaLecturaPropia;
 import com.alura_foro_api.foro_backend.dto.RegistroUsuarioDTO;
 import com.alura_foro_api.foro_backend.model.Usuario;
 import com.alura_foro_api.foro_backend.repository.UsuarioRepository;
+import com.alura_foro_api.foro_backend.security.HashContrasenasService;
 import com.alura_foro_api.foro_backend.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +19,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import jakarta.validation.Valid;
 
 @RestController
@@ -28,60 +33,86 @@ public class AuthController {
     @Autowired
     private UsuarioRepository usuarioRepository;
     
+    // El hash de contraseñas corre en su propio pool; el hilo de la petición queda libre mientras tanto
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private HashContrasenasService hashContrasenas;
+    
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor executorAplicacion;
     
     @Autowired
     private JwtUtil jwtUtil;
+    
+    @Autowired
+    private VentanaLecturaPropia ventanaLecturaPropia;
 
     @PostMapping("/register")
     @Operation(summary = "Registrar usuario", description = "Registra un nuevo usuario en el sistema")
     @ApiResponse(responseCode = "200", description = "Usuario registrado exitosamente")
     @ApiResponse(responseCode = "400", description = "El usuario ya existe")
-    public ResponseEntity<?> register(@RequestBody @Valid RegistroUsuarioDTO datos) {
+    @ApiResponse(responseCode = "503", description = "Demasiadas solicitudes de autenticación en curso")
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody @Valid RegistroUsuarioDTO datos) {
         logger.info("Intentando registrar usuario: {}", datos.getUsername());
         
         if (usuarioRepository.existsByUsername(datos.getUsername())) {
             logger.warn("Usuario ya existe: {}", datos.getUsername());
-            return ResponseEntity.badRequest().body(Map.of(
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
                 "error", "El usuario ya existe"
-            ));
+            )));
         }
         
-        Usuario usuario = new Usuario();
-        usuario.setUsername(datos.getUsername());
-        usuario.setPassword(passwordEncoder.encode(datos.getPassword()));
-        usuarioRepository.save(usuario);
-        
-        String token = jwtUtil.generateToken(usuario.getUsername());
-        logger.info("Usuario registrado y token generado: {}", usuario.getUsername());
-        
-        return ResponseEntity.ok(Map.of(
-            "token", token,
-            "username", usuario.getUsername()
-        ));
+        // El INSERT no debe ocupar un hilo del pool de BCrypt: se guarda en el executor de la aplicación
+        return hashContrasenas.codificar(datos.getPassword()).thenApplyAsync(hash -> {
+            Usuario usuario = new Usuario();
+            usuario.setUsername(datos.getUsername());
+            usuario.setPassword(hash);
+            usuarioRepository.save(usuario);
+            ventanaLecturaPropia.registrarEscritura(usuario.getUsername());
+            
+            String token = jwtUtil.generateToken(usuario.getUsername());
+            logger.info("Usuario registrado y token generado: {}", usuario.getUsername());
+            
+            return ResponseEntity.ok(Map.of(
+                "token", token,
+                "username", usuario.getUsername()
+            ));
+        }, executorAplicacion);
     }
 
     @PostMapping("/login")
     @Operation(summary = "Iniciar sesión", description = "Autentica un usuario y devuelve un token JWT")
     @ApiResponse(responseCode = "200", description = "Login exitoso")
     @ApiResponse(responseCode = "401", description = "Credenciales inválidas")
-    public ResponseEntity<?> login(@RequestBody @Valid RegistroUsuarioDTO datos) {
-        logger.info("Intento de login para usuario: {}", datos.getUsername());
+    @ApiResponse(responseCode = "503", description = "Demasiadas solicitudes de autenticación en curso")
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody @Valid RegistroUsuarioDTO datos) {
+        logger.debug("Intento de login para usuario: {}", datos.getUsername());
         
         Optional<Usuario> usuarioOpt = usuarioRepository.findByUsername(datos.getUsername());
         
-        if (usuarioOpt.isEmpty() || !passwordEncoder.matches(datos.getPassword(), usuarioOpt.get().getPassword())) {
+        if (usuarioOpt.isEmpty()) {
             logger.warn("Login fallido para usuario: {}", datos.getUsername());
-            return ResponseEntity.status(401).body(Map.of("error", "Credenciales inválidas"));
+            return CompletableFuture.completedFuture(credencialesInvalidas());
         }
         
-        String token = jwtUtil.generateToken(usuarioOpt.get().getUsername());
-        logger.info("Token generado para usuario: {}", usuarioOpt.get().getUsername());
-        
-        return ResponseEntity.ok(Map.of(
-            "token", token,
-            "username", usuarioOpt.get().getUsername()
-        ));
+        Usuario usuario = usuarioOpt.get();
+        return hashContrasenas.verificar(datos.getPassword(), usuario.getPassword()).thenApply(valida -> {
+            if (!valida) {
+                logger.warn("Login fallido para usuario: {}", datos.getUsername());
+                return credencialesInvalidas();
+            }
+            
+            String token = jwtUtil.generateToken(usuario.getUsername());
+            logger.debug("Token generado para usuario: {}", usuario.getUsername());
+            
+            return ResponseEntity.ok(Map.of(
+                "token", token,
+                "username", usuario.getUsername()
+            ));
+        });
+    }
+
+    private static ResponseEntity<?> credencialesInvalidas() {
+        return ResponseEntity.status(401).body(Map.of("error", "Credenciales inválidas"));
     }
 }
@@ -0,0 +1,62 @@
+package com.alura_foro_api.foro_backend.controller;
+
+import com.alura_foro_api.foro_backend.dto.ConteoActividadDTO;
+import com.alura_foro_api.foro_backend.exception.DatosInvalidosException;
+import com.alura_foro_api.foro_backend.stats.ContadoresActividad;
+import com.alura_foro_api.foro_backend.stats.EstadisticasTopicosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/estadisticas")
+@Tag(name = "Estadísticas", description = "Actividad del foro por curso y por autor")
+public class EstadisticasController {
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    @Autowired
+    private EstadisticasTopicosService estadisticasService;
+
+    @GetMapping("/cursos")
+    @Operation(summary = "Cursos más activos")
+    public ResponseEntity<List<ConteoActividadDTO>> cursosMasActivos(@RequestParam(defaultValue = "10") int limite) {
+        validarLimite(limite);
+        return ResponseEntity.ok(aDTO(estadisticasService.cursosMasActivos(limite)));
+    }
+
+    @GetMapping("/cursos/{curso}")
+    @Operation(summary = "Cantidad de tópicos de un curso")
+    public ResponseEntity<ConteoActividadDTO> totalPorCurso(@PathVariable String curso) {
+        return ResponseEntity.ok(new ConteoActividadDTO(curso, estadisticasService.totalPorCurso(curso)));
+    }
+
+    @GetMapping("/autores")
+    @Operation(summary = "Autores más activos")
+    public ResponseEntity<List<ConteoActividadDTO>> autoresMasActivos(@RequestParam(defaultValue = "10") int limite) {
+        validarLimite(limite);
+        return ResponseEntity.ok(aDTO(estadisticasService.autoresMasActivos(limite)));
+    }
+
+    @GetMapping("/autores/{autor}")
+    @Operation(summary = "Cantidad de tópicos de un autor")
+    public ResponseEntity<ConteoActividadDTO> totalPorAutor(@PathVariable String autor) {
+        return ResponseEntity.ok(new ConteoActividadDTO(autor, estadisticasService.totalPorAutor(autor)));
+    }
+
+    private void validarLimite(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new DatosInvalidosException("El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+    }
+
+    private List<ConteoActividadDTO> aDTO(List<ContadoresActividad.Conteo> conteos) {
+        return conteos.stream()
+                .map(c -> new ConteoActividadDTO(c.nombre(), c.total()))
+                .toList();
+    }
+}
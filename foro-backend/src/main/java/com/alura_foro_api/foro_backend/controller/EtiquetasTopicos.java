@@ -0,0 +1,114 @@
+package com.alura_foro_api.foro_backend.controller;
+
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResumenTopicoDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Cálculo de ETag y Last-Modified para las respuestas de tópicos.
+ *
+ * <p>El ETag de un tópico se deriva de su ID y su {@code fechaActualizacion},
+ * por lo que puede calcularse sin leer el cuerpo. El de una página combina
+ * las versiones de sus elementos con el total y los parámetros de la
+ * página: cualquier alta, baja o edición que cambie la respuesta cambia el ETag.</p>
+ *
+ * <p>JSON, CBOR y Smile son representaciones distintas del mismo recurso, con
+ * bytes distintos: el formato negociado forma parte del ETag, y las respuestas
+ * llevan {@code Vary: Accept} para que las caches intermedias no las mezclen.</p>
+ */
+final class EtiquetasTopicos {
+
+    /** Formatos que produce la API, en el orden en que Spring los elige ante {@code *}{@code /*} */
+    private static final List<MediaType> FORMATOS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, MediaType.valueOf("application/x-jackson-smile"));
+
+    private EtiquetasTopicos() {
+    }
+
+    /**
+     * Formato en que se escribirá la respuesta: el primero de los tipos
+     * aceptados (ya ordenados por especificidad y calidad) que la API produce
+     *
+     * @return subtipo corto para el ETag: {@code json}, {@code cbor} o {@code x-jackson-smile}
+     */
+    static String formato(List<MediaType> aceptados) {
+        for (MediaType aceptado : aceptados) {
+            for (MediaType formato : FORMATOS) {
+                if (aceptado.isCompatibleWith(formato)) {
+                    return formato.getSubtype();
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON.getSubtype();
+    }
+
+    static String etag(Long id, LocalDateTime fechaActualizacion, String formato) {
+        return "\"" + id + "-" + Long.toHexString(micros(fechaActualizacion)) + "-" + formato + "\"";
+    }
+
+    static long ultimaModificacion(LocalDateTime fechaActualizacion) {
+        return fechaActualizacion == null ? -1
+                : fechaActualizacion.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * @param variante distingue representaciones distintas de la misma página (completa o resumen)
+     * @param formato formato negociado, ver {@link #formato(List)}
+     */
+    static String etag(Page<?> pagina, String variante, String formato) {
+        long hash = 0x243F6A8885A308D3L;
+        hash = mezclar(hash, pagina.getTotalElements());
+        hash = mezclar(hash, pagina.getNumber());
+        hash = mezclar(hash, pagina.getSize());
+        hash = mezclar(hash, pagina.getSort().toString().hashCode());
+        for (Object elemento : pagina.getContent()) {
+            hash = mezclar(hash, id(elemento));
+            hash = mezclar(hash, micros(fechaActualizacion(elemento)));
+        }
+        return "\"" + variante + "-" + Long.toHexString(hash) + "-" + formato + "\"";
+    }
+
+    static long ultimaModificacion(Page<?> pagina) {
+        LocalDateTime maxima = null;
+        for (Object elemento : pagina.getContent()) {
+            LocalDateTime fecha = fechaActualizacion(elemento);
+            if (fecha != null && (maxima == null || fecha.isAfter(maxima))) {
+                maxima = fecha;
+            }
+        }
+        return ultimaModificacion(maxima);
+    }
+
+    private static Long id(Object elemento) {
+        if (elemento instanceof DetalleTopicoDTO detalle) {
+            return detalle.getId();
+        }
+        return elemento instanceof ResumenTopicoDTO resumen ? resumen.getId() : null;
+    }
+
+    private static LocalDateTime fechaActualizacion(Object elemento) {
+        if (elemento instanceof DetalleTopicoDTO detalle) {
+            return detalle.getFechaActualizacion();
+        }
+        return elemento instanceof ResumenTopicoDTO resumen ? resumen.getFechaActualizacion() : null;
+    }
+
+    private static long micros(LocalDateTime fecha) {
+        return fecha == null ? 0 : fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + fecha.getNano() / 1_000;
+    }
+
+    private static long mezclar(long hash, long valor) {
+        hash = (hash ^ valor) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static long mezclar(long hash, Long valor) {
+        return mezclar(hash, valor == null ? 0L : valor);
+    }
+}
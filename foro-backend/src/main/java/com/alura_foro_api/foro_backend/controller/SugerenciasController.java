@@ -0,0 +1,62 @@
+package com.alura_foro_api.foro_backend.controller;
+
+import com.alura_foro_api.foro_backend.dto.ConteoActividadDTO;
+import com.alura_foro_api.foro_backend.exception.DatosInvalidosException;
+import com.alura_foro_api.foro_backend.stats.ContadoresActividad;
+import com.alura_foro_api.foro_backend.stats.EstadisticasTopicosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/sugerencias")
+@Tag(name = "Sugerencias", description = "Autocompletado de cursos y autores por popularidad")
+public class SugerenciasController {
+
+    private static final int LIMITE_MAXIMO = 50;
+    private static final int LARGO_MAXIMO_PREFIJO = 100;
+
+    @Autowired
+    private EstadisticasTopicosService estadisticasService;
+
+    @GetMapping("/cursos")
+    @Operation(summary = "Sugerir cursos",
+               description = "Cursos que empiezan con el prefijo (sin distinguir mayúsculas ni acentos), " +
+                             "de los que tienen más tópicos a los que tienen menos")
+    public ResponseEntity<List<ConteoActividadDTO>> sugerirCursos(
+            @RequestParam(defaultValue = "") String prefijo,
+            @RequestParam(defaultValue = "10") int limite) {
+        validar(prefijo, limite);
+        return ResponseEntity.ok(aDTO(estadisticasService.sugerirCursos(prefijo, limite)));
+    }
+
+    @GetMapping("/autores")
+    @Operation(summary = "Sugerir autores",
+               description = "Autores que empiezan con el prefijo (sin distinguir mayúsculas ni acentos), " +
+                             "de los que tienen más tópicos a los que tienen menos")
+    public ResponseEntity<List<ConteoActividadDTO>> sugerirAutores(
+            @RequestParam(defaultValue = "") String prefijo,
+            @RequestParam(defaultValue = "10") int limite) {
+        validar(prefijo, limite);
+        return ResponseEntity.ok(aDTO(estadisticasService.sugerirAutores(prefijo, limite)));
+    }
+
+    private void validar(String prefijo, int limite) {
+        if (prefijo.length() > LARGO_MAXIMO_PREFIJO) {
+            throw new DatosInvalidosException("El prefijo no puede superar " + LARGO_MAXIMO_PREFIJO + " caracteres");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new DatosInvalidosException("El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+    }
+
+    private List<ConteoActividadDTO> aDTO(List<ContadoresActividad.Conteo> conteos) {
+        return conteos.stream()
+                .map(c -> new ConteoActividadDTO(c.nombre(), c.total()))
+                .toList();
+    }
+}
@@ -1,21 +1,54 @@
 package com.alura_foro_api.foro_backend.controller;
 
+import com.alura_foro_api.foro_backend.dto.ActualizacionTopicoDTO;
 import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.EstadoPendienteDTO;
+import com.alura_foro_api.foro_backend.dto.PaginaCursorDTO;
 import com.alura_foro_api.foro_backend.dto.RegistroTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResultadoLoteDTO;
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.exception.DatosInvalidosException;
+import com.alura_foro_api.foro_backend.exception.RecursoNoEncontradoException;
 import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.outbox.EscrituraDiferidaService;
 import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import com.alura_foro_api.foro_backend.search.BusquedaTopicosService;
+import com.alura_foro_api.foro_backend.search.IndiceTrigramas;
+import com.alura_foro_api.foro_backend.search.SubcadenaTopicosService;
+import com.alura_foro_api.foro_backend.service.EdicionTopicosService;
+import com.alura_foro_api.foro_backend.service.ExportacionTopicosService;
+import com.alura_foro_api.foro_backend.service.FiltroTopicos;
+import com.alura_foro_api.foro_backend.service.FormatoExportacion;
+import com.alura_foro_api.foro_backend.service.LoteTopicosService;
+import com.alura_foro_api.foro_backend.service.TopicoService;
+import com.alura_foro_api.foro_backend.stream.FlujoTopicosService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -24,19 +57,57 @@ import java.util.Optional;
 public class TopicoController {
 
     private static final Logger logger = LoggerFactory.getLogger(TopicoController.class);
+    private static final int TAMANO_MAXIMO_CURSOR = 100;
+    private static final String CAMPOS_COMPLETO = "completo";
+    private static final String CAMPOS_RESUMEN = "resumen";
+    private static final int LIMITE_MAXIMO_AUTOCOMPLETAR = 50;
 
     @Autowired
     private TopicoRepository topicoRepository;
 
+    @Autowired
+    private TopicoService topicoService;
+
+    @Autowired
+    private BusquedaTopicosService busquedaTopicosService;
+
+    @Autowired
+    private SubcadenaTopicosService subcadenaTopicosService;
+
+    @Autowired
+    private LoteTopicosService loteTopicosService;
+
+    @Autowired
+    private ExportacionTopicosService exportacionTopicosService;
+
+    @Autowired
+    private EdicionTopicosService edicionTopicosService;
+
+    @Autowired
+    private FlujoTopicosService flujoTopicosService;
+
+    // Solo existe con foro.escritura-diferida.habilitada=true
+    @Autowired(required = false)
+    private EscrituraDiferidaService escrituraDiferida;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ContentNegotiationManager contentNegotiationManager;
+
     @PostMapping
     @Operation(summary = "Crear un nuevo tópico")
     @ApiResponse(responseCode = "200", description = "Tópico creado exitosamente")
+    @ApiResponse(responseCode = "202", description = "Tópico aceptado en modo de escritura diferida")
     public ResponseEntity<?> registrarTopico(@RequestBody @Valid RegistroTopicoDTO datos) {
         logger.info("Creando nuevo tópico con título: {}", datos.getTitulo());
         
-        // Validar duplicados
-        if (topicoRepository.findByTituloAndMensaje(datos.getTitulo(), datos.getMensaje()).isPresent()) {
-            return ResponseEntity.badRequest().body("Tópico duplicado");
+        if (escrituraDiferida != null) {
+            EstadoPendienteDTO estado = escrituraDiferida.aceptar(datos);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/topicos/pending/" + estado.getIdProvisional()))
+                    .body(estado);
         }
         
         Topico topico = new Topico();
@@ -45,36 +116,238 @@ public class TopicoController {
         topico.setAutor(datos.getAutor());
         topico.setCurso(datos.getCurso());
         
-        Topico topicoGuardado = topicoRepository.save(topico);
+        // Validar duplicados por las huellas de contenido (índice único)
+        if (topicoRepository.existsByHashTituloAndHashMensaje(topico.getHashTitulo(), topico.getHashMensaje())) {
+            return ResponseEntity.badRequest().body("Tópico duplicado");
+        }
+        
+        Topico topicoGuardado;
+        try {
+            topicoGuardado = topicoRepository.save(topico);
+        } catch (DataIntegrityViolationException e) {
+            // Otra petición creó el mismo tópico entre la verificación y el INSERT
+            return ResponseEntity.badRequest().body("Tópico duplicado");
+        }
+        eventPublisher.publishEvent(TopicoEvento.creado(topicoGuardado));
         logger.info("Tópico creado exitosamente con ID: {}", topicoGuardado.getId());
         
         return ResponseEntity.ok(new DetalleTopicoDTO(topicoGuardado));
     }
 
+    @GetMapping("/pending/{id}")
+    @Operation(summary = "Consultar un tópico pendiente",
+               description = "Estado de un tópico aceptado en modo de escritura diferida, por su ID provisional")
+    public ResponseEntity<EstadoPendienteDTO> estadoPendiente(@PathVariable long id) {
+        if (escrituraDiferida == null) {
+            throw new RecursoNoEncontradoException("La escritura diferida no está habilitada");
+        }
+        return ResponseEntity.ok(escrituraDiferida.estado(id));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Crear tópicos por lotes",
+               description = "Registra hasta miles de tópicos en una sola petición e informa el resultado de cada uno")
+    @ApiResponse(responseCode = "200", description = "Lote procesado; ver el estado de cada elemento")
+    public ResponseEntity<ResultadoLoteDTO> registrarLote(@RequestBody List<RegistroTopicoDTO> datos) {
+        logger.info("Recibido lote de {} tópicos", datos.size());
+        
+        return ResponseEntity.ok(loteTopicosService.registrar(datos));
+    }
+
     @GetMapping
-    @Operation(summary = "Listar tópicos")
-    public ResponseEntity<Page<DetalleTopicoDTO>> listarTopicos(
+    @Operation(summary = "Listar tópicos",
+               description = "Con campos=resumen devuelve una vista previa del mensaje en lugar del texto completo")
+    public ResponseEntity<Page<?>> listarTopicos(
+            @RequestParam(defaultValue = CAMPOS_COMPLETO) String campos,
+            @PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.DESC) Pageable pageable,
+            NativeWebRequest request) {
+        logger.debug("Listando tópicos - página: {}, tamaño: {}, campos: {}",
+                pageable.getPageNumber(), pageable.getPageSize(), campos);
+        
+        Page<?> pagina = switch (campos) {
+            case CAMPOS_COMPLETO -> topicoService.listar(pageable);
+            case CAMPOS_RESUMEN -> topicoService.listarResumen(pageable);
+            default -> throw new DatosInvalidosException(
+                    "El parámetro 'campos' debe ser '" + CAMPOS_COMPLETO + "' o '" + CAMPOS_RESUMEN + "'");
+        };
+        
+        return conEtiquetas(pagina, campos, request);
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Listar tópicos por cursor",
+               description = "Paginación por cursor sobre (fechaCreacion, id) sin total de elementos. " +
+                             "Enviar cursor vacío para la primera página y luego el siguienteCursor recibido.")
+    public ResponseEntity<PaginaCursorDTO<DetalleTopicoDTO>> listarTopicosConCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        logger.debug("Listando tópicos por cursor - tamaño: {}", size);
+        
+        if (size < 1 || size > TAMANO_MAXIMO_CURSOR) {
+            throw new DatosInvalidosException("El tamaño de página debe estar entre 1 y " + TAMANO_MAXIMO_CURSOR);
+        }
+        
+        return ResponseEntity.ok(topicoService.listarConCursor(cursor, size));
+    }
+
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar tópicos por palabras clave",
+               description = "Búsqueda de texto completo en título y mensaje, ordenada por relevancia")
+    public ResponseEntity<Page<DetalleTopicoDTO>> buscarTopicos(
+            @RequestParam("q") String consulta,
+            @PageableDefault(size = 10) Pageable pageable) {
+        logger.debug("Buscando tópicos: '{}' - página: {}", consulta, pageable.getPageNumber());
+        
+        if (consulta.isBlank()) {
+            throw DatosInvalidosException.parametroRequerido("q");
+        }
+        
+        return ResponseEntity.ok(busquedaTopicosService.buscar(consulta, pageable));
+    }
+
+    @GetMapping("/contiene")
+    @Operation(summary = "Buscar tópicos por subcadena",
+               description = "Tópicos cuyo título, curso o autor contiene el texto, sin distinguir mayúsculas " +
+                             "ni acentos, del más reciente al más antiguo")
+    public ResponseEntity<Page<DetalleTopicoDTO>> buscarPorSubcadena(
+            @RequestParam(defaultValue = "titulo") String campo,
+            @RequestParam("q") String texto,
+            @PageableDefault(size = 10) Pageable pageable) {
+        logger.debug("Buscando tópicos cuyo {} contiene '{}'", campo, texto);
+        
+        if (texto.isBlank()) {
+            throw DatosInvalidosException.parametroRequerido("q");
+        }
+        
+        return ResponseEntity.ok(subcadenaTopicosService.buscar(SubcadenaTopicosService.Campo.de(campo), texto, pageable));
+    }
+
+    @GetMapping("/autocompletar")
+    @Operation(summary = "Autocompletar título, curso o autor",
+               description = "Valores distintos del campo que contienen el texto, de los más usados a los menos usados")
+    public ResponseEntity<List<IndiceTrigramas.Valor>> autocompletar(
+            @RequestParam(defaultValue = "curso") String campo,
+            @RequestParam("q") String texto,
+            @RequestParam(defaultValue = "10") int limite) {
+        if (texto.isBlank()) {
+            throw DatosInvalidosException.parametroRequerido("q");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO_AUTOCOMPLETAR) {
+            throw new DatosInvalidosException("El límite debe estar entre 1 y " + LIMITE_MAXIMO_AUTOCOMPLETAR);
+        }
+        
+        return ResponseEntity.ok(subcadenaTopicosService.autocompletar(SubcadenaTopicosService.Campo.de(campo), texto, limite));
+    }
+
+    @GetMapping("/filtrar")
+    @Operation(summary = "Filtrar tópicos",
+               description = "Combina filtros opcionales. Curso y autor se comparan sin distinguir mayúsculas, " +
+                             "completos o por prefijo si terminan en '*' (p. ej. curso=spring*); el título por contenido.")
+    public ResponseEntity<Page<DetalleTopicoDTO>> filtrarTopicos(
+            @RequestParam(required = false) String titulo,
+            @RequestParam(required = false) String curso,
+            @RequestParam(required = false) String autor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaFin,
             @PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.DESC) Pageable pageable) {
-        logger.info("Listando tópicos - página: {}, tamaño: {}", pageable.getPageNumber(), pageable.getPageSize());
+        logger.debug("Filtrando tópicos - curso: {}, autor: {}, título: {}", curso, autor, titulo);
+        
+        FiltroTopicos filtro = new FiltroTopicos(titulo, curso, autor, fechaInicio, fechaFin);
+        return ResponseEntity.ok(topicoService.filtrar(filtro, pageable));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar tópicos",
+               description = "Exporta en streaming todos los tópicos que coinciden con los filtros, en NDJSON o CSV")
+    public ResponseEntity<StreamingResponseBody> exportarTopicos(
+            @RequestParam(required = false) String titulo,
+            @RequestParam(required = false) String curso,
+            @RequestParam(required = false) String autor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaFin,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        logger.info("Exportando tópicos en formato {}", formato);
         
-        Page<Topico> topicos = topicoRepository.findAll(pageable);
-        Page<DetalleTopicoDTO> detalleTopicos = topicos.map(DetalleTopicoDTO::new);
+        FormatoExportacion formatoExportacion = FormatoExportacion.de(formato);
+        FiltroTopicos filtro = new FiltroTopicos(titulo, curso, autor, fechaInicio, fechaFin);
+        StreamingResponseBody cuerpo = salida -> exportacionTopicosService.exportar(filtro, formatoExportacion, salida);
         
-        return ResponseEntity.ok(detalleTopicos);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacion.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"topicos." + formatoExportacion.getExtension() + "\"")
+                .body(cuerpo);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Flujo en vivo de tópicos",
+               description = "Server-Sent Events con las altas, ediciones y eliminaciones de tópicos. " +
+                             "Al reconectar con Last-Event-ID se reenvían los eventos perdidos que sigan en memoria; " +
+                             "si ya no están se envía un evento 'reinicio'.")
+    public void flujoTopicos(
+            @RequestParam(required = false) String curso,
+            @RequestParam(required = false) String autor,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        logger.debug("Nueva suscripción al flujo de tópicos - curso: {}, autor: {}", curso, autor);
+        flujoTopicosService.suscribir(curso, autor, ultimoEventoId, request, response);
+    }
+
+    @GetMapping("/curso/{curso}")
+    @Operation(summary = "Listar tópicos de un curso")
+    public ResponseEntity<Page<DetalleTopicoDTO>> listarPorCurso(
+            @PathVariable String curso,
+            @PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.DESC) Pageable pageable,
+            NativeWebRequest request) {
+        logger.debug("Listando tópicos del curso: {} - página: {}", curso, pageable.getPageNumber());
+
+        return conEtiquetas(topicoService.listarPorCurso(curso, pageable), "curso", request);
+    }
+
+    @GetMapping("/autor/{autor}")
+    @Operation(summary = "Listar tópicos de un autor")
+    public ResponseEntity<Page<DetalleTopicoDTO>> listarPorAutor(
+            @PathVariable String autor,
+            @PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.DESC) Pageable pageable,
+            NativeWebRequest request) {
+        logger.debug("Listando tópicos del autor: {} - página: {}", autor, pageable.getPageNumber());
+
+        return conEtiquetas(topicoService.listarPorAutor(autor, pageable), "autor", request);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obtener tópico por ID")
-    public ResponseEntity<DetalleTopicoDTO> detalle(@PathVariable Long id) {
-        logger.info("Consultando tópico con ID: {}", id);
+    public ResponseEntity<DetalleTopicoDTO> detalle(@PathVariable Long id, NativeWebRequest request) {
+        logger.debug("Consultando tópico con ID: {}", id);
         
         if (id == null || id <= 0) {
             return ResponseEntity.badRequest().build();
         }
         
-        Optional<Topico> topico = topicoRepository.findById(id);
+        String formato = formato(request);
+        // Si el cliente ya tiene una versión, se compara contra la fecha de actualización sin cargar el mensaje
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            Optional<LocalDateTime> version = topicoService.version(id);
+            if (version.isPresent() && request.checkNotModified(EtiquetasTopicos.etag(id, version.get(), formato),
+                    EtiquetasTopicos.ultimaModificacion(version.get()))) {
+                // El 304 se escribe directamente, sin pasar por ResponseEntity
+                HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+                if (response != null) {
+                    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                }
+                return null;
+            }
+        }
+        
+        Optional<DetalleTopicoDTO> topico = topicoService.detalle(id);
         if (topico.isPresent()) {
-            return ResponseEntity.ok(new DetalleTopicoDTO(topico.get()));
+            return ResponseEntity.ok()
+                    .eTag(EtiquetasTopicos.etag(id, topico.get().getFechaActualizacion(), formato))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .lastModified(EtiquetasTopicos.ultimaModificacion(topico.get().getFechaActualizacion()))
+                    .body(topico.get());
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -92,21 +365,42 @@ public class TopicoController {
             return ResponseEntity.badRequest().body("ID inválido");
         }
         
-        Optional<Topico> optionalTopico = topicoRepository.findById(id);
-        if (optionalTopico.isEmpty()) {
+        Optional<DetalleTopicoDTO> topicoActualizado;
+        try {
+            topicoActualizado = edicionTopicosService.reemplazar(id, datos);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.badRequest().body("Tópico duplicado");
+        }
+        if (topicoActualizado.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        logger.info("Tópico actualizado exitosamente: {}", id);
         
-        Topico topico = optionalTopico.get();
-        topico.setTitulo(datos.getTitulo());
-        topico.setMensaje(datos.getMensaje());
-        topico.setAutor(datos.getAutor());
-        topico.setCurso(datos.getCurso());
+        return ResponseEntity.ok(topicoActualizado.get());
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Actualizar parcialmente un tópico",
+               description = "Modifica solo los campos enviados si la versión indicada sigue siendo la actual")
+    @ApiResponse(responseCode = "409", description = "El tópico fue modificado por otra petición")
+    public ResponseEntity<?> editarTopico(
+            @PathVariable Long id,
+            @RequestBody @Valid ActualizacionTopicoDTO datos,
+            NativeWebRequest request) {
         
-        Topico topicoActualizado = topicoRepository.save(topico);
-        logger.info("Tópico actualizado exitosamente: {}", id);
+        logger.info("Editando tópico con ID: {} (versión {})", id, datos.getVersion());
+        
+        if (id == null || id <= 0) {
+            return ResponseEntity.badRequest().body("ID inválido");
+        }
         
-        return ResponseEntity.ok(new DetalleTopicoDTO(topicoActualizado));
+        EdicionTopicosService.Edicion edicion = edicionTopicosService.editar(id, datos);
+        
+        return ResponseEntity.ok()
+                .eTag(EtiquetasTopicos.etag(id, edicion.fechaActualizacion(), formato(request)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .lastModified(EtiquetasTopicos.ultimaModificacion(edicion.fechaActualizacion()))
+                .body(edicion);
     }
 
     @DeleteMapping("/{id}")
@@ -118,14 +412,39 @@ public class TopicoController {
             return ResponseEntity.badRequest().body("ID inválido");
         }
         
-        Optional<Topico> topico = topicoRepository.findById(id);
-        if (topico.isEmpty()) {
+        if (!edicionTopicosService.eliminar(id)) {
             return ResponseEntity.notFound().build();
         }
-        
-        topicoRepository.deleteById(id);
         logger.info("Tópico eliminado exitosamente: {}", id);
         
         return ResponseEntity.ok("Tópico eliminado correctamente");
     }
+
+    /**
+     * Respuesta 200 con ETag y Last-Modified de la página. Con If-None-Match /
+     * If-Modified-Since coincidentes Spring responde 304 sin serializar el cuerpo,
+     * y el ETag permite reutilizar la versión comprimida de la respuesta.
+     */
+    private <P extends Page<?>> ResponseEntity<P> conEtiquetas(P pagina, String variante, NativeWebRequest request) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .eTag(EtiquetasTopicos.etag(pagina, variante, formato(request)))
+                .varyBy(HttpHeaders.ACCEPT);
+        long ultimaModificacion = EtiquetasTopicos.ultimaModificacion(pagina);
+        if (ultimaModificacion >= 0) {
+            respuesta.lastModified(ultimaModificacion);
+        }
+        return respuesta.body(pagina);
+    }
+
+    /**
+     * Formato que Spring elegirá para la respuesta según el encabezado Accept
+     */
+    private String formato(NativeWebRequest request) {
+        try {
+            return EtiquetasTopicos.formato(contentNegotiationManager.resolveMediaTypes(request));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // Spring responderá 406 al escribir el cuerpo; el ETag no llega a usarse
+            return MediaType.APPLICATION_JSON.getSubtype();
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package com.alura_foro_api.foro_backend.dto;
+
+import jakarta.validation.constraints.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "DTO para la actualización parcial de un tópico; los campos nulos no se modifican")
+public class ActualizacionTopicoDTO {
+
+    @NotNull(message = "La versión es obligatoria")
+    @PositiveOrZero(message = "La versión no puede ser negativa")
+    @Schema(description = "Versión del tópico sobre la que se hizo la edición", example = "3", required = true)
+    private Long version;
+
+    @Size(min = 5, max = 100, message = "El título debe tener entre 5 y 100 caracteres")
+    @Schema(description = "Nuevo título", example = "¿Cómo implementar Spring Security?")
+    private String titulo;
+
+    @Size(min = 10, max = 2000, message = "El mensaje debe tener entre 10 y 2000 caracteres")
+    @Schema(description = "Nuevo mensaje")
+    private String mensaje;
+
+    @Size(min = 3, max = 50, message = "El nombre del autor debe tener entre 3 y 50 caracteres")
+    @Pattern(regexp = "^[a-zA-Z0-9_.-]+$", message = "El autor solo puede contener letras, números, puntos, guiones y guiones bajos")
+    @Schema(description = "Nuevo autor", example = "usuarioEjemplo")
+    private String autor;
+
+    @Size(min = 2, max = 50, message = "El nombre del curso debe tener entre 2 y 50 caracteres")
+    @Schema(description = "Nuevo curso", example = "Spring Boot")
+    private String curso;
+
+    @Pattern(regexp = "^(ABIERTO|CERRADO)$", message = "El estado debe ser ABIERTO o CERRADO")
+    @Schema(description = "Nuevo estado", example = "CERRADO")
+    private String estado;
+
+    // Constructores
+    public ActualizacionTopicoDTO() {}
+
+    /**
+     * Indica si la petición modifica al menos un campo
+     */
+    public boolean tieneCambios() {
+        return titulo != null || mensaje != null || autor != null || curso != null || estado != null;
+    }
+
+    // Getters y Setters
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public String getTitulo() { return titulo; }
+    public void setTitulo(String titulo) { this.titulo = titulo; }
+
+    public String getMensaje() { return mensaje; }
+    public void setMensaje(String mensaje) { this.mensaje = mensaje; }
+
+    public String getAutor() { return autor; }
+    public void setAutor(String autor) { this.autor = autor; }
+
+    public String getCurso() { return curso; }
+    public void setCurso(String curso) { this.curso = curso; }
+
+    public String getEstado() { return estado; }
+    public void setEstado(String estado) { this.estado = estado; }
+}
@@ -0,0 +1,23 @@
+package com.alura_foro_api.foro_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Cantidad de tópicos de un curso o autor")
+public class ConteoActividadDTO {
+
+    @Schema(description = "Nombre del curso o autor", example = "Spring Boot")
+    private String nombre;
+
+    @Schema(description = "Cantidad de tópicos", example = "42")
+    private long total;
+
+    public ConteoActividadDTO(String nombre, long total) {
+        this.nombre = nombre;
+        this.total = total;
+    }
+
+    // Getters
+    public String getNombre() { return nombre; }
+
+    public long getTotal() { return total; }
+}
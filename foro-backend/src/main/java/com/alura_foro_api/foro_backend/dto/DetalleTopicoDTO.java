@@ -4,24 +4,55 @@ import com.alura_foro_api.foro_backend.model.Topico;
 import java.time.LocalDateTime;
 
 public class DetalleTopicoDTO {
+    private Long id;
     private String titulo;
     private String mensaje;
     private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaActualizacion;
     private String estado;
     private String autor;
     private String curso;
+    private Long version;
 
     public DetalleTopicoDTO(Topico topico) {
+        this.id = topico.getId();
         this.titulo = topico.getTitulo();
         this.mensaje = topico.getMensaje();
         this.fechaCreacion = topico.getFechaCreacion();
+        this.fechaActualizacion = topico.getFechaActualizacion();
         this.estado = topico.getEstado();
         this.autor = topico.getAutor();
         this.curso = topico.getCurso();
+        this.version = topico.getVersion();
+    }
+
+    // Usado por las proyecciones JPQL (SELECT new ...) para no cargar la entidad
+    public DetalleTopicoDTO(Long id, String titulo, String mensaje, LocalDateTime fechaCreacion,
+                            LocalDateTime fechaActualizacion, String estado, String autor, String curso,
+                            Long version) {
+        this.id = id;
+        this.titulo = titulo;
+        this.mensaje = mensaje;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaActualizacion = fechaActualizacion;
+        this.estado = estado;
+        this.autor = autor;
+        this.curso = curso;
+        this.version = version;
+    }
+
+    // Copia superficial, usada para derivar el estado posterior a una edición parcial
+    public DetalleTopicoDTO(DetalleTopicoDTO otro) {
+        this(otro.id, otro.titulo, otro.mensaje, otro.fechaCreacion, otro.fechaActualizacion,
+                otro.estado, otro.autor, otro.curso, otro.version);
     }
 
 // getters y setters
 
+    public Long getId() {
+        return id;
+    }
+
     public String getTitulo() {
         return titulo;
     }
@@ -42,10 +73,22 @@ public class DetalleTopicoDTO {
         return fechaCreacion;
     }
 
+    public LocalDateTime getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+
     public String getEstado() {
         return estado;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public void setTitulo(String titulo) {
         this.titulo = titulo;
     }
@@ -66,7 +109,15 @@ public class DetalleTopicoDTO {
         this.fechaCreacion = fechaCreacion;
     }
 
+    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
+        this.fechaActualizacion = fechaActualizacion;
+    }
+
     public void setEstado(String estado) {
         this.estado = estado;
     }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,40 @@
+package com.alura_foro_api.foro_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Estado de un tópico aceptado en modo de escritura diferida")
+public class EstadoPendienteDTO {
+
+    // El ordinal se guarda en la bitácora: los estados nuevos van al final
+    public enum Estado { PENDIENTE, CREADO, DUPLICADO, INVALIDO, FALLIDO }
+
+    @Schema(description = "ID provisional entregado al aceptar el tópico", example = "42")
+    private long idProvisional;
+
+    @Schema(description = "Estado actual; FALLIDO si la base de datos lo rechazó o se agotaron los reintentos",
+            example = "PENDIENTE")
+    private Estado estado;
+
+    @Schema(description = "ID definitivo del tópico; en duplicados, el del tópico existente", example = "1051")
+    private Long idTopico;
+
+    @Schema(description = "Momento en que se aceptó el tópico")
+    private LocalDateTime fechaRecepcion;
+
+    public EstadoPendienteDTO(long idProvisional, Estado estado, Long idTopico, LocalDateTime fechaRecepcion) {
+        this.idProvisional = idProvisional;
+        this.estado = estado;
+        this.idTopico = idTopico;
+        this.fechaRecepcion = fechaRecepcion;
+    }
+
+    public long getIdProvisional() { return idProvisional; }
+
+    public Estado getEstado() { return estado; }
+
+    public Long getIdTopico() { return idTopico; }
+
+    public LocalDateTime getFechaRecepcion() { return fechaRecepcion; }
+}
@@ -0,0 +1,37 @@
+package com.alura_foro_api.foro_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página de resultados paginada por cursor, sin total de elementos")
+public class PaginaCursorDTO<T> {
+
+    @Schema(description = "Elementos de la página")
+    private List<T> contenido;
+
+    @Schema(description = "Cantidad de elementos solicitada", example = "10")
+    private int tamano;
+
+    @Schema(description = "Indica si existen más elementos después de esta página")
+    private boolean haySiguiente;
+
+    @Schema(description = "Cursor opaco para pedir la página siguiente; nulo si no hay más elementos")
+    private String siguienteCursor;
+
+    public PaginaCursorDTO(List<T> contenido, int tamano, boolean haySiguiente, String siguienteCursor) {
+        this.contenido = contenido;
+        this.tamano = tamano;
+        this.haySiguiente = haySiguiente;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    // Getters
+    public List<T> getContenido() { return contenido; }
+
+    public int getTamano() { return tamano; }
+
+    public boolean isHaySiguiente() { return haySiguiente; }
+
+    public String getSiguienteCursor() { return siguienteCursor; }
+}
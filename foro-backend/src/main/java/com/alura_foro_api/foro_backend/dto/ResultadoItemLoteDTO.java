@@ -0,0 +1,51 @@
+package com.alura_foro_api.foro_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado de un elemento dentro de una carga por lotes")
+public class ResultadoItemLoteDTO {
+
+    public enum Estado { CREADO, DUPLICADO, INVALIDO }
+
+    @Schema(description = "Posición del elemento en el lote recibido", example = "0")
+    private int indice;
+
+    @Schema(description = "Resultado del elemento", example = "CREADO")
+    private Estado estado;
+
+    @Schema(description = "ID asignado al tópico creado", example = "1051")
+    private Long id;
+
+    @Schema(description = "Errores de validación del elemento")
+    private List<String> errores;
+
+    public ResultadoItemLoteDTO(int indice, Estado estado, Long id, List<String> errores) {
+        this.indice = indice;
+        this.estado = estado;
+        this.id = id;
+        this.errores = errores;
+    }
+
+    public static ResultadoItemLoteDTO creado(int indice, Long id) {
+        return new ResultadoItemLoteDTO(indice, Estado.CREADO, id, null);
+    }
+
+    public static ResultadoItemLoteDTO duplicado(int indice) {
+        return new ResultadoItemLoteDTO(indice, Estado.DUPLICADO, null, null);
+    }
+
+    public static ResultadoItemLoteDTO invalido(int indice, List<String> errores) {
+        return new ResultadoItemLoteDTO(indice, Estado.INVALIDO, null, errores);
+    }
+
+    // Getters
+    public int getIndice() { return indice; }
+
+    public Estado getEstado() { return estado; }
+
+    public Long getId() { return id; }
+
+    public List<String> getErrores() { return errores; }
+}
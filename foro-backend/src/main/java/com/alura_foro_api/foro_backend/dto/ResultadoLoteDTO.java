@@ -0,0 +1,47 @@
+package com.alura_foro_api.foro_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resumen de una carga de tópicos por lotes")
+public class ResultadoLoteDTO {
+
+    @Schema(description = "Cantidad de elementos recibidos", example = "10000")
+    private int total;
+
+    @Schema(description = "Cantidad de tópicos creados", example = "9990")
+    private long creados;
+
+    @Schema(description = "Cantidad de elementos descartados por duplicados", example = "7")
+    private long duplicados;
+
+    @Schema(description = "Cantidad de elementos con errores de validación", example = "3")
+    private long invalidos;
+
+    @Schema(description = "Resultado de cada elemento, en el orden recibido")
+    private List<ResultadoItemLoteDTO> resultados;
+
+    public ResultadoLoteDTO(List<ResultadoItemLoteDTO> resultados) {
+        this.total = resultados.size();
+        this.creados = contar(resultados, ResultadoItemLoteDTO.Estado.CREADO);
+        this.duplicados = contar(resultados, ResultadoItemLoteDTO.Estado.DUPLICADO);
+        this.invalidos = contar(resultados, ResultadoItemLoteDTO.Estado.INVALIDO);
+        this.resultados = resultados;
+    }
+
+    private static long contar(List<ResultadoItemLoteDTO> resultados, ResultadoItemLoteDTO.Estado estado) {
+        return resultados.stream().filter(r -> r.getEstado() == estado).count();
+    }
+
+    // Getters
+    public int getTotal() { return total; }
+
+    public long getCreados() { return creados; }
+
+    public long getDuplicados() { return duplicados; }
+
+    public long getInvalidos() { return invalidos; }
+
+    public List<ResultadoItemLoteDTO> getResultados() { return resultados; }
+}
@@ -0,0 +1,75 @@
+package com.alura_foro_api.foro_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+/**
+ * Vista reducida de un tópico para listados: en lugar del mensaje completo
+ * incluye sus primeros {@value #LARGO_VISTA_PREVIA} caracteres, recortados
+ * ya en la base de datos.
+ */
+@Schema(description = "Resumen de un tópico con una vista previa del mensaje")
+public class ResumenTopicoDTO {
+
+    public static final int LARGO_VISTA_PREVIA = 200;
+
+    @Schema(description = "ID del tópico", example = "1")
+    private Long id;
+
+    @Schema(description = "Título del tópico", example = "Duda sobre Spring Security")
+    private String titulo;
+
+    @Schema(description = "Primeros caracteres del mensaje")
+    private String vistaPrevia;
+
+    @Schema(description = "Indica si el mensaje completo es más largo que la vista previa")
+    private boolean mensajeTruncado;
+
+    @Schema(description = "Fecha de creación")
+    private LocalDateTime fechaCreacion;
+
+    @Schema(description = "Fecha de la última modificación")
+    private LocalDateTime fechaActualizacion;
+
+    @Schema(description = "Estado del tópico", example = "ABIERTO")
+    private String estado;
+
+    @Schema(description = "Autor del tópico", example = "ana")
+    private String autor;
+
+    @Schema(description = "Curso del tópico", example = "Spring Boot")
+    private String curso;
+
+    public ResumenTopicoDTO(Long id, String titulo, String vistaPrevia, Integer largoMensaje,
+                            LocalDateTime fechaCreacion, LocalDateTime fechaActualizacion,
+                            String estado, String autor, String curso) {
+        this.id = id;
+        this.titulo = titulo;
+        this.vistaPrevia = vistaPrevia;
+        this.mensajeTruncado = largoMensaje != null && largoMensaje > LARGO_VISTA_PREVIA;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaActualizacion = fechaActualizacion;
+        this.estado = estado;
+        this.autor = autor;
+        this.curso = curso;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public String getTitulo() { return titulo; }
+
+    public String getVistaPrevia() { return vistaPrevia; }
+
+    public boolean isMensajeTruncado() { return mensajeTruncado; }
+
+    public LocalDateTime getFechaCreacion() { return fechaCreacion; }
+
+    public LocalDateTime getFechaActualizacion() { return fechaActualizacion; }
+
+    public String getEstado() { return estado; }
+
+    public String getAutor() { return autor; }
+
+    public String getCurso() { return curso; }
+}
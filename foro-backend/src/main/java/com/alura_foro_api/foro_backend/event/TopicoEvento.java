@@ -0,0 +1,75 @@
+package com.alura_foro_api.foro_backend.event;
+
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.model.Topico;
+
+/**
+ * Evento publicado por las rutas de escritura de tópicos.
+ * Permite que los componentes derivados (cache, índices, estadísticas)
+ * se mantengan sincronizados sin acoplarse al controlador.
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+public class TopicoEvento {
+
+    public enum Tipo { CREADO, ACTUALIZADO, ELIMINADO }
+
+    private final Tipo tipo;
+    private final Long id;
+    private final DetalleTopicoDTO anterior;
+    private final DetalleTopicoDTO actual;
+
+    private TopicoEvento(Tipo tipo, Long id, DetalleTopicoDTO anterior, DetalleTopicoDTO actual) {
+        this.tipo = tipo;
+        this.id = id;
+        this.anterior = anterior;
+        this.actual = actual;
+    }
+
+    public static TopicoEvento creado(Topico topico) {
+        return new TopicoEvento(Tipo.CREADO, topico.getId(), null, new DetalleTopicoDTO(topico));
+    }
+
+    public static TopicoEvento actualizado(DetalleTopicoDTO anterior, Topico topico) {
+        return new TopicoEvento(Tipo.ACTUALIZADO, topico.getId(), anterior, new DetalleTopicoDTO(topico));
+    }
+
+    /**
+     * Edición parcial aplicada directamente en la base de datos. {@code anterior}
+     * y {@code actual} solo se conocen si el tópico estaba en cache; si son nulos
+     * los receptores deben tratar el tópico como desconocido y releerlo o descartarlo.
+     */
+    public static TopicoEvento actualizado(Long id, DetalleTopicoDTO anterior, DetalleTopicoDTO actual) {
+        return new TopicoEvento(Tipo.ACTUALIZADO, id, anterior, actual);
+    }
+
+    public static TopicoEvento eliminado(DetalleTopicoDTO anterior) {
+        return new TopicoEvento(Tipo.ELIMINADO, anterior.getId(), anterior, null);
+    }
+
+    /**
+     * Eliminación por ID sin leer antes el tópico; {@code anterior} es nulo si
+     * no estaba en cache
+     */
+    public static TopicoEvento eliminado(Long id, DetalleTopicoDTO anterior) {
+        return new TopicoEvento(Tipo.ELIMINADO, id, anterior, null);
+    }
+
+    // Getters
+    public Tipo getTipo() { return tipo; }
+
+    public Long getId() { return id; }
+
+    /**
+     * Estado previo del tópico; nulo en creaciones y en ediciones parciales
+     * o eliminaciones de tópicos que no estaban en cache
+     */
+    public DetalleTopicoDTO getAnterior() { return anterior; }
+
+    /**
+     * Estado resultante del tópico; nulo en eliminaciones y en ediciones
+     * parciales de tópicos que no estaban en cache
+     */
+    public DetalleTopicoDTO getActual() { return actual; }
+}
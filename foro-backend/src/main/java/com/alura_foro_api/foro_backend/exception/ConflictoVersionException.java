@@ -0,0 +1,17 @@
+package com.alura_foro_api.foro_backend.exception;
+
+/**
+ * Excepción lanzada cuando una edición se hizo sobre una versión del
+ * tópico que ya fue modificada por otra petición
+ */
+public class ConflictoVersionException extends RuntimeException {
+
+    public ConflictoVersionException(String mensaje) {
+        super(mensaje);
+    }
+
+    public static ConflictoVersionException paraTopico(Long id, Long version) {
+        return new ConflictoVersionException(String.format(
+                "El tópico %d fue modificado por otra petición; la versión %d ya no es la actual", id, version));
+    }
+}
@@ -3,14 +3,19 @@ package com.alura_foro_api.foro_backend.exception;
 import com.alura_foro_api.foro_backend.dto.ErrorResponseDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.ConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -51,6 +56,38 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(ConflictoVersionException.class)
+    public ResponseEntity<ErrorResponseDTO> handleConflictoVersion(
+            ConflictoVersionException ex, WebRequest request) {
+        
+        logger.warn("Conflicto de versión: {}", ex.getMessage());
+        
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.CONFLICT.value(),
+            "Conflicto de versión",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleBloqueoOptimista(
+            ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        
+        logger.warn("Modificación concurrente detectada: {}", ex.getMessage());
+        
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.CONFLICT.value(),
+            "Conflicto de versión",
+            "El recurso fue modificado por otra petición; vuelva a leerlo e intente de nuevo",
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(AccesoNoAutorizadoException.class)
     public ResponseEntity<ErrorResponseDTO> handleAccesoNoAutorizado(
             AccesoNoAutorizadoException ex, WebRequest request) {
@@ -128,6 +165,66 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ServicioSaturadoException.class)
+    public ResponseEntity<ErrorResponseDTO> handleServicioSaturado(
+            ServicioSaturadoException ex, WebRequest request) {
+        
+        logger.warn("Servicio saturado: {}", ex.getMessage());
+        
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Servicio no disponible",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosReintento()))
+            .body(error);
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponseDTO> handleBaseDatosSaturada(
+            Exception ex, WebRequest request) {
+        
+        // Solo el timeout del pool (SQLTransientConnectionException de Hikari) indica
+        // saturación; una base caída o mal configurada no se resuelve reintentando en un segundo
+        if (!esTimeoutDelPool(ex)) {
+            logger.error("Base de datos no disponible: ", ex);
+            
+            ErrorResponseDTO error = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Servicio no disponible",
+                "El servicio no está disponible en este momento. Por favor, intenta más tarde",
+                request.getDescription(false).replace("uri=", "")
+            );
+            
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        }
+        
+        logger.warn("Sin conexión disponible a la base de datos: {}", ex.getMessage());
+        
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Servicio no disponible",
+            "El servidor está atendiendo demasiadas peticiones. Intenta nuevamente en unos segundos",
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
+    private static boolean esTimeoutDelPool(Throwable ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGenericException(
             Exception ex, WebRequest request) {
@@ -0,0 +1,19 @@
+package com.alura_foro_api.foro_backend.exception;
+
+/**
+ * Excepción lanzada cuando un recurso interno limitado (por ejemplo, el pool
+ * de hash de contraseñas) no puede aceptar más trabajo
+ */
+public class ServicioSaturadoException extends RuntimeException {
+
+    private final long segundosReintento;
+
+    public ServicioSaturadoException(String mensaje, long segundosReintento) {
+        super(mensaje);
+        this.segundosReintento = segundosReintento;
+    }
+
+    public long getSegundosReintento() {
+        return segundosReintento;
+    }
+}
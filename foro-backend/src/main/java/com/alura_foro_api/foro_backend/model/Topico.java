@@ -2,25 +2,69 @@ package com.alura_foro_api.foro_backend.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
 
 @Entity
+@Table(indexes = {
+    // Soporta la paginación por cursor (keyset) sobre (fechaCreacion, id)
+    @Index(name = "idx_topico_fecha_creacion_id", columnList = "fechaCreacion, id"),
+    // Filtros por curso/autor (exactos o por prefijo) ordenados por fecha
+    @Index(name = "idx_topico_curso_fecha", columnList = "cursoNormalizado, fechaCreacion"),
+    @Index(name = "idx_topico_autor_fecha", columnList = "autorNormalizado, fechaCreacion")
+}, uniqueConstraints = {
+    // Detecta duplicados por el contenido sin comparar ni indexar el mensaje completo
+    @UniqueConstraint(name = "uk_topico_contenido", columnNames = {"hashTitulo", "hashMensaje"})
+})
 public class Topico {
+
+    public static final int TAMANO_BLOQUE_IDS = 50;
+    public static final int LARGO_MAXIMO_MENSAJE = 2000;
+    public static final int LARGO_HUELLA = 64;
+    // Secuencia con optimizador pooled: a diferencia de IDENTITY permite que
+    // Hibernate agrupe los INSERT en lotes JDBC (en MySQL se emula con una tabla)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topico_seq")
+    @SequenceGenerator(name = "topico_seq", sequenceName = "topico_seq", allocationSize = Topico.TAMANO_BLOQUE_IDS)
     private Long id;
 
     @NotBlank
     private String titulo;
     @NotBlank
+    @Column(length = Topico.LARGO_MAXIMO_MENSAJE)
     private String mensaje;
     @NotBlank
     private String autor;
     @NotBlank
     private String curso;
 
+    // SHA-256 en hexadecimal de título y mensaje, calculados en los setters.
+    // Van en columnas separadas para que una edición parcial pueda actualizar
+    // solo la del campo que cambia sin leer el otro
+    @Column(length = Topico.LARGO_HUELLA)
+    private String hashTitulo;
+    @Column(length = Topico.LARGO_HUELLA)
+    private String hashMensaje;
+
+    // Curso y autor en minúsculas y sin espacios en los extremos, calculados en
+    // los setters. Los filtros comparan contra estas columnas sin aplicar
+    // funciones, así la condición puede resolverse con los índices
+    private String cursoNormalizado;
+    private String autorNormalizado;
+
     private LocalDateTime fechaCreacion = LocalDateTime.now();
+    // Se renueva en cada modificación; es la versión que usan ETag y Last-Modified
+    private LocalDateTime fechaActualizacion = fechaCreacion;
     private String estado = "ABIERTO";
+    // Control de concurrencia optimista: las ediciones parciales la comparan
+    // en el WHERE del UPDATE y la incrementan en la misma sentencia
+    @Version
+    private Long version = 0L;
 
     public Topico() {}
 
@@ -39,6 +83,7 @@ public class Topico {
 
     public void setTitulo(String titulo) {
         this.titulo = titulo;
+        this.hashTitulo = huella(titulo);
     }
 
     public String getMensaje() {
@@ -47,6 +92,7 @@ public class Topico {
 
     public void setMensaje(String mensaje) {
         this.mensaje = mensaje;
+        this.hashMensaje = huella(mensaje);
     }
 
     public String getAutor() {
@@ -55,6 +101,7 @@ public class Topico {
 
     public void setAutor(String autor) {
         this.autor = autor;
+        this.autorNormalizado = normalizar(autor);
     }
 
     public String getCurso() {
@@ -63,6 +110,7 @@ public class Topico {
 
     public void setCurso(String curso) {
         this.curso = curso;
+        this.cursoNormalizado = normalizar(curso);
     }
 
     public LocalDateTime getFechaCreacion() {
@@ -73,6 +121,14 @@ public class Topico {
         this.fechaCreacion = fechaCreacion;
     }
 
+    public LocalDateTime getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+
+    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
+        this.fechaActualizacion = fechaActualizacion;
+    }
+
     public String getEstado() {
         return estado;
     }
@@ -80,4 +136,44 @@ public class Topico {
     public void setEstado(String estado) {
         this.estado = estado;
     }
+
+    public String getHashTitulo() {
+        return hashTitulo;
+    }
+
+    public String getHashMensaje() {
+        return hashMensaje;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Forma normalizada de un curso o autor, tal como se guarda en
+     * {@code cursoNormalizado} y {@code autorNormalizado}
+     */
+    public static String normalizar(String texto) {
+        return texto == null ? null : texto.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Huella SHA-256 (en hexadecimal) de un texto, tal como se guarda en
+     * {@code hashTitulo} y {@code hashMensaje}
+     */
+    public static String huella(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
 }
@@ -0,0 +1,216 @@
+package com.alura_foro_api.foro_backend.outbox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Bitácora de solo agregado sobre un archivo mapeado en memoria.
+ *
+ * <p>Cada registro es {@code [largo:int][tipo:byte][id:long][datos][crc32:int]},
+ * donde el CRC cubre tipo, id y datos. Al abrir se recorren los registros hasta
+ * el primer largo cero o CRC inválido (una escritura cortada por una caída);
+ * desde ahí se sigue agregando. Al compactar se escribe un archivo nuevo con los
+ * registros vigentes y se reemplaza el anterior con un movimiento atómico.</p>
+ *
+ * <p>Agregar no fuerza el registro a disco: {@link #sinForzar()} entrega el tramo
+ * escrito desde el último forzado para que se fuerce fuera del bloqueo, de modo
+ * que un solo msync cubra los registros de varias peticiones (ver
+ * {@link ConfirmacionGrupal}). La compactación sí deja el archivo nuevo en disco.</p>
+ *
+ * <p>No es segura para hilos: quien la usa debe sincronizar el acceso, salvo
+ * {@link Tramo#forzar()}.</p>
+ */
+class BitacoraTopicos implements Closeable {
+
+    static final int ENCABEZADO = Integer.BYTES + Byte.BYTES + Long.BYTES;
+    static final int PIE = Integer.BYTES;
+
+    record Registro(byte tipo, long id, byte[] datos) {}
+
+    /**
+     * Bytes escritos y aún no forzados a disco
+     *
+     * @param registros registros agregados desde que se abrió la bitácora, incluidos los del tramo
+     */
+    record Tramo(MappedByteBuffer buffer, int desde, int hasta, long registros) {
+
+        /**
+         * Fuerza el tramo a disco. Solo lee bytes ya escritos, así que no necesita
+         * el bloqueo de la bitácora mientras otros hilos siguen agregando.
+         */
+        void forzar() {
+            if (hasta > desde) {
+                buffer.force(desde, hasta - desde);
+            }
+        }
+    }
+
+    private final Path archivo;
+    private final int capacidad;
+    private final List<Registro> recuperados = new ArrayList<>();
+
+    private FileChannel canal;
+    private MappedByteBuffer buffer;
+    private int forzadoHasta;
+    // No baja al compactar: identifica cada agregado para saber si ya está en disco
+    private long registros;
+
+    BitacoraTopicos(Path archivo, int capacidad) throws IOException {
+        this.archivo = archivo;
+        this.capacidad = capacidad;
+        if (archivo.getParent() != null) {
+            Files.createDirectories(archivo.getParent());
+        }
+        abrir();
+        recuperar();
+        forzadoHasta = buffer.position();
+    }
+
+    /**
+     * Registros válidos encontrados al abrir el archivo, en orden de escritura
+     */
+    List<Registro> recuperados() {
+        return recuperados;
+    }
+
+    /**
+     * Agrega un registro sin forzarlo a disco
+     *
+     * @return false si no hay espacio; el registro no se escribió
+     */
+    boolean agregar(byte tipo, long id, byte[] datos) {
+        int largo = ENCABEZADO + datos.length + PIE;
+        if (buffer.remaining() < largo + Integer.BYTES) {
+            return false;
+        }
+        int inicio = buffer.position();
+        // El largo se escribe al final: si la escritura se corta, el registro queda en cero
+        buffer.position(inicio + Integer.BYTES);
+        buffer.put(tipo);
+        buffer.putLong(id);
+        buffer.put(datos);
+        buffer.putInt(crc(tipo, id, datos));
+        buffer.putInt(inicio, largo);
+        registros++;
+        return true;
+    }
+
+    /**
+     * Cantidad de registros agregados desde que se abrió la bitácora
+     */
+    long registros() {
+        return registros;
+    }
+
+    /**
+     * Tramo agregado desde el último forzado, para forzarlo fuera del bloqueo
+     */
+    Tramo sinForzar() {
+        return new Tramo(buffer, forzadoHasta, buffer.position(), registros);
+    }
+
+    /**
+     * Registra que {@code tramo} ya está en disco. Si entretanto se compactó, el
+     * archivo nuevo ya se forzó entero y el tramo no cuenta.
+     */
+    void marcarForzado(Tramo tramo) {
+        if (tramo.buffer() == buffer) {
+            forzadoHasta = Math.max(forzadoHasta, tramo.hasta());
+        }
+    }
+
+    /**
+     * Reemplaza el contenido por {@code vigentes}
+     */
+    void compactar(Collection<Registro> vigentes) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (FileChannel nuevo = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer destino = nuevo.map(FileChannel.MapMode.READ_WRITE, 0, capacidad);
+            for (Registro registro : vigentes) {
+                destino.putInt(ENCABEZADO + registro.datos().length + PIE);
+                destino.put(registro.tipo());
+                destino.putLong(registro.id());
+                destino.put(registro.datos());
+                destino.putInt(crc(registro.tipo(), registro.id(), registro.datos()));
+            }
+            destino.force();
+        }
+        canal.close();
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        abrir();
+        int posicion = 0;
+        for (Registro registro : vigentes) {
+            posicion += ENCABEZADO + registro.datos().length + PIE;
+        }
+        buffer.position(posicion);
+        forzadoHasta = posicion;
+    }
+
+    int bytesUsados() {
+        return buffer.position();
+    }
+
+    int capacidad() {
+        return capacidad;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        canal.close();
+    }
+
+    private void abrir() throws IOException {
+        canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long tamano = Math.max(capacidad, canal.size());
+        buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+    }
+
+    private void recuperar() {
+        while (buffer.remaining() >= Integer.BYTES) {
+            int inicio = buffer.position();
+            int largo = buffer.getInt(inicio);
+            if (largo < ENCABEZADO + PIE || largo > buffer.remaining()) {
+                break;
+            }
+            buffer.position(inicio + Integer.BYTES);
+            byte tipo = buffer.get();
+            long id = buffer.getLong();
+            byte[] datos = new byte[largo - ENCABEZADO - PIE];
+            buffer.get(datos);
+            if (buffer.getInt() != crc(tipo, id, datos)) {
+                buffer.position(inicio);
+                break;
+            }
+            recuperados.add(new Registro(tipo, id, datos));
+        }
+        // Borra los restos de una escritura cortada para que registros nuevos más
+        // cortos no dejen detrás bytes que se lean como otro registro
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+    }
+
+    private static int crc(byte tipo, long id, byte[] datos) {
+        CRC32 crc = new CRC32();
+        crc.update(tipo);
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            crc.update((int) (id >>> (i * 8)));
+        }
+        crc.update(datos);
+        return (int) crc.getValue();
+    }
+}
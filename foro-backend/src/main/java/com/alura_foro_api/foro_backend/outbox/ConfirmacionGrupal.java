@@ -0,0 +1,87 @@
+package com.alura_foro_api.foro_backend.outbox;
+
+/**
+ * Confirmación en grupo (group commit) de las escrituras en la bitácora.
+ *
+ * <p>Cada alta se agrega a la bitácora bajo su bloqueo y después, ya fuera de
+ * él, espera con {@link #esperar} a que su registro esté en disco. El primer
+ * hilo que encuentra su registro sin forzar hace de líder: fuerza de una vez
+ * todo lo agregado hasta ese momento, incluidos los registros de quienes
+ * esperan detrás, y los libera a todos. Mientras fuerza, los demás siguen
+ * agregando y formarán el grupo siguiente, así que bajo carga un msync cubre
+ * muchas altas en lugar de una.</p>
+ */
+final class ConfirmacionGrupal {
+
+    /**
+     * Fuerza a disco lo agregado hasta ahora
+     */
+    interface Forzado {
+
+        /**
+         * @return cantidad de registros agregados que quedaron en disco
+         */
+        long forzar();
+    }
+
+    private final Forzado forzado;
+    private long confirmados;
+    private boolean forzando;
+    private long grupos;
+
+    ConfirmacionGrupal(Forzado forzado) {
+        this.forzado = forzado;
+    }
+
+    /**
+     * Vuelve cuando los primeros {@code registros} registros están en disco.
+     * La espera no se corta con una interrupción: dura a lo sumo un msync y el
+     * registro ya está agregado; la marca de interrupción se conserva.
+     *
+     * @throws RuntimeException lo que lance el forzado, solo al hilo que lo intentó;
+     *         el siguiente en esperar vuelve a intentarlo
+     */
+    void esperar(long registros) {
+        boolean interrumpido = false;
+        synchronized (this) {
+            while (confirmados < registros && forzando) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+            if (confirmados >= registros) {
+                if (interrumpido) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+            forzando = true;
+        }
+
+        long forzados = -1;
+        try {
+            forzados = forzado.forzar();
+        } finally {
+            synchronized (this) {
+                forzando = false;
+                if (forzados >= 0) {
+                    confirmados = Math.max(confirmados, forzados);
+                    grupos++;
+                }
+                notifyAll();
+            }
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Cantidad de forzados realizados
+     */
+    synchronized long grupos() {
+        return grupos;
+    }
+}
@@ -0,0 +1,461 @@
+package com.alura_foro_api.foro_backend.outbox;
+
+import com.alura_foro_api.foro_backend.config.EnrutadorDataSource;
+import com.alura_foro_api.foro_backend.config.VentanaLecturaPropia;
+import com.alura_foro_api.foro_backend.dto.EstadoPendienteDTO;
+import com.alura_foro_api.foro_backend.dto.RegistroTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResultadoItemLoteDTO;
+import com.alura_foro_api.foro_backend.exception.RecursoNoEncontradoException;
+import com.alura_foro_api.foro_backend.exception.ServicioSaturadoException;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import com.alura_foro_api.foro_backend.service.LoteTopicosService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Alta de tópicos con escritura diferida (write-behind).
+ *
+ * <p>Con {@code foro.escritura-diferida.habilitada=true} el alta individual no
+ * toca la base de datos: el tópico ya validado se agrega a una
+ * {@link BitacoraTopicos} en disco y se responde con un ID provisional. Un
+ * proceso periódico lo inserta después junto con los demás pendientes a través
+ * de {@link LoteTopicosService}, que detecta duplicados e inserta en lotes JDBC.</p>
+ *
+ * <p>Al iniciar se relee la bitácora y se vuelven a encolar las altas sin
+ * resultado registrado. Si la caída ocurrió entre el INSERT y el registro del
+ * resultado, el reintento se informa como duplicado con el ID del tópico ya creado.</p>
+ *
+ * <p>Con {@code foro.escritura-diferida.sincronizar=true} cada alta responde
+ * recién cuando su registro está en disco, pero el msync no se hace bajo el
+ * bloqueo de la bitácora: las altas concurrentes se agregan y un solo forzado
+ * las confirma juntas ({@link ConfirmacionGrupal}). Los resultados no esperan
+ * a disco, porque perder uno solo hace que el reintento se informe como duplicado.
+ * La bitácora se compacta cuando su uso supera
+ * {@code foro.escritura-diferida.umbral-compactacion} de la capacidad, no tras
+ * cada lote.</p>
+ *
+ * <p>Un lote que la base de datos rechaza por una restricción se divide hasta
+ * aislar las filas culpables, que quedan como {@code FALLIDO}; el resto se
+ * guarda. Ante otros errores (base de datos caída) el lote vuelve a la cola y
+ * el drenado espera cada vez más entre intentos; un tópico que agota
+ * {@code foro.escritura-diferida.reintentos-maximos} también queda como
+ * {@code FALLIDO}, para que no bloquee a los que vienen detrás.</p>
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+@Service
+@ConditionalOnProperty(name = "foro.escritura-diferida.habilitada", havingValue = "true")
+public class EscrituraDiferidaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EscrituraDiferidaService.class);
+    private static final byte ALTA = 1;
+    private static final byte RESULTADO = 2;
+    private static final EstadoPendienteDTO.Estado[] ESTADOS = EstadoPendienteDTO.Estado.values();
+    private static final Duration PAUSA_MAXIMA = Duration.ofSeconds(30);
+
+    /**
+     * Contenido de un registro de alta en la bitácora
+     */
+    record Alta(RegistroTopicoDTO datos, LocalDateTime fechaRecepcion) {}
+
+    /**
+     * Alta aceptada y aún sin resultado. Los intentos solo los modifica el
+     * drenado y no se guardan en la bitácora: tras reiniciar se cuentan de nuevo.
+     */
+    private static final class Pendiente {
+        private final long id;
+        private final Alta alta;
+        private final byte[] serializado;
+        private int intentos;
+
+        Pendiente(long id, Alta alta, byte[] serializado) {
+            this.id = id;
+            this.alta = alta;
+            this.serializado = serializado;
+        }
+
+        long id() { return id; }
+
+        Alta alta() { return alta; }
+
+        byte[] serializado() { return serializado; }
+    }
+
+    private final LoteTopicosService loteTopicosService;
+    private final TopicoRepository topicoRepository;
+    private final VentanaLecturaPropia ventanaLecturaPropia;
+    private final ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${foro.escritura-diferida.archivo:./data/topicos-pendientes.log}")
+    private Path archivo;
+
+    @Value("${foro.escritura-diferida.capacidad:64MB}")
+    private DataSize capacidad;
+
+    @Value("${foro.escritura-diferida.sincronizar:true}")
+    private boolean sincronizar;
+
+    @Value("${foro.escritura-diferida.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${foro.escritura-diferida.retencion-resultados:1h}")
+    private Duration retencionResultados;
+
+    @Value("${foro.escritura-diferida.intervalo:PT0.2S}")
+    private Duration intervalo;
+
+    @Value("${foro.escritura-diferida.reintentos-maximos:10}")
+    private int reintentosMaximos;
+
+    @Value("${foro.escritura-diferida.umbral-compactacion:0.5}")
+    private double umbralCompactacion;
+
+    // Protege la bitácora y el mapa de pendientes, que deben cambiar juntos
+    private final Object bloqueoBitacora = new Object();
+    private final ReentrantLock bloqueoDrenado = new ReentrantLock();
+    private final Map<Long, Pendiente> pendientes = new ConcurrentSkipListMap<>();
+    private final BlockingDeque<Pendiente> cola = new LinkedBlockingDeque<>();
+    private final AtomicLong siguienteId = new AtomicLong(1);
+
+    // Espera entre intentos tras un error de la base de datos; solo el drenado las modifica
+    private int fallosConsecutivos;
+    private volatile long pausaHasta = System.nanoTime();
+
+    private BitacoraTopicos bitacora;
+    private ConfirmacionGrupal confirmacion;
+    private Cache<Long, EstadoPendienteDTO> resultados;
+
+    public EscrituraDiferidaService(LoteTopicosService loteTopicosService, TopicoRepository topicoRepository,
+                                    VentanaLecturaPropia ventanaLecturaPropia, ObjectMapper objectMapper) {
+        this.loteTopicosService = loteTopicosService;
+        this.topicoRepository = topicoRepository;
+        this.ventanaLecturaPropia = ventanaLecturaPropia;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        resultados = Caffeine.newBuilder().expireAfterWrite(retencionResultados).build();
+        bitacora = new BitacoraTopicos(archivo, (int) capacidad.toBytes());
+        confirmacion = new ConfirmacionGrupal(this::forzarBitacora);
+
+        long maximoId = 0;
+        for (BitacoraTopicos.Registro registro : bitacora.recuperados()) {
+            maximoId = Math.max(maximoId, registro.id());
+            if (registro.tipo() == ALTA) {
+                Alta alta = objectMapper.readValue(registro.datos(), Alta.class);
+                pendientes.put(registro.id(), new Pendiente(registro.id(), alta, registro.datos()));
+            } else if (registro.tipo() == RESULTADO) {
+                Pendiente pendiente = pendientes.remove(registro.id());
+                resultados.put(registro.id(), leerResultado(registro.id(), registro.datos(),
+                        pendiente == null ? null : pendiente.alta().fechaRecepcion()));
+            }
+        }
+        // Con la bitácora vacía tras una compactación no queda rastro de los IDs
+        // ya entregados; partir del reloj en microsegundos evita repetirlos
+        siguienteId.set(Math.max(maximoId + 1, System.currentTimeMillis() * 1000));
+        cola.addAll(pendientes.values());
+        synchronized (bloqueoBitacora) {
+            compactar();
+        }
+        if (!pendientes.isEmpty()) {
+            logger.info("Recuperados {} tópicos pendientes de {}", pendientes.size(), archivo);
+        }
+
+        if (meterRegistry != null) {
+            Gauge.builder("foro.topicos.diferidos.pendientes", pendientes, Map::size)
+                    .description("Tópicos aceptados que aún no se insertaron en la base de datos")
+                    .register(meterRegistry);
+            Gauge.builder("foro.topicos.diferidos.bitacora.bytes", this, servicio -> servicio.bytesUsados())
+                    .description("Bytes ocupados en la bitácora de escritura diferida")
+                    .register(meterRegistry);
+            FunctionCounter.builder("foro.topicos.diferidos.bitacora.forzados", confirmacion, ConfirmacionGrupal::grupos)
+                    .description("Veces que se forzó la bitácora a disco; cada una confirma un grupo de altas")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Registra un tópico ya validado en la bitácora
+     *
+     * @return estado {@code PENDIENTE} con el ID provisional asignado
+     * @throws ServicioSaturadoException si la bitácora está llena de pendientes
+     */
+    public EstadoPendienteDTO aceptar(RegistroTopicoDTO datos) {
+        Alta alta = new Alta(datos, LocalDateTime.now());
+        byte[] serializado;
+        try {
+            serializado = objectMapper.writeValueAsBytes(alta);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Pendiente pendiente;
+        long registro;
+        synchronized (bloqueoBitacora) {
+            pendiente = new Pendiente(siguienteId.getAndIncrement(), alta, serializado);
+            if (!bitacora.agregar(ALTA, pendiente.id(), serializado)) {
+                compactar();
+                if (!bitacora.agregar(ALTA, pendiente.id(), serializado)) {
+                    throw new ServicioSaturadoException(
+                            "Demasiados tópicos pendientes de guardar, intente nuevamente", 1);
+                }
+            }
+            pendientes.put(pendiente.id(), pendiente);
+            registro = bitacora.registros();
+        }
+        if (sincronizar) {
+            confirmacion.esperar(registro);
+        }
+        cola.add(pendiente);
+        ventanaLecturaPropia.registrarEscritura();
+        return new EstadoPendienteDTO(pendiente.id(), EstadoPendienteDTO.Estado.PENDIENTE, null, alta.fechaRecepcion());
+    }
+
+    /**
+     * Consulta el estado de un tópico aceptado
+     *
+     * @throws RecursoNoEncontradoException si el ID no existe o su resultado ya expiró
+     */
+    public EstadoPendienteDTO estado(long idProvisional) {
+        Pendiente pendiente = pendientes.get(idProvisional);
+        if (pendiente != null) {
+            return new EstadoPendienteDTO(idProvisional, EstadoPendienteDTO.Estado.PENDIENTE, null,
+                    pendiente.alta().fechaRecepcion());
+        }
+        EstadoPendienteDTO resultado = resultados.getIfPresent(idProvisional);
+        if (resultado == null) {
+            throw new RecursoNoEncontradoException("No hay un tópico pendiente con ID provisional: " + idProvisional);
+        }
+        return resultado;
+    }
+
+    /**
+     * Inserta los pendientes en lotes de {@code foro.escritura-diferida.tamano-lote}.
+     * Si la base de datos falla, los tópicos vuelven al frente de la cola y se
+     * reintentan tras una pausa creciente, hasta agotar sus reintentos.
+     */
+    @Scheduled(fixedDelayString = "${foro.escritura-diferida.intervalo:PT0.2S}")
+    public void drenar() {
+        if (System.nanoTime() - pausaHasta < 0 || !bloqueoDrenado.tryLock()) {
+            return;
+        }
+        try {
+            List<Pendiente> lote = new ArrayList<>(tamanoLote);
+            while (cola.drainTo(lote, tamanoLote) > 0) {
+                try {
+                    insertarDividiendo(lote);
+                } catch (RuntimeException e) {
+                    reintentarMasTarde(lote, e);
+                    return;
+                }
+                fallosConsecutivos = 0;
+                lote.clear();
+            }
+        } finally {
+            bloqueoDrenado.unlock();
+        }
+    }
+
+    /**
+     * Inserta el lote; si una restricción de la base de datos lo rechaza, lo
+     * parte a la mitad hasta aislar las filas que la violan, que se registran
+     * como fallidas sin impedir el alta del resto
+     */
+    private void insertarDividiendo(List<Pendiente> lote) {
+        try {
+            insertar(lote);
+        } catch (DataIntegrityViolationException e) {
+            if (lote.size() == 1) {
+                logger.warn("La base de datos rechazó el tópico pendiente {}: {}",
+                        lote.get(0).id(), e.getMostSpecificCause().getMessage());
+                registrarFallidos(lote);
+                return;
+            }
+            int mitad = lote.size() / 2;
+            insertarDividiendo(lote.subList(0, mitad));
+            insertarDividiendo(lote.subList(mitad, lote.size()));
+        }
+    }
+
+    /**
+     * Devuelve a la cola lo que no llegó a guardarse y programa una pausa antes
+     * del próximo intento. Los tópicos que agotaron sus reintentos quedan como fallidos.
+     */
+    private void reintentarMasTarde(List<Pendiente> lote, RuntimeException error) {
+        List<Pendiente> agotados = new ArrayList<>();
+        for (int i = lote.size() - 1; i >= 0; i--) {
+            Pendiente pendiente = lote.get(i);
+            if (!pendientes.containsKey(pendiente.id())) {
+                continue; // una mitad ya guardada antes del error
+            }
+            if (++pendiente.intentos >= reintentosMaximos) {
+                agotados.add(pendiente);
+            } else {
+                cola.addFirst(pendiente);
+            }
+        }
+        if (!agotados.isEmpty()) {
+            registrarFallidos(agotados);
+        }
+
+        fallosConsecutivos++;
+        long espera = Math.min(intervalo.toNanos() << Math.min(fallosConsecutivos, 16), PAUSA_MAXIMA.toNanos());
+        pausaHasta = System.nanoTime() + espera;
+        logger.warn("No se pudieron guardar {} tópicos pendientes ({} sin más reintentos); próximo intento en {} ms: {}",
+                lote.size(), agotados.size(), espera / 1_000_000, error.getMessage());
+    }
+
+    private void insertar(List<Pendiente> lote) {
+        long inicio = System.currentTimeMillis();
+        List<ResultadoItemLoteDTO> items = loteTopicosService.registrar(
+                lote.stream().map(pendiente -> pendiente.alta().datos()).toList()).getResultados();
+
+        List<EstadoPendienteDTO> estados = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            estados.add(resultado(lote.get(i), items.get(i)));
+        }
+        registrarResultados(lote, estados);
+        logger.debug("Guardados {} tópicos pendientes en {} ms", lote.size(), System.currentTimeMillis() - inicio);
+    }
+
+    private void registrarFallidos(List<Pendiente> lote) {
+        registrarResultados(lote, lote.stream()
+                .map(pendiente -> new EstadoPendienteDTO(pendiente.id(), EstadoPendienteDTO.Estado.FALLIDO,
+                        null, pendiente.alta().fechaRecepcion()))
+                .toList());
+    }
+
+    /**
+     * Escribe el resultado de cada tópico en la bitácora y lo retira de los pendientes
+     */
+    private void registrarResultados(List<Pendiente> lote, List<EstadoPendienteDTO> estados) {
+        synchronized (bloqueoBitacora) {
+            for (int i = 0; i < lote.size(); i++) {
+                Pendiente pendiente = lote.get(i);
+                EstadoPendienteDTO resultado = estados.get(i);
+                byte[] serializado = ByteBuffer.allocate(Byte.BYTES + Long.BYTES)
+                        .put((byte) resultado.getEstado().ordinal())
+                        .putLong(resultado.getIdTopico() == null ? -1 : resultado.getIdTopico())
+                        .array();
+                // Sin espacio para el resultado: la compactación posterior descarta la alta igual
+                bitacora.agregar(RESULTADO, pendiente.id(), serializado);
+                resultados.put(pendiente.id(), resultado);
+                pendientes.remove(pendiente.id());
+            }
+            // Compactar reescribe y fuerza el archivo entero: solo vale la pena
+            // cuando los registros ya resueltos ocupan buena parte de la capacidad
+            if (bitacora.bytesUsados() > bitacora.capacidad() * umbralCompactacion) {
+                compactar();
+            }
+        }
+    }
+
+    private EstadoPendienteDTO resultado(Pendiente pendiente, ResultadoItemLoteDTO item) {
+        LocalDateTime recepcion = pendiente.alta().fechaRecepcion();
+        return switch (item.getEstado()) {
+            case CREADO -> new EstadoPendienteDTO(pendiente.id(), EstadoPendienteDTO.Estado.CREADO,
+                    item.getId(), recepcion);
+            case DUPLICADO -> {
+                RegistroTopicoDTO datos = pendiente.alta().datos();
+                Long existente = EnrutadorDataSource.enPrimario(() -> topicoRepository.findIdByHuellas(
+                        Topico.huella(datos.getTitulo()), Topico.huella(datos.getMensaje()))).orElse(null);
+                yield new EstadoPendienteDTO(pendiente.id(), EstadoPendienteDTO.Estado.DUPLICADO,
+                        existente, recepcion);
+            }
+            case INVALIDO -> new EstadoPendienteDTO(pendiente.id(), EstadoPendienteDTO.Estado.INVALIDO,
+                    null, recepcion);
+        };
+    }
+
+    private EstadoPendienteDTO leerResultado(long id, byte[] datos, LocalDateTime recepcion) {
+        ByteBuffer buffer = ByteBuffer.wrap(datos);
+        EstadoPendienteDTO.Estado estado = ESTADOS[buffer.get()];
+        long idTopico = buffer.getLong();
+        return new EstadoPendienteDTO(id, estado, idTopico < 0 ? null : idTopico, recepcion);
+    }
+
+    /**
+     * Reescribe la bitácora solo con las altas pendientes. Debe llamarse con
+     * {@code bloqueoBitacora} tomado.
+     */
+    private void compactar() {
+        try {
+            bitacora.compactar(pendientes.values().stream()
+                    .map(pendiente -> new BitacoraTopicos.Registro(ALTA, pendiente.id(), pendiente.serializado()))
+                    .toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo compactar la bitácora " + archivo, e);
+        }
+    }
+
+    /**
+     * Fuerza a disco lo agregado desde el último forzado. El msync va fuera de
+     * {@code bloqueoBitacora} para que las altas sigan agregándose mientras tanto.
+     *
+     * @return cantidad de registros agregados que quedaron en disco
+     */
+    private long forzarBitacora() {
+        BitacoraTopicos.Tramo tramo;
+        synchronized (bloqueoBitacora) {
+            tramo = bitacora.sinForzar();
+        }
+        tramo.forzar();
+        synchronized (bloqueoBitacora) {
+            bitacora.marcarForzado(tramo);
+        }
+        return tramo.registros();
+    }
+
+    int bytesUsados() {
+        synchronized (bloqueoBitacora) {
+            return bitacora.bytesUsados();
+        }
+    }
+
+    /**
+     * Intenta guardar lo pendiente antes de cerrar; lo que quede se recupera al reiniciar
+     */
+    @PreDestroy
+    void detener() throws IOException {
+        drenar();
+        synchronized (bloqueoBitacora) {
+            bitacora.close();
+        }
+    }
+}
@@ -1,39 +1,62 @@
 package com.alura_foro_api.foro_backend.repository;
 
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResumenTopicoDTO;
 import com.alura_foro_api.foro_backend.model.Topico;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio para la entidad Topico
  * Proporciona métodos de acceso a datos para la gestión de tópicos del foro
  * 
+ * Las consultas son transacciones de solo lectura: si hay réplicas configuradas
+ * se ejecutan en ellas (ver {@link com.alura_foro_api.foro_backend.config.EnrutadorDataSource})
+ * 
  * @author TalkSpace Backend Team
  * @version 1.0
  */
 @Repository
-public interface TopicoRepository extends JpaRepository<Topico, Long> {
+@Transactional(readOnly = true)
+public interface TopicoRepository extends JpaRepository<Topico, Long>, JpaSpecificationExecutor<Topico> {
     
     // ===============================================
     // MÉTODOS DE BÚSQUEDA EXACTA
     // ===============================================
     
     /**
-     * Busca un tópico por título y mensaje exactos
+     * Indica si existe un tópico con el mismo contenido, comparando las huellas
+     * de título y mensaje (ver {@link Topico#huella(String)}) sobre el índice único
      * Utilizado para detectar duplicados
      * 
-     * @param titulo el título del tópico
-     * @param mensaje el mensaje del tópico
-     * @return Optional con el tópico si existe
+     * @param hashTitulo huella del título
+     * @param hashMensaje huella del mensaje
+     * @return true si ya existe un tópico con ese título y mensaje
+     */
+    boolean existsByHashTituloAndHashMensaje(String hashTitulo, String hashMensaje);
+    
+    /**
+     * Obtiene el ID del tópico con las huellas de contenido indicadas
+     * 
+     * @param hashTitulo huella del título
+     * @param hashMensaje huella del mensaje
+     * @return Optional con el ID si existe
      */
-    Optional<Topico> findByTituloAndMensaje(String titulo, String mensaje);
+    @Query("SELECT t.id FROM Topico t WHERE t.hashTitulo = :hashTitulo AND t.hashMensaje = :hashMensaje")
+    Optional<Long> findIdByHuellas(@Param("hashTitulo") String hashTitulo, @Param("hashMensaje") String hashMensaje);
     
     /**
      * Busca un tópico por título y autor exactos
@@ -44,6 +67,28 @@ public interface TopicoRepository extends JpaRepository<Topico, Long> {
      */
     Optional<Topico> findByTituloAndAutor(String titulo, String autor);
     
+    /**
+     * Obtiene las huellas de título y mensaje de los tópicos cuya huella de título
+     * esté en la colección. Utilizado para detectar duplicados de un lote completo
+     * en una sola consulta sin traer los mensajes
+     * 
+     * @param hashesTitulo huellas de título a buscar
+     * @return pares [hashTitulo, hashMensaje] de los tópicos existentes
+     */
+    @Query("SELECT t.hashTitulo, t.hashMensaje FROM Topico t WHERE t.hashTitulo IN :hashes")
+    List<Object[]> findHuellasByHashTituloIn(@Param("hashes") Collection<String> hashesTitulo);
+    
+    /**
+     * Elimina un tópico con una sola sentencia DELETE, sin cargarlo antes
+     * 
+     * @param id el ID del tópico
+     * @return cantidad de filas eliminadas (0 si no existía)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Topico t WHERE t.id = :id")
+    int eliminarPorId(@Param("id") Long id);
+    
     // ===============================================
     // MÉTODOS DE FILTRADO SIMPLE
     // ===============================================
@@ -131,37 +176,112 @@ public interface TopicoRepository extends JpaRepository<Topico, Long> {
         Pageable pageable
     );
     
+    /**
+     * Obtiene solo la fecha de última modificación de un tópico, sin leer el mensaje.
+     * Utilizado para responder GET condicionales (ETag / Last-Modified)
+     * 
+     * @param id ID del tópico
+     * @return fecha de actualización, o vacío si el tópico no existe
+     */
+    @Query("SELECT t.fechaActualizacion FROM Topico t WHERE t.id = :id")
+    Optional<LocalDateTime> findFechaActualizacionById(@Param("id") Long id);
+    
     // ===============================================
-    // CONSULTAS PERSONALIZADAS AVANZADAS
+    // PROYECCIONES PARA LISTADOS
     // ===============================================
+    // Devuelven DTOs directamente desde el SELECT: no se crean entidades
+    // administradas, no hay snapshot para dirty checking y en el resumen el
+    // mensaje se recorta en la base de datos.
+    
+    String PROYECCION_DETALLE = "SELECT new com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO(" +
+            "t.id, t.titulo, t.mensaje, t.fechaCreacion, t.fechaActualizacion, t.estado, t.autor, t.curso, " +
+            "t.version) FROM Topico t";
+    
+    String PROYECCION_RESUMEN = "SELECT new com.alura_foro_api.foro_backend.dto.ResumenTopicoDTO(" +
+            "t.id, t.titulo, SUBSTRING(t.mensaje, 1, " + ResumenTopicoDTO.LARGO_VISTA_PREVIA + "), " +
+            "LENGTH(t.mensaje), t.fechaCreacion, t.fechaActualizacion, t.estado, t.autor, t.curso) " +
+            "FROM Topico t";
     
     /**
-     * Búsqueda avanzada con múltiples filtros opcionales
-     * Permite combinar criterios de título, curso, autor y fechas
+     * Lista todos los tópicos como {@link DetalleTopicoDTO} sin cargar entidades
      * 
-     * @param titulo filtro por título (opcional, búsqueda parcial)
-     * @param curso filtro por curso (opcional, búsqueda parcial)
-     * @param autor filtro por autor (opcional, búsqueda parcial)
-     * @param fechaInicio fecha mínima de creación (opcional)
-     * @param fechaFin fecha máxima de creación (opcional)
      * @param pageable configuración de paginación
-     * @return página de tópicos que coinciden con los filtros aplicados
+     * @return página de detalles
      */
-    @Query("SELECT t FROM Topico t WHERE " +
-           "(:titulo IS NULL OR LOWER(t.titulo) LIKE LOWER(CONCAT('%', :titulo, '%'))) AND " +
-           "(:curso IS NULL OR LOWER(t.curso) LIKE LOWER(CONCAT('%', :curso, '%'))) AND " +
-           "(:autor IS NULL OR LOWER(t.autor) LIKE LOWER(CONCAT('%', :autor, '%'))) AND " +
-           "(:fechaInicio IS NULL OR t.fechaCreacion >= :fechaInicio) AND " +
-           "(:fechaFin IS NULL OR t.fechaCreacion <= :fechaFin)")
-    Page<Topico> buscarConFiltros(
-        @Param("titulo") String titulo,
-        @Param("curso") String curso, 
-        @Param("autor") String autor,
-        @Param("fechaInicio") LocalDateTime fechaInicio,
-        @Param("fechaFin") LocalDateTime fechaFin,
+    @Query(value = PROYECCION_DETALLE, countQuery = "SELECT COUNT(t) FROM Topico t")
+    Page<DetalleTopicoDTO> listarDetalles(Pageable pageable);
+    
+    /**
+     * Lista los tópicos de un curso como {@link DetalleTopicoDTO} sin cargar entidades
+     * 
+     * @param curso el nombre del curso
+     * @param pageable configuración de paginación
+     * @return página de detalles del curso
+     */
+    @Query(value = PROYECCION_DETALLE + " WHERE t.curso = :curso",
+           countQuery = "SELECT COUNT(t) FROM Topico t WHERE t.curso = :curso")
+    Page<DetalleTopicoDTO> listarDetallesPorCurso(@Param("curso") String curso, Pageable pageable);
+    
+    /**
+     * Lista los tópicos de un autor como {@link DetalleTopicoDTO} sin cargar entidades
+     * 
+     * @param autor el nombre del autor
+     * @param pageable configuración de paginación
+     * @return página de detalles del autor
+     */
+    @Query(value = PROYECCION_DETALLE + " WHERE t.autor = :autor",
+           countQuery = "SELECT COUNT(t) FROM Topico t WHERE t.autor = :autor")
+    Page<DetalleTopicoDTO> listarDetallesPorAutor(@Param("autor") String autor, Pageable pageable);
+    
+    /**
+     * Lista todos los tópicos como {@link ResumenTopicoDTO}, con el mensaje
+     * recortado a {@link ResumenTopicoDTO#LARGO_VISTA_PREVIA} caracteres
+     * 
+     * @param pageable configuración de paginación
+     * @return página de resúmenes
+     */
+    @Query(value = PROYECCION_RESUMEN, countQuery = "SELECT COUNT(t) FROM Topico t")
+    Page<ResumenTopicoDTO> listarResumenes(Pageable pageable);
+    
+    // ===============================================
+    // PAGINACIÓN POR CURSOR (KEYSET)
+    // ===============================================
+    
+    /**
+     * Obtiene la primera página de tópicos más recientes sin consulta de conteo
+     * 
+     * @param pageable tamaño de página (el orden lo fija la consulta)
+     * @return slice de tópicos ordenados por fecha de creación e ID descendentes
+     */
+    @Query("SELECT t FROM Topico t ORDER BY t.fechaCreacion DESC, t.id DESC")
+    Slice<Topico> findPrimerosPorFecha(Pageable pageable);
+    
+    /**
+     * Obtiene los tópicos posteriores a un cursor (fechaCreacion, id) sin consulta de conteo.
+     * La condición redundante {@code fechaCreacion <= :fecha} permite a MySQL
+     * resolverla como un rango sobre el índice compuesto.
+     * 
+     * @param fecha fecha de creación del último tópico entregado
+     * @param id ID del último tópico entregado
+     * @param pageable tamaño de página (el orden lo fija la consulta)
+     * @return slice de tópicos que siguen al cursor
+     */
+    @Query("SELECT t FROM Topico t WHERE t.fechaCreacion <= :fecha AND " +
+           "(t.fechaCreacion < :fecha OR (t.fechaCreacion = :fecha AND t.id < :id)) " +
+           "ORDER BY t.fechaCreacion DESC, t.id DESC")
+    Slice<Topico> findSiguientesPorFecha(
+        @Param("fecha") LocalDateTime fecha,
+        @Param("id") Long id,
         Pageable pageable
     );
     
+    // ===============================================
+    // CONSULTAS PERSONALIZADAS AVANZADAS
+    // ===============================================
+    
+    // Los filtros combinables (título, curso, autor, fechas) se construyen con
+    // EspecificacionesTopico a través de JpaSpecificationExecutor
+    
     /**
      * Busca tópicos por múltiples palabras clave en título y mensaje
      * 
@@ -0,0 +1,96 @@
+package com.alura_foro_api.foro_backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Analizador de texto para español usado por el índice de búsqueda.
+ * Separa en palabras, pasa a minúsculas, elimina acentos y palabras vacías,
+ * y aplica una reducción ligera de plurales ("lenguajes" → "lenguaj", "lenguaje" → "lenguaj").
+ */
+public final class AnalizadorTexto {
+
+    private static final int LONGITUD_MINIMA = 2;
+
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+        "a", "al", "algo", "ante", "antes", "aqui", "asi", "cada", "como", "con", "cual", "cuando",
+        "de", "del", "desde", "donde", "dos", "el", "ella", "ellos", "en", "entre", "era", "es",
+        "esa", "ese", "eso", "esta", "este", "esto", "estoy", "fue", "ha", "hay", "la", "las", "le",
+        "les", "lo", "los", "mas", "me", "mi", "muy", "nada", "ni", "no", "nos", "o", "otro", "para",
+        "pero", "por", "porque", "que", "quien", "se", "si", "sin", "sobre", "son", "su", "sus",
+        "tambien", "te", "tengo", "tiene", "todo", "tu", "un", "una", "uno", "unos", "y", "ya", "yo"
+    );
+
+    private AnalizadorTexto() {}
+
+    /**
+     * Convierte un texto en la lista de términos indexables, conservando repeticiones
+     */
+    public static List<String> analizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return terminos;
+        }
+
+        String normalizado = plegarAcentos(texto.toLowerCase(Locale.ROOT));
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean esParteDePalabra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (esParteDePalabra && inicio < 0) {
+                inicio = i;
+            } else if (!esParteDePalabra && inicio >= 0) {
+                agregarTermino(terminos, normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return terminos;
+    }
+
+    /**
+     * Elimina tildes, diéresis y la virgulilla de la ñ
+     */
+    public static String plegarAcentos(String texto) {
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder resultado = new StringBuilder(descompuesto.length());
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                resultado.append(c);
+            }
+        }
+        return resultado.toString();
+    }
+
+    private static void agregarTermino(List<String> terminos, String palabra) {
+        if (palabra.length() < LONGITUD_MINIMA || PALABRAS_VACIAS.contains(palabra)) {
+            return;
+        }
+        terminos.add(raiz(palabra));
+    }
+
+    /**
+     * Reducción ligera de número y de la vocal final, suficiente para que
+     * singular y plural compartan término sin un stemmer completo
+     */
+    static String raiz(String palabra) {
+        if (palabra.length() <= 3 || Character.isDigit(palabra.charAt(palabra.length() - 1))) {
+            return palabra;
+        }
+        String raiz = palabra;
+        if (raiz.endsWith("ces")) {
+            raiz = raiz.substring(0, raiz.length() - 3) + "z";
+        } else if (raiz.endsWith("es") && raiz.length() > 4) {
+            raiz = raiz.substring(0, raiz.length() - 2);
+        } else if (raiz.endsWith("s")) {
+            raiz = raiz.substring(0, raiz.length() - 1);
+        }
+        char ultima = raiz.charAt(raiz.length() - 1);
+        if (raiz.length() > 3 && (ultima == 'a' || ultima == 'e' || ultima == 'o')) {
+            raiz = raiz.substring(0, raiz.length() - 1);
+        }
+        return raiz;
+    }
+}
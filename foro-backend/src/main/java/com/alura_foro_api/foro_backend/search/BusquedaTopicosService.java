@@ -0,0 +1,177 @@
+package com.alura_foro_api.foro_backend.search;
+
+import com.alura_foro_api.foro_backend.config.EnrutadorDataSource;
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Búsqueda de tópicos por relevancia sobre {@link IndiceInvertidoTopicos}.
+ * El índice se reconstruye desde la tabla al iniciar la aplicación y se
+ * mantiene al día con cada {@link TopicoEvento}. Mientras la reconstrucción
+ * no termina, las búsquedas usan la consulta LIKE del repositorio.
+ *
+ * <p>Los eventos que llegan durante la reconstrucción se aplican al índice en
+ * el momento y su ID queda anotado: la reconstrucción omite esas filas, porque
+ * la versión que leyó de la tabla puede ser anterior al cambio.</p>
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+@Service
+public class BusquedaTopicosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusquedaTopicosService.class);
+
+    private final TopicoRepository topicoRepository;
+    private final IndiceInvertidoTopicos indice = new IndiceInvertidoTopicos();
+
+    @Value("${foro.busqueda.reconstruir-al-iniciar:true}")
+    private boolean reconstruirAlIniciar;
+
+    @Value("${foro.busqueda.tamano-lote:1000}")
+    private int tamanoLote;
+
+    private volatile boolean listo;
+
+    // IDs creados, editados o eliminados mientras corre la reconstrucción;
+    // null fuera de ella. Se lee y modifica con bloqueoReconstruccion tomado.
+    private Set<Long> cambiadosDuranteReconstruccion;
+    private final Object bloqueoReconstruccion = new Object();
+
+    public BusquedaTopicosService(TopicoRepository topicoRepository) {
+        this.topicoRepository = topicoRepository;
+    }
+
+    /**
+     * Busca tópicos por palabras clave en título y mensaje, ordenados por relevancia
+     *
+     * @param consulta texto libre
+     * @param pageable página solicitada (el orden lo define el ranking)
+     * @return página de tópicos ordenada por relevancia
+     */
+    public Page<DetalleTopicoDTO> buscar(String consulta, Pageable pageable) {
+        if (!listo) {
+            logger.debug("Índice de búsqueda aún no disponible, usando consulta a la base de datos");
+            return topicoRepository.buscarPorPalabrasClave(consulta, pageable).map(DetalleTopicoDTO::new);
+        }
+
+        int desde = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE - pageable.getPageSize());
+        IndiceInvertidoTopicos.Resultado resultado = indice.buscar(consulta, desde, pageable.getPageSize());
+        List<Long> ids = resultado.coincidencias().stream()
+                .map(IndiceInvertidoTopicos.Coincidencia::id)
+                .toList();
+
+        Map<Long, Topico> porId = topicoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Topico::getId, Function.identity()));
+        List<DetalleTopicoDTO> contenido = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Topico topico = porId.get(id);
+            if (topico != null) {
+                contenido.add(new DetalleTopicoDTO(topico));
+            }
+        }
+
+        // Los IDs que ya no están en la tabla (eliminados cuyo evento aún no
+        // llegó) tampoco cuentan en el total, para no anunciar páginas de más
+        return new PageImpl<>(contenido, pageable, resultado.total() - (ids.size() - contenido.size()));
+    }
+
+    @EventListener
+    public void alCambiarTopico(TopicoEvento evento) {
+        Long id = evento.getId();
+        if (evento.getTipo() == TopicoEvento.Tipo.ELIMINADO) {
+            aplicar(id, () -> indice.eliminar(id));
+        } else if (evento.getActual() != null) {
+            DetalleTopicoDTO actual = evento.getActual();
+            aplicar(id, () -> indice.indexar(id, actual.getTitulo(), actual.getMensaje()));
+        } else {
+            // Edición parcial sin el estado resultante: se relee el tópico ya confirmado
+            Optional<Topico> topico = EnrutadorDataSource.enPrimario(() -> topicoRepository.findById(id));
+            aplicar(id, () -> topico.ifPresentOrElse(
+                    t -> indice.indexar(id, t.getTitulo(), t.getMensaje()), () -> indice.eliminar(id)));
+        }
+    }
+
+    private void aplicar(Long id, Runnable cambio) {
+        synchronized (bloqueoReconstruccion) {
+            if (cambiadosDuranteReconstruccion != null) {
+                cambiadosDuranteReconstruccion.add(id);
+            }
+            cambio.run();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        if (!reconstruirAlIniciar) {
+            return;
+        }
+        Thread hilo = new Thread(this::reconstruir, "reconstruccion-indice-busqueda");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Recorre la tabla de tópicos por cursor e indexa cada fila, salvo las que
+     * cambiaron por un evento desde que empezó el recorrido: el índice ya tiene
+     * su estado más reciente y la fila leída podría ser anterior.
+     */
+    void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        synchronized (bloqueoReconstruccion) {
+            cambiadosDuranteReconstruccion = new HashSet<>();
+        }
+        try {
+            Pageable lote = PageRequest.of(0, tamanoLote);
+            // Del primario: en una réplica atrasada podría leerse una versión
+            // anterior a un evento aplicado antes de empezar
+            Slice<Topico> slice = EnrutadorDataSource.enPrimario(() -> topicoRepository.findPrimerosPorFecha(lote));
+            while (true) {
+                synchronized (bloqueoReconstruccion) {
+                    for (Topico topico : slice.getContent()) {
+                        if (!cambiadosDuranteReconstruccion.contains(topico.getId())) {
+                            indice.indexar(topico.getId(), topico.getTitulo(), topico.getMensaje());
+                        }
+                    }
+                }
+                if (!slice.hasNext()) {
+                    break;
+                }
+                Topico ultimo = slice.getContent().get(slice.getNumberOfElements() - 1);
+                slice = EnrutadorDataSource.enPrimario(() -> topicoRepository.findSiguientesPorFecha(
+                        ultimo.getFechaCreacion(), ultimo.getId(), lote));
+            }
+            listo = true;
+            logger.info("Índice de búsqueda reconstruido: {} tópicos en {} ms",
+                    indice.cantidadDocumentos(), System.currentTimeMillis() - inicio);
+        } catch (Exception e) {
+            logger.error("No se pudo reconstruir el índice de búsqueda; se seguirá usando la base de datos", e);
+        } finally {
+            synchronized (bloqueoReconstruccion) {
+                cambiadosDuranteReconstruccion = null;
+            }
+        }
+    }
+}
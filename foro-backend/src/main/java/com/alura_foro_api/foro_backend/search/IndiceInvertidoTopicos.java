@@ -0,0 +1,171 @@
+package com.alura_foro_api.foro_backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre el título y el mensaje de los tópicos,
+ * con ranking BM25. Los términos del título cuentan doble para que una
+ * coincidencia en el título pese más que una en el cuerpo del mensaje.
+ *
+ * <p>Es seguro para uso concurrente: las búsquedas comparten un bloqueo de
+ * lectura y las modificaciones toman el de escritura.</p>
+ */
+public class IndiceInvertidoTopicos {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int PESO_TITULO = 2;
+
+    /** término → (id de tópico → frecuencia ponderada) */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    /** id de tópico → términos distintos, para poder retirar el documento */
+    private final Map<Long, String[]> terminosPorDocumento = new HashMap<>();
+
+    /** id de tópico → longitud ponderada del documento */
+    private final Map<Long, Integer> longitudes = new HashMap<>();
+
+    private long longitudTotal;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Agrega o reemplaza un tópico en el índice
+     */
+    public void indexar(Long id, String titulo, String mensaje) {
+        Map<String, Integer> frecuencias = new HashMap<>();
+        for (String termino : AnalizadorTexto.analizar(titulo)) {
+            frecuencias.merge(termino, PESO_TITULO, Integer::sum);
+        }
+        for (String termino : AnalizadorTexto.analizar(mensaje)) {
+            frecuencias.merge(termino, 1, Integer::sum);
+        }
+        int longitud = frecuencias.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            retirar(id);
+            frecuencias.forEach((termino, frecuencia) ->
+                    postings.computeIfAbsent(termino, t -> new HashMap<>()).put(id, frecuencia));
+            terminosPorDocumento.put(id, frecuencias.keySet().toArray(String[]::new));
+            longitudes.put(id, longitud);
+            longitudTotal += longitud;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retira un tópico del índice; no hace nada si no estaba indexado
+     */
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            retirar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void retirar(Long id) {
+        String[] terminos = terminosPorDocumento.remove(id);
+        if (terminos == null) {
+            return;
+        }
+        for (String termino : terminos) {
+            Map<Long, Integer> documentos = postings.get(termino);
+            if (documentos != null) {
+                documentos.remove(id);
+                if (documentos.isEmpty()) {
+                    postings.remove(termino);
+                }
+            }
+        }
+        longitudTotal -= longitudes.remove(id);
+    }
+
+    /**
+     * Busca tópicos que contengan alguno de los términos de la consulta,
+     * ordenados por puntaje BM25 descendente (y por ID descendente en empates)
+     *
+     * @param consulta texto libre ingresado por el usuario
+     * @param desde posición del primer resultado a devolver
+     * @param cantidad cantidad máxima de resultados a devolver
+     * @return la porción solicitada del ranking y el total de coincidencias
+     */
+    public Resultado buscar(String consulta, int desde, int cantidad) {
+        Set<String> terminos = new LinkedHashSet<>(AnalizadorTexto.analizar(consulta));
+        if (terminos.isEmpty() || cantidad <= 0) {
+            return new Resultado(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int totalDocumentos = longitudes.size();
+            if (totalDocumentos == 0) {
+                return new Resultado(List.of(), 0);
+            }
+            double longitudPromedio = (double) longitudTotal / totalDocumentos;
+
+            Map<Long, Double> puntajes = new HashMap<>();
+            for (String termino : terminos) {
+                Map<Long, Integer> documentos = postings.get(termino);
+                if (documentos == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (totalDocumentos - documentos.size() + 0.5) / (documentos.size() + 0.5));
+                documentos.forEach((id, frecuencia) -> {
+                    double normalizacion = K1 * (1 - B + B * longitudes.get(id) / longitudPromedio);
+                    double puntaje = idf * frecuencia * (K1 + 1) / (frecuencia + normalizacion);
+                    puntajes.merge(id, puntaje, Double::sum);
+                });
+            }
+            return new Resultado(seleccionar(puntajes, desde, cantidad), puntajes.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene los mejores {@code desde + cantidad} puntajes con un heap acotado,
+     * sin ordenar todas las coincidencias
+     */
+    private List<Coincidencia> seleccionar(Map<Long, Double> puntajes, int desde, int cantidad) {
+        int limite = desde + cantidad;
+        Comparator<Coincidencia> orden = Comparator.comparingDouble(Coincidencia::puntaje)
+                .thenComparingLong(Coincidencia::id);
+        PriorityQueue<Coincidencia> mejores = new PriorityQueue<>(Math.min(limite, puntajes.size()) + 1, orden);
+        puntajes.forEach((id, puntaje) -> {
+            mejores.offer(new Coincidencia(id, puntaje));
+            if (mejores.size() > limite) {
+                mejores.poll();
+            }
+        });
+
+        List<Coincidencia> ordenadas = new ArrayList<>(mejores);
+        ordenadas.sort(orden.reversed());
+        return desde >= ordenadas.size() ? List.of() : ordenadas.subList(desde, ordenadas.size());
+    }
+
+    public int cantidadDocumentos() {
+        lock.readLock().lock();
+        try {
+            return longitudes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Coincidencia(Long id, double puntaje) {}
+
+    public record Resultado(List<Coincidencia> coincidencias, long total) {}
+}
@@ -0,0 +1,333 @@
+package com.alura_foro_api.foro_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de trigramas en memoria para buscar por subcadena en un campo corto
+ * de los tópicos (título, curso o autor).
+ *
+ * <p>Se indexa cada valor distinto del campo (normalizado a minúsculas y sin
+ * acentos) con un ID interno entero; cada trigrama apunta a la lista ordenada
+ * de IDs de los valores que lo contienen. Una búsqueda intersecta las listas
+ * de los trigramas del texto, empezando por la más corta, y verifica los
+ * candidatos con {@link String#contains}: compartir los trigramas no garantiza
+ * contener la subcadena. Textos de menos de tres caracteres recorren los valores.</p>
+ *
+ * <p>Es seguro para uso concurrente: las búsquedas comparten un bloqueo de
+ * lectura y las modificaciones toman el de escritura.</p>
+ */
+public class IndiceTrigramas {
+
+    private static final int LARGO_TRIGRAMA = 3;
+    private static final long[] SIN_TOPICOS = new long[0];
+
+    /** trigrama → IDs internos de los valores que lo contienen, en orden creciente */
+    private final Map<String, ListaEnteros> postings = new HashMap<>();
+
+    /** valor normalizado → ID interno */
+    private final Map<String, Integer> idPorValor = new HashMap<>();
+
+    /** ID de tópico → ID interno de su valor */
+    private final MapaLargoEntero valorPorTopico = new MapaLargoEntero();
+
+    // Por ID interno: valor normalizado (nulo si se retiró), forma original y tópicos que lo usan
+    private String[] normalizados = new String[64];
+    private String[] originales = new String[64];
+    private long[][] topicos = new long[64][];
+    private int[] cantidadTopicos = new int[64];
+    private int siguienteId;
+    private int valoresVivos;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Asocia el tópico al valor indicado, reemplazando el que tuviera antes.
+     * Un valor nulo o vacío solo retira el tópico.
+     */
+    public void indexar(long idTopico, String valor) {
+        String normalizado = normalizar(valor);
+        lock.writeLock().lock();
+        try {
+            retirar(idTopico);
+            if (normalizado.isEmpty()) {
+                return;
+            }
+            Integer existente = idPorValor.get(normalizado);
+            int id = existente != null ? existente : registrarValor(normalizado, valor.strip());
+            agregarTopico(id, idTopico);
+            valorPorTopico.poner(idTopico, id);
+            compactarSiConviene();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retira un tópico del índice; no hace nada si no estaba indexado
+     */
+    public void eliminar(long idTopico) {
+        lock.writeLock().lock();
+        try {
+            retirar(idTopico);
+            compactarSiConviene();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Valores distintos que contienen el texto, de los más usados a los menos usados
+     *
+     * @param texto subcadena a buscar, sin distinguir mayúsculas ni acentos
+     * @param limite cantidad máxima de valores a devolver
+     */
+    public List<Valor> valoresQueContienen(String texto, int limite) {
+        String normalizado = normalizar(texto);
+        if (normalizado.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int[] ids = coincidencias(normalizado);
+            List<Valor> valores = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                valores.add(new Valor(originales[id], cantidadTopicos[id]));
+            }
+            valores.sort(Comparator.comparingInt(Valor::topicos).reversed().thenComparing(Valor::valor));
+            return valores.size() > limite ? valores.subList(0, limite) : valores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs de los tópicos cuyo valor contiene el texto, de mayor a menor
+     *
+     * @param texto subcadena a buscar, sin distinguir mayúsculas ni acentos
+     */
+    public long[] topicosQueContienen(String texto) {
+        String normalizado = normalizar(texto);
+        if (normalizado.isEmpty()) {
+            return SIN_TOPICOS;
+        }
+        lock.readLock().lock();
+        try {
+            int[] ids = coincidencias(normalizado);
+            int total = 0;
+            for (int id : ids) {
+                total += cantidadTopicos[id];
+            }
+            long[] resultado = new long[total];
+            int posicion = 0;
+            for (int id : ids) {
+                System.arraycopy(topicos[id], 0, resultado, posicion, cantidadTopicos[id]);
+                posicion += cantidadTopicos[id];
+            }
+            Arrays.sort(resultado);
+            for (int i = 0, j = resultado.length - 1; i < j; i++, j--) {
+                long temporal = resultado[i];
+                resultado[i] = resultado[j];
+                resultado[j] = temporal;
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int cantidadValores() {
+        lock.readLock().lock();
+        try {
+            return valoresVivos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int cantidadTopicos() {
+        lock.readLock().lock();
+        try {
+            return valorPorTopico.tamano();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forma en que se indexan y buscan los valores
+     */
+    static String normalizar(String texto) {
+        return texto == null ? "" : AnalizadorTexto.plegarAcentos(texto.strip().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * IDs internos de los valores que contienen el texto ya normalizado
+     */
+    private int[] coincidencias(String normalizado) {
+        if (normalizado.length() < LARGO_TRIGRAMA) {
+            return recorrer(normalizado);
+        }
+
+        Set<String> trigramas = trigramas(normalizado);
+        ListaEnteros[] listas = new ListaEnteros[trigramas.size()];
+        int i = 0;
+        for (String trigrama : trigramas) {
+            ListaEnteros lista = postings.get(trigrama);
+            if (lista == null) {
+                return new int[0];
+            }
+            listas[i++] = lista;
+        }
+        Arrays.sort(listas, Comparator.comparingInt(ListaEnteros::tamano));
+
+        int[] candidatos = listas[0].copiar();
+        int cantidad = candidatos.length;
+        for (int j = 1; j < listas.length && cantidad > 0; j++) {
+            cantidad = listas[j].intersectar(candidatos, cantidad);
+        }
+
+        int verificados = 0;
+        for (int j = 0; j < cantidad; j++) {
+            if (normalizados[candidatos[j]].contains(normalizado)) {
+                candidatos[verificados++] = candidatos[j];
+            }
+        }
+        return Arrays.copyOf(candidatos, verificados);
+    }
+
+    private int[] recorrer(String normalizado) {
+        int[] encontrados = new int[Math.min(valoresVivos, 64)];
+        int cantidad = 0;
+        for (int id = 0; id < siguienteId; id++) {
+            if (normalizados[id] != null && normalizados[id].contains(normalizado)) {
+                if (cantidad == encontrados.length) {
+                    encontrados = Arrays.copyOf(encontrados, cantidad * 2);
+                }
+                encontrados[cantidad++] = id;
+            }
+        }
+        return Arrays.copyOf(encontrados, cantidad);
+    }
+
+    private int registrarValor(String normalizado, String original) {
+        if (siguienteId == normalizados.length) {
+            int capacidad = normalizados.length * 2;
+            normalizados = Arrays.copyOf(normalizados, capacidad);
+            originales = Arrays.copyOf(originales, capacidad);
+            topicos = Arrays.copyOf(topicos, capacidad);
+            cantidadTopicos = Arrays.copyOf(cantidadTopicos, capacidad);
+        }
+        int id = siguienteId++;
+        normalizados[id] = normalizado;
+        originales[id] = original;
+        topicos[id] = new long[1];
+        cantidadTopicos[id] = 0;
+        idPorValor.put(normalizado, id);
+        valoresVivos++;
+        for (String trigrama : trigramas(normalizado)) {
+            postings.computeIfAbsent(trigrama, t -> new ListaEnteros()).agregarAlFinal(id);
+        }
+        return id;
+    }
+
+    private void agregarTopico(int id, long idTopico) {
+        if (cantidadTopicos[id] == topicos[id].length) {
+            topicos[id] = Arrays.copyOf(topicos[id], topicos[id].length * 2);
+        }
+        topicos[id][cantidadTopicos[id]++] = idTopico;
+    }
+
+    private void retirar(long idTopico) {
+        int id = valorPorTopico.quitar(idTopico);
+        if (id == MapaLargoEntero.AUSENTE) {
+            return;
+        }
+        long[] delValor = topicos[id];
+        int cantidad = cantidadTopicos[id];
+        for (int i = 0; i < cantidad; i++) {
+            if (delValor[i] == idTopico) {
+                delValor[i] = delValor[--cantidad];
+                break;
+            }
+        }
+        cantidadTopicos[id] = cantidad;
+        if (cantidad == 0) {
+            retirarValor(id);
+        }
+    }
+
+    private void retirarValor(int id) {
+        String normalizado = normalizados[id];
+        for (String trigrama : trigramas(normalizado)) {
+            ListaEnteros lista = postings.get(trigrama);
+            if (lista != null && lista.quitar(id) && lista.estaVacia()) {
+                postings.remove(trigrama);
+            }
+        }
+        idPorValor.remove(normalizado);
+        normalizados[id] = null;
+        originales[id] = null;
+        topicos[id] = null;
+        valoresVivos--;
+    }
+
+    /**
+     * Reasigna IDs internos consecutivos cuando los valores retirados dejaron
+     * más huecos que valores vivos, para que los arreglos no crezcan indefinidamente
+     */
+    private void compactarSiConviene() {
+        if (siguienteId <= 1024 || valoresVivos >= siguienteId / 2) {
+            return;
+        }
+        String[] normalizadosAnteriores = normalizados;
+        String[] originalesAnteriores = originales;
+        long[][] topicosAnteriores = topicos;
+        int[] cantidadAnterior = cantidadTopicos;
+        int anteriores = siguienteId;
+
+        int capacidad = Math.max(64, Integer.highestOneBit(Math.max(1, valoresVivos)) * 2);
+        normalizados = new String[capacidad];
+        originales = new String[capacidad];
+        topicos = new long[capacidad][];
+        cantidadTopicos = new int[capacidad];
+        postings.clear();
+        idPorValor.clear();
+        siguienteId = 0;
+        valoresVivos = 0;
+
+        for (int anterior = 0; anterior < anteriores; anterior++) {
+            if (normalizadosAnteriores[anterior] == null) {
+                continue;
+            }
+            int id = registrarValor(normalizadosAnteriores[anterior], originalesAnteriores[anterior]);
+            topicos[id] = topicosAnteriores[anterior];
+            cantidadTopicos[id] = cantidadAnterior[anterior];
+            for (int i = 0; i < cantidadTopicos[id]; i++) {
+                valorPorTopico.poner(topicos[id][i], id);
+            }
+        }
+    }
+
+    private static Set<String> trigramas(String normalizado) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (int i = 0; i + LARGO_TRIGRAMA <= normalizado.length(); i++) {
+            trigramas.add(normalizado.substring(i, i + LARGO_TRIGRAMA));
+        }
+        return trigramas;
+    }
+
+    /**
+     * Valor distinto del campo y cantidad de tópicos que lo usan
+     */
+    public record Valor(String valor, int topicos) {}
+}
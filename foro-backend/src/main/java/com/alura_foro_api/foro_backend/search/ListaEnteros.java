@@ -0,0 +1,92 @@
+package com.alura_foro_api.foro_backend.search;
+
+import java.util.Arrays;
+
+/**
+ * Lista ordenada y creciente de enteros sobre un {@code int[]}, usada como
+ * lista de postings de {@link IndiceTrigramas}. Evita el costo en memoria y
+ * en indirecciones de una colección de {@code Integer}.
+ */
+final class ListaEnteros {
+
+    private static final int[] VACIO = new int[0];
+
+    private int[] valores = VACIO;
+    private int tamano;
+
+    /**
+     * Agrega un valor mayor que todos los presentes (los IDs internos de
+     * {@link IndiceTrigramas} solo crecen, así que agregar al final mantiene el orden)
+     */
+    void agregarAlFinal(int valor) {
+        if (tamano == valores.length) {
+            valores = Arrays.copyOf(valores, Math.max(4, tamano + (tamano >> 1)));
+        }
+        valores[tamano++] = valor;
+    }
+
+    /**
+     * Quita un valor si está presente
+     *
+     * @return true si se quitó
+     */
+    boolean quitar(int valor) {
+        int posicion = Arrays.binarySearch(valores, 0, tamano, valor);
+        if (posicion < 0) {
+            return false;
+        }
+        System.arraycopy(valores, posicion + 1, valores, posicion, tamano - posicion - 1);
+        tamano--;
+        if (tamano == 0) {
+            valores = VACIO;
+        }
+        return true;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    boolean estaVacia() {
+        return tamano == 0;
+    }
+
+    int[] copiar() {
+        return Arrays.copyOf(valores, tamano);
+    }
+
+    /**
+     * Intersección de un arreglo ordenado con esta lista. Cuando esta lista es
+     * mucho más larga se avanza por búsqueda binaria en lugar de recorrerla entera.
+     *
+     * @param candidatos valores ordenados; se sobrescribe con el resultado
+     * @param cantidad cantidad de valores válidos en {@code candidatos}
+     * @return cantidad de valores que quedaron en {@code candidatos}
+     */
+    int intersectar(int[] candidatos, int cantidad) {
+        int resultado = 0;
+        int desde = 0;
+        boolean saltar = tamano > cantidad * 8;
+        for (int i = 0; i < cantidad && desde < tamano; i++) {
+            int buscado = candidatos[i];
+            if (saltar) {
+                int posicion = Arrays.binarySearch(valores, desde, tamano, buscado);
+                if (posicion >= 0) {
+                    candidatos[resultado++] = buscado;
+                    desde = posicion + 1;
+                } else {
+                    desde = -posicion - 1;
+                }
+            } else {
+                while (desde < tamano && valores[desde] < buscado) {
+                    desde++;
+                }
+                if (desde < tamano && valores[desde] == buscado) {
+                    candidatos[resultado++] = buscado;
+                    desde++;
+                }
+            }
+        }
+        return resultado;
+    }
+}
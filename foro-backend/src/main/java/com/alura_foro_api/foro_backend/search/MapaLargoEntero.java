@@ -0,0 +1,108 @@
+package com.alura_foro_api.foro_backend.search;
+
+/**
+ * Mapa {@code long → int} con direccionamiento abierto sobre arreglos
+ * primitivos, para asociar IDs de tópico a IDs internos sin crear un
+ * {@code Long} y una entrada de {@code HashMap} por tópico.
+ * No es seguro para uso concurrente; {@link IndiceTrigramas} lo protege con su bloqueo.
+ */
+final class MapaLargoEntero {
+
+    static final int AUSENTE = -1;
+
+    private static final float CARGA_MAXIMA = 0.6f;
+
+    private long[] claves;
+    private int[] valores;
+    private boolean[] ocupadas;
+    private int tamano;
+
+    MapaLargoEntero() {
+        redimensionar(16);
+    }
+
+    int obtener(long clave) {
+        int posicion = posicion(clave);
+        return ocupadas[posicion] ? valores[posicion] : AUSENTE;
+    }
+
+    void poner(long clave, int valor) {
+        int posicion = posicion(clave);
+        if (!ocupadas[posicion]) {
+            if (tamano + 1 > claves.length * CARGA_MAXIMA) {
+                redimensionar(claves.length * 2);
+                posicion = posicion(clave);
+            }
+            ocupadas[posicion] = true;
+            claves[posicion] = clave;
+            tamano++;
+        }
+        valores[posicion] = valor;
+    }
+
+    /**
+     * Quita la clave y devuelve su valor, o {@link #AUSENTE}
+     */
+    int quitar(long clave) {
+        int posicion = posicion(clave);
+        if (!ocupadas[posicion]) {
+            return AUSENTE;
+        }
+        int valor = valores[posicion];
+        ocupadas[posicion] = false;
+        tamano--;
+
+        // Reubica las claves siguientes del mismo grupo para no dejar huecos en la secuencia de sondeo
+        int mascara = claves.length - 1;
+        int siguiente = (posicion + 1) & mascara;
+        while (ocupadas[siguiente]) {
+            long reubicada = claves[siguiente];
+            int valorReubicado = valores[siguiente];
+            ocupadas[siguiente] = false;
+            int destino = posicion(reubicada);
+            ocupadas[destino] = true;
+            claves[destino] = reubicada;
+            valores[destino] = valorReubicado;
+            siguiente = (siguiente + 1) & mascara;
+        }
+        return valor;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    private int posicion(long clave) {
+        int mascara = claves.length - 1;
+        int posicion = dispersar(clave) & mascara;
+        while (ocupadas[posicion] && claves[posicion] != clave) {
+            posicion = (posicion + 1) & mascara;
+        }
+        return posicion;
+    }
+
+    private void redimensionar(int capacidad) {
+        long[] clavesAnteriores = claves;
+        int[] valoresAnteriores = valores;
+        boolean[] ocupadasAnteriores = ocupadas;
+        claves = new long[capacidad];
+        valores = new int[capacidad];
+        ocupadas = new boolean[capacidad];
+        if (clavesAnteriores == null) {
+            return;
+        }
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (ocupadasAnteriores[i]) {
+                int posicion = posicion(clavesAnteriores[i]);
+                ocupadas[posicion] = true;
+                claves[posicion] = clavesAnteriores[i];
+                valores[posicion] = valoresAnteriores[i];
+            }
+        }
+    }
+
+    private static int dispersar(long clave) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,249 @@
+package com.alura_foro_api.foro_backend.search;
+
+import com.alura_foro_api.foro_backend.config.EnrutadorDataSource;
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.exception.DatosInvalidosException;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Búsqueda por subcadena en título, curso y autor sobre un {@link IndiceTrigramas}
+ * por campo, para que "boot" encuentre "Spring Boot" sin un {@code LIKE '%boot%'}
+ * que recorre la tabla.
+ *
+ * <p>Los índices se reconstruyen desde la tabla al iniciar y se mantienen con
+ * cada {@link TopicoEvento}. Mientras la reconstrucción no termina se usan las
+ * consultas {@code ContainingIgnoreCase} del repositorio. Como en
+ * {@link BusquedaTopicosService}, la reconstrucción omite las filas que
+ * cambiaron por un evento mientras recorría la tabla.</p>
+ *
+ * <p>El índice solo resuelve qué tópicos coinciden; el contenido de la página
+ * se carga por clave primaria, a lo sumo un tamaño de página de filas.</p>
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+@Service
+public class SubcadenaTopicosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubcadenaTopicosService.class);
+
+    /**
+     * Campos de texto corto indexados por subcadena
+     */
+    public enum Campo {
+        TITULO(Topico::getTitulo, DetalleTopicoDTO::getTitulo),
+        CURSO(Topico::getCurso, DetalleTopicoDTO::getCurso),
+        AUTOR(Topico::getAutor, DetalleTopicoDTO::getAutor);
+
+        private final Function<Topico, String> deTopico;
+        private final Function<DetalleTopicoDTO, String> deDetalle;
+
+        Campo(Function<Topico, String> deTopico, Function<DetalleTopicoDTO, String> deDetalle) {
+            this.deTopico = deTopico;
+            this.deDetalle = deDetalle;
+        }
+
+        public static Campo de(String nombre) {
+            try {
+                return valueOf(nombre.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new DatosInvalidosException("El parámetro 'campo' debe ser 'titulo', 'curso' o 'autor'");
+            }
+        }
+    }
+
+    private final TopicoRepository topicoRepository;
+    private final Map<Campo, IndiceTrigramas> indices = new EnumMap<>(Campo.class);
+
+    @Value("${foro.busqueda.reconstruir-al-iniciar:true}")
+    private boolean reconstruirAlIniciar;
+
+    @Value("${foro.busqueda.tamano-lote:1000}")
+    private int tamanoLote;
+
+    private volatile boolean listo;
+
+    // IDs creados, editados o eliminados mientras corre la reconstrucción;
+    // null fuera de ella. Se lee y modifica con bloqueoReconstruccion tomado.
+    private Set<Long> cambiadosDuranteReconstruccion;
+    private final Object bloqueoReconstruccion = new Object();
+
+    public SubcadenaTopicosService(TopicoRepository topicoRepository) {
+        this.topicoRepository = topicoRepository;
+        for (Campo campo : Campo.values()) {
+            indices.put(campo, new IndiceTrigramas());
+        }
+    }
+
+    /**
+     * Tópicos cuyo campo contiene el texto, del más reciente al más antiguo
+     *
+     * @param campo campo en el que buscar
+     * @param texto subcadena, sin distinguir mayúsculas ni acentos
+     * @param pageable página solicitada (el orden es siempre por ID descendente)
+     */
+    public Page<DetalleTopicoDTO> buscar(Campo campo, String texto, Pageable pageable) {
+        if (!listo) {
+            logger.debug("Índice de subcadenas aún no disponible, usando consulta a la base de datos");
+            return consultarBaseDeDatos(campo, texto, pageable).map(DetalleTopicoDTO::new);
+        }
+
+        long[] ids = indices.get(campo).topicosQueContienen(texto);
+        int desde = (int) Math.min(pageable.getOffset(), ids.length);
+        int hasta = Math.min(desde + pageable.getPageSize(), ids.length);
+        List<Long> pagina = Arrays.stream(ids, desde, hasta).boxed().toList();
+
+        Map<Long, Topico> porId = topicoRepository.findAllById(pagina).stream()
+                .collect(Collectors.toMap(Topico::getId, Function.identity()));
+        List<DetalleTopicoDTO> contenido = new ArrayList<>(pagina.size());
+        for (Long id : pagina) {
+            Topico topico = porId.get(id);
+            if (topico != null) {
+                contenido.add(new DetalleTopicoDTO(topico));
+            }
+        }
+        // Los IDs que ya no están en la tabla tampoco cuentan en el total
+        return new PageImpl<>(contenido, pageable, ids.length - (pagina.size() - contenido.size()));
+    }
+
+    /**
+     * Valores distintos del campo que contienen el texto (autocompletado),
+     * de los más usados a los menos usados. No consulta la base de datos una
+     * vez construido el índice.
+     */
+    public List<IndiceTrigramas.Valor> autocompletar(Campo campo, String texto, int limite) {
+        if (!listo) {
+            Map<String, Integer> conteos = new LinkedHashMap<>();
+            consultarBaseDeDatos(campo, texto, PageRequest.of(0, limite * 10))
+                    .forEach(topico -> conteos.merge(campo.deTopico.apply(topico), 1, Integer::sum));
+            return conteos.entrySet().stream()
+                    .map(entrada -> new IndiceTrigramas.Valor(entrada.getKey(), entrada.getValue()))
+                    .limit(limite)
+                    .toList();
+        }
+        return indices.get(campo).valoresQueContienen(texto, limite);
+    }
+
+    @EventListener
+    public void alCambiarTopico(TopicoEvento evento) {
+        Long id = evento.getId();
+        if (evento.getTipo() == TopicoEvento.Tipo.ELIMINADO) {
+            aplicar(id, () -> eliminar(id));
+        } else if (evento.getActual() != null) {
+            aplicar(id, () -> indexar(id, evento.getActual()));
+        } else {
+            // Edición parcial sin el estado resultante: se relee el tópico ya confirmado
+            Optional<Topico> topico = EnrutadorDataSource.enPrimario(() -> topicoRepository.findById(id));
+            aplicar(id, () -> topico.ifPresentOrElse(this::indexar, () -> eliminar(id)));
+        }
+    }
+
+    private void aplicar(Long id, Runnable cambio) {
+        synchronized (bloqueoReconstruccion) {
+            if (cambiadosDuranteReconstruccion != null) {
+                cambiadosDuranteReconstruccion.add(id);
+            }
+            cambio.run();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        if (!reconstruirAlIniciar) {
+            return;
+        }
+        Thread hilo = new Thread(this::reconstruir, "reconstruccion-indice-subcadenas");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Recorre la tabla de tópicos por cursor e indexa cada fila, salvo las que
+     * cambiaron por un evento desde que empezó el recorrido: los índices ya
+     * tienen su estado más reciente y la fila leída podría ser anterior.
+     */
+    void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        synchronized (bloqueoReconstruccion) {
+            cambiadosDuranteReconstruccion = new HashSet<>();
+        }
+        try {
+            Pageable lote = PageRequest.of(0, tamanoLote);
+            Slice<Topico> slice = EnrutadorDataSource.enPrimario(() -> topicoRepository.findPrimerosPorFecha(lote));
+            while (true) {
+                synchronized (bloqueoReconstruccion) {
+                    for (Topico topico : slice.getContent()) {
+                        if (!cambiadosDuranteReconstruccion.contains(topico.getId())) {
+                            indexar(topico);
+                        }
+                    }
+                }
+                if (!slice.hasNext()) {
+                    break;
+                }
+                Topico ultimo = slice.getContent().get(slice.getNumberOfElements() - 1);
+                slice = EnrutadorDataSource.enPrimario(() -> topicoRepository.findSiguientesPorFecha(
+                        ultimo.getFechaCreacion(), ultimo.getId(), lote));
+            }
+            listo = true;
+            logger.info("Índice de subcadenas reconstruido: {} tópicos, {} cursos y {} autores distintos en {} ms",
+                    indices.get(Campo.TITULO).cantidadTopicos(), indices.get(Campo.CURSO).cantidadValores(),
+                    indices.get(Campo.AUTOR).cantidadValores(), System.currentTimeMillis() - inicio);
+        } catch (Exception e) {
+            logger.error("No se pudo reconstruir el índice de subcadenas; se seguirá usando la base de datos", e);
+        } finally {
+            synchronized (bloqueoReconstruccion) {
+                cambiadosDuranteReconstruccion = null;
+            }
+        }
+    }
+
+    private void indexar(Topico topico) {
+        indices.forEach((campo, indice) -> indice.indexar(topico.getId(), campo.deTopico.apply(topico)));
+    }
+
+    private void eliminar(Long id) {
+        indices.values().forEach(indice -> indice.eliminar(id));
+    }
+
+    private void indexar(Long id, DetalleTopicoDTO detalle) {
+        indices.forEach((campo, indice) -> indice.indexar(id, campo.deDetalle.apply(detalle)));
+    }
+
+    private Page<Topico> consultarBaseDeDatos(Campo campo, String texto, Pageable pageable) {
+        Pageable porId = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "id"));
+        return switch (campo) {
+            case TITULO -> topicoRepository.findByTituloContainingIgnoreCase(texto, porId);
+            case CURSO -> topicoRepository.findByCursoContainingIgnoreCase(texto, porId);
+            case AUTOR -> topicoRepository.findByAutorContainingIgnoreCase(texto, porId);
+        };
+    }
+}
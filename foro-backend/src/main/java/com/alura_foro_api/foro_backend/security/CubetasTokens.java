@@ -0,0 +1,70 @@
+package com.alura_foro_api.foro_backend.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubetas de tokens por cliente para una regla de {@link LimiteTasaFilter}.
+ *
+ * <p>Cada cubeta se guarda como un único {@code long}: el instante teórico en
+ * que quedaría vacía de nuevo (algoritmo GCRA, equivalente a una cubeta de
+ * {@code capacidad} tokens que se repone uno cada {@code periodo / capacidad}).
+ * Consumir es leer, calcular y hacer un CAS, sin bloqueos. El mapa es un
+ * {@link ConcurrentHashMap}, cuyas celdas ya reparten la contención entre
+ * claves distintas.</p>
+ *
+ * <p>Una cubeta cuyo instante ya pasó está llena y equivale a no tenerla, así
+ * que {@link #purgar(long)} puede eliminarla sin perder información.</p>
+ */
+class CubetasTokens {
+
+    private final ConcurrentHashMap<String, AtomicLong> cubetas = new ConcurrentHashMap<>();
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+
+    CubetasTokens(int capacidad, long periodoNanos) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad de una regla de límite de tasa debe ser al menos 1");
+        }
+        this.intervaloNanos = Math.max(1, periodoNanos / capacidad);
+        this.toleranciaNanos = intervaloNanos * (capacidad - 1);
+    }
+
+    /**
+     * Intenta consumir un token de la cubeta del cliente
+     *
+     * @param clave cliente (IP o usuario)
+     * @param ahora instante actual según {@link System#nanoTime()}
+     * @return 0 si se admitió la petición, o los nanosegundos hasta que haya un token
+     */
+    long consumir(String clave, long ahora) {
+        AtomicLong vacia = cubetas.computeIfAbsent(clave, k -> new AtomicLong(ahora));
+        while (true) {
+            long actual = vacia.get();
+            long base = Math.max(actual, ahora);
+            long espera = base - toleranciaNanos - ahora;
+            if (espera > 0) {
+                return espera;
+            }
+            if (vacia.compareAndSet(actual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Elimina las cubetas que ya se llenaron. Una petición concurrente sobre una
+     * cubeta recién eliminada se admite igual, como lo haría con una cubeta nueva.
+     *
+     * @return cantidad de cubetas eliminadas
+     */
+    int purgar(long ahora) {
+        int antes = cubetas.size();
+        cubetas.entrySet().removeIf(entrada -> entrada.getValue().get() - ahora <= 0);
+        return antes - cubetas.size();
+    }
+
+    int tamano() {
+        return cubetas.size();
+    }
+}
@@ -0,0 +1,120 @@
+package com.alura_foro_api.foro_backend.security;
+
+import com.alura_foro_api.foro_backend.exception.ServicioSaturadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta el hash y la verificación de contraseñas (BCrypt) en un pool propio.
+ *
+ * <p>BCrypt consume CPU a propósito; si corre en los hilos de Tomcat, una
+ * ráfaga de logins los ocupa todos y las lecturas baratas de tópicos esperan.
+ * Aquí el trabajo va a un pool de tamaño fijo (por defecto, un hilo por núcleo)
+ * con una cola acotada: cuando la cola está llena la petición se rechaza en
+ * el acto con {@link ServicioSaturadoException} en lugar de acumular esperas.</p>
+ *
+ * <p>Métricas: {@code foro.contrasenas.hash} (latencia por operación),
+ * {@code foro.contrasenas.cola} (tareas en espera) y
+ * {@code foro.contrasenas.rechazos}.</p>
+ */
+@Service
+public class HashContrasenasService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${seguridad.bcrypt.hilos:0}")
+    private int hilos;
+
+    @Value("${seguridad.bcrypt.capacidad-cola:64}")
+    private int capacidadCola;
+
+    private ThreadPoolExecutor executor;
+    private Timer tiempoCodificar;
+    private Timer tiempoVerificar;
+    private Counter rechazos;
+
+    @PostConstruct
+    void init() {
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "bcrypt-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        if (meterRegistry != null) {
+            tiempoCodificar = Timer.builder("foro.contrasenas.hash")
+                    .tag("operacion", "codificar")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            tiempoVerificar = Timer.builder("foro.contrasenas.hash")
+                    .tag("operacion", "verificar")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            rechazos = meterRegistry.counter("foro.contrasenas.rechazos");
+            Gauge.builder("foro.contrasenas.cola", executor, e -> e.getQueue().size())
+                    .description("Operaciones de hash esperando un hilo libre")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        executor.shutdown();
+    }
+
+    /**
+     * Calcula el hash de una contraseña en el pool de BCrypt
+     *
+     * @throws ServicioSaturadoException si la cola del pool está llena
+     */
+    public CompletableFuture<String> codificar(String contrasena) {
+        return ejecutar(tiempoCodificar, () -> passwordEncoder.encode(contrasena));
+    }
+
+    /**
+     * Verifica una contraseña contra su hash en el pool de BCrypt
+     *
+     * @throws ServicioSaturadoException si la cola del pool está llena
+     */
+    public CompletableFuture<Boolean> verificar(String contrasena, String hash) {
+        return ejecutar(tiempoVerificar, () -> passwordEncoder.matches(contrasena, hash));
+    }
+
+    private <T> CompletableFuture<T> ejecutar(Timer timer, Supplier<T> operacion) {
+        Supplier<T> medida = timer == null ? operacion : () -> timer.record(operacion);
+        try {
+            return CompletableFuture.supplyAsync(medida, executor);
+        } catch (RejectedExecutionException e) {
+            if (rechazos != null) {
+                rechazos.increment();
+            }
+            throw new ServicioSaturadoException(
+                    "Demasiadas solicitudes de autenticación en curso. Intenta nuevamente en unos segundos", 1);
+        }
+    }
+}
@@ -40,8 +40,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
             
             try {
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.extractUsername(token);
+                java.util.Optional<io.jsonwebtoken.Claims> claims = jwtUtil.validarToken(token);
+                if (claims.isPresent()) {
+                    String username = claims.get().getSubject();
                     
                     // Crear autenticación
                     org.springframework.security.core.Authentication authentication =
@@ -71,7 +72,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     /**
      * Verifica si la ruta es pública y no requiere autenticación
      */
-    private boolean isPublicPath(String path) {
+    boolean isPublicPath(String path) {
         return path.startsWith("/auth/login") ||
                path.startsWith("/auth/register") ||
                path.startsWith("/v3/api-docs") ||
@@ -1,51 +1,177 @@
 package com.alura_foro_api.foro_backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import java.security.Key;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
-    
+
     @Value("${jwt.secret}")
     private String SECRET;
-    
+
+    @Value("${jwt.cache.tamano-maximo:10000}")
+    private long tamanoMaximoCache;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
     private final long EXPIRATION = 86400000; // 1 día
-    
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+
+    // Clave y parser se construyen una sola vez; JwtParser es inmutable y seguro entre hilos
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Tokens ya verificados, indexados por su SHA-256; cada entrada vive hasta el "exp" del token
+    private Cache<String, Claims> tokensVerificados;
+
+    // Tiempo de validación según cómo se resolvió: desde cache, verificando la firma o rechazado
+    private Timer validacionCache;
+    private Timer validacionVerificada;
+    private Timer validacionRechazada;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximoCache)
+                .expireAfter(new ExpiracionDelToken())
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            // Mismas etiquetas que Spring Boot usa para los caches de CacheManager; Prometheus
+            // descarta métricas de un mismo nombre registradas con otro conjunto de etiquetas
+            CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "jwtTokensVerificados",
+                    "name", "jwtTokensVerificados", "cache.manager", "jwtUtil");
+            validacionCache = timerValidacion("cache");
+            validacionVerificada = timerValidacion("verificado");
+            validacionRechazada = timerValidacion("invalido");
+        }
     }
 
     public String generateToken(String username) {
         return Jwts.builder()
                 .setSubject(username)
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    /**
+     * Valida el token y devuelve sus claims con una sola verificación de firma.
+     * Si el mismo token ya fue verificado y no expiró, se devuelve desde cache
+     * sin volver a calcular el HMAC.
+     *
+     * @param token JWT recibido en el header Authorization
+     * @return claims del token, o vacío si es inválido o expiró
+     */
+    public Optional<Claims> validarToken(String token) {
+        long inicio = System.nanoTime();
+        String digest = digest(token);
+        Claims claims = tokensVerificados.getIfPresent(digest);
+        if (claims != null) {
+            registrar(validacionCache, inicio);
+            return Optional.of(claims);
+        }
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (Exception e) {
+            registrar(validacionRechazada, inicio);
+            return Optional.empty();
+        }
+        if (claims.getExpiration() != null) {
+            tokensVerificados.put(digest, claims);
+        }
+        registrar(validacionVerificada, inicio);
+        return Optional.of(claims);
+    }
+
+    /**
+     * Subject de un token que ya fue verificado y sigue en cache, sin calcular
+     * el HMAC. Sirve para identificar al cliente antes de la autenticación
+     * (por ejemplo, en el límite de tasa); un token nunca visto devuelve vacío.
+     *
+     * @param token JWT recibido en el header Authorization
+     * @return subject del token, o vacío si no está en cache
+     */
+    public Optional<String> sujetoVerificado(String token) {
+        Claims claims = tokensVerificados.getIfPresent(digest(token));
+        return claims == null ? Optional.empty() : Optional.ofNullable(claims.getSubject());
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return validarToken(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new IllegalArgumentException("Token JWT inválido"));
     }
 
     public boolean validateToken(String token) {
+        return validarToken(token).isPresent();
+    }
+
+    private Timer timerValidacion(String resultado) {
+        return Timer.builder("foro.jwt.validacion")
+                .description("Tiempo de validación de tokens JWT")
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static void registrar(Timer timer, long inicio) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Expira cada entrada en el instante indicado por el claim "exp" del token
+     */
+    private static class ExpiracionDelToken implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            long restanteMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, restanteMs) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
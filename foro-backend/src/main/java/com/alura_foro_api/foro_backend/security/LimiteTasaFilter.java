@@ -0,0 +1,154 @@
+package com.alura_foro_api.foro_backend.security;
+
+import com.alura_foro_api.foro_backend.dto.ErrorResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Límite de peticiones por cliente, evaluado antes de {@link JwtAuthenticationFilter}.
+ *
+ * <p>Las rutas de autenticación se limitan por IP y las de la API por el
+ * subject del JWT, según las reglas de {@link LimiteTasaProperties}. Una
+ * petición rechazada recibe 429 con {@code Retry-After} sin llegar a verificar
+ * firmas, calcular hashes BCrypt ni consultar la base de datos.</p>
+ *
+ * <p>El subject solo se toma de tokens que {@link JwtUtil} ya verificó; un
+ * token nuevo (o inventado) cuenta contra la IP hasta que pase la verificación,
+ * de modo que cambiar el subject de un token falso no evita el límite.</p>
+ */
+public class LimiteTasaFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteTasaFilter.class);
+    private static final String PREFIJO_BEARER = "Bearer ";
+
+    private record ReglaActiva(String patron, Set<String> metodos, LimiteTasaProperties.Clave clave,
+                               CubetasTokens cubetas, Counter rechazos) {}
+
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final List<ReglaActiva> reglas;
+    private final AntPathMatcher rutas = new AntPathMatcher();
+
+    public LimiteTasaFilter(LimiteTasaProperties propiedades, JwtUtil jwtUtil,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.reglas = propiedades.getRutas().stream()
+                .map(regla -> new ReglaActiva(
+                        regla.getPatron(),
+                        regla.getMetodos().stream()
+                                .map(metodo -> metodo.toUpperCase(Locale.ROOT))
+                                .collect(Collectors.toUnmodifiableSet()),
+                        regla.getClave(),
+                        new CubetasTokens(regla.getCapacidad(), regla.getPeriodo().toNanos()),
+                        meterRegistry == null ? null : Counter.builder("foro.limite.tasa.rechazos")
+                                .description("Peticiones rechazadas con 429 por límite de tasa")
+                                .tag("ruta", regla.getPatron())
+                                .register(meterRegistry)))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ReglaActiva regla = reglaPara(request);
+        if (regla == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long esperaNanos = regla.cubetas().consumir(clave(regla, request), System.nanoTime());
+        if (esperaNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long segundos = segundosDeEspera(esperaNanos);
+        logger.debug("Límite de tasa excedido en {} {} ({}), reintentar en {} s",
+                request.getMethod(), request.getRequestURI(), regla.patron(), segundos);
+        if (regla.rechazos() != null) {
+            regla.rechazos().increment();
+        }
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Demasiadas peticiones",
+                "Se superó el límite de peticiones. Intenta nuevamente en " + segundos + " segundos",
+                request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Elimina periódicamente las cubetas de clientes que dejaron de enviar peticiones
+     */
+    @Scheduled(fixedDelayString = "${foro.limite-tasa.barrido:PT1M}")
+    public void purgarInactivas() {
+        long ahora = System.nanoTime();
+        int eliminadas = 0;
+        for (ReglaActiva regla : reglas) {
+            eliminadas += regla.cubetas().purgar(ahora);
+        }
+        if (eliminadas > 0) {
+            logger.debug("Cubetas de límite de tasa inactivas eliminadas: {}", eliminadas);
+        }
+    }
+
+    /**
+     * Espera en segundos enteros para {@code Retry-After}, redondeada hacia
+     * arriba para que el cliente no vuelva antes de tener un token
+     */
+    static long segundosDeEspera(long esperaNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+    }
+
+    private ReglaActiva reglaPara(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        for (ReglaActiva regla : reglas) {
+            if ((regla.metodos().isEmpty() || regla.metodos().contains(request.getMethod()))
+                    && rutas.match(regla.patron(), ruta)) {
+                return regla;
+            }
+        }
+        return null;
+    }
+
+    private String clave(ReglaActiva regla, HttpServletRequest request) {
+        if (regla.clave() == LimiteTasaProperties.Clave.USUARIO) {
+            String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authHeader != null && authHeader.startsWith(PREFIJO_BEARER)) {
+                String sujeto = jwtUtil.sujetoVerificado(authHeader.substring(PREFIJO_BEARER.length())).orElse(null);
+                if (sujeto != null) {
+                    return "u:" + sujeto;
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,72 @@
+package com.alura_foro_api.foro_backend.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Límites de peticiones por ruta aplicados por {@link LimiteTasaFilter}.
+ * Se leen de las propiedades {@code foro.limite-tasa.*}; las reglas se evalúan
+ * en orden y se aplica la primera cuya ruta y método coinciden.
+ */
+@ConfigurationProperties(prefix = "foro.limite-tasa")
+public class LimiteTasaProperties {
+
+    /** Qué identifica al cliente en una regla */
+    public enum Clave {
+        /** Dirección IP del cliente */
+        IP,
+        /** Subject del JWT; la IP mientras el token no haya sido verificado */
+        USUARIO
+    }
+
+    private boolean habilitado = true;
+
+    /** Cada cuánto se eliminan las cubetas inactivas */
+    private Duration barrido = Duration.ofMinutes(1);
+
+    private List<Regla> rutas = new ArrayList<>();
+
+    public boolean isHabilitado() { return habilitado; }
+    public void setHabilitado(boolean habilitado) { this.habilitado = habilitado; }
+
+    public Duration getBarrido() { return barrido; }
+    public void setBarrido(Duration barrido) { this.barrido = barrido; }
+
+    public List<Regla> getRutas() { return rutas; }
+    public void setRutas(List<Regla> rutas) { this.rutas = rutas; }
+
+    public static class Regla {
+
+        /** Patrón Ant de la ruta, por ejemplo {@code /api/**} */
+        private String patron;
+
+        /** Métodos HTTP a los que aplica; vacío significa todos */
+        private List<String> metodos = new ArrayList<>();
+
+        private Clave clave = Clave.USUARIO;
+
+        /** Peticiones que se admiten de golpe con la cubeta llena */
+        private int capacidad = 60;
+
+        /** Tiempo en que una cubeta vacía vuelve a llenarse */
+        private Duration periodo = Duration.ofMinutes(1);
+
+        public String getPatron() { return patron; }
+        public void setPatron(String patron) { this.patron = patron; }
+
+        public List<String> getMetodos() { return metodos; }
+        public void setMetodos(List<String> metodos) { this.metodos = metodos; }
+
+        public Clave getClave() { return clave; }
+        public void setClave(Clave clave) { this.clave = clave; }
+
+        public int getCapacidad() { return capacidad; }
+        public void setCapacidad(int capacidad) { this.capacidad = capacidad; }
+
+        public Duration getPeriodo() { return periodo; }
+        public void setPeriodo(Duration periodo) { this.periodo = periodo; }
+    }
+}
@@ -1,5 +1,13 @@
 package com.alura_foro_api.foro_backend.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,11 +19,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(LimiteTasaProperties.class)
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${seguridad.bcrypt.costo:10}") int costo) {
+        // Los hashes guardan su propio costo, así que cambiarlo no invalida contraseñas existentes
+        return new BCryptPasswordEncoder(costo);
     }
 
     @Bean
@@ -24,10 +34,33 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+    @ConditionalOnProperty(name = "foro.limite-tasa.habilitado", havingValue = "true", matchIfMissing = true)
+    public LimiteTasaFilter limiteTasaFilter(LimiteTasaProperties propiedades, JwtUtil jwtUtil,
+                                             ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new LimiteTasaFilter(propiedades, jwtUtil, objectMapper, meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * El filtro corre dentro de la cadena de seguridad; sin este registro
+     * deshabilitado Spring Boot también lo agregaría al contenedor de servlets
+     */
+    @Bean
+    @ConditionalOnProperty(name = "foro.limite-tasa.habilitado", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<LimiteTasaFilter> registroLimiteTasaFilter(LimiteTasaFilter limiteTasaFilter) {
+        FilterRegistrationBean<LimiteTasaFilter> registro = new FilterRegistrationBean<>(limiteTasaFilter);
+        registro.setEnabled(false);
+        return registro;
+    }
+
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter,
+                                           ObjectProvider<LimiteTasaFilter> limiteTasaFilter) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .httpBasic(httpBasic -> httpBasic.disable())
             .authorizeHttpRequests(auth -> auth
+                // Los despachos asíncronos (respuestas en streaming) ya fueron autorizados en el request original
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Endpoints públicos de autenticación
                 .requestMatchers("/auth/**").permitAll()
                 
@@ -44,11 +77,20 @@ public class SecurityConfig {
                     "/error"
                 ).permitAll()
                 
+                // Endpoints de monitoreo (salud, métricas y scraping de Prometheus)
+                .requestMatchers("/actuator/health/**", "/actuator/metrics/**", "/actuator/prometheus").permitAll()
+                
                 // Todos los demás endpoints requieren autenticación
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         
+        // El límite de tasa corre antes que la verificación del JWT, para rechazar sin gastar HMAC ni BCrypt
+        LimiteTasaFilter limite = limiteTasaFilter.getIfAvailable();
+        if (limite != null) {
+            http.addFilterBefore(limite, JwtAuthenticationFilter.class);
+        }
+        
         return http.build();
     }
 }
\ No newline at end of file
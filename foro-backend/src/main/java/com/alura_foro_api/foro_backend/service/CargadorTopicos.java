@@ -0,0 +1,54 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.config.EnrutadorDataSource;
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResumenTopicoDTO;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Lecturas de tópicos directas contra la base de datos.
+ * Es la fuente que usa {@link TopicoService} en un fallo de cache y la que
+ * usan los caches para refrescar entradas antes de que expiren.
+ *
+ * <p>Las transacciones son de solo lectura (sin flush ni dirty checking) y
+ * los listados usan proyecciones que construyen los DTOs desde el SELECT.</p>
+ *
+ * <p>Se lee siempre del primario aunque haya réplicas: lo cargado queda en
+ * cache hasta el próximo refresco, y una réplica atrasada fijaría ahí datos
+ * anteriores a la última escritura ya invalidada.</p>
+ */
+@Component
+@Transactional(readOnly = true)
+public class CargadorTopicos {
+
+    private final TopicoRepository topicoRepository;
+
+    public CargadorTopicos(TopicoRepository topicoRepository) {
+        this.topicoRepository = topicoRepository;
+    }
+
+    public Optional<DetalleTopicoDTO> cargarDetalle(Long id) {
+        return EnrutadorDataSource.enPrimario(() -> topicoRepository.findById(id).map(DetalleTopicoDTO::new));
+    }
+
+    public Page<DetalleTopicoDTO> cargarPagina(ConsultaTopicos consulta) {
+        return EnrutadorDataSource.enPrimario(() -> topicoRepository.listarDetalles(consulta.toPageable()));
+    }
+
+    public Page<DetalleTopicoDTO> cargarPaginaPorCurso(ConsultaTopicos consulta) {
+        return EnrutadorDataSource.enPrimario(() -> topicoRepository.listarDetallesPorCurso(consulta.filtro(), consulta.toPageable()));
+    }
+
+    public Page<DetalleTopicoDTO> cargarPaginaPorAutor(ConsultaTopicos consulta) {
+        return EnrutadorDataSource.enPrimario(() -> topicoRepository.listarDetallesPorAutor(consulta.filtro(), consulta.toPageable()));
+    }
+
+    public Page<ResumenTopicoDTO> cargarPaginaResumen(ConsultaTopicos consulta) {
+        return EnrutadorDataSource.enPrimario(() -> topicoRepository.listarResumenes(consulta.toPageable()));
+    }
+}
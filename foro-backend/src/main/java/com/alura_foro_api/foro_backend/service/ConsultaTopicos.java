@@ -0,0 +1,38 @@
+package com.alura_foro_api.foro_backend.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Clave de cache para las consultas paginadas de tópicos.
+ * Contiene todo lo necesario para volver a ejecutar la consulta,
+ * lo que permite refrescar la entrada sin pasar por el controlador.
+ *
+ * @param filtro curso o autor de la consulta (nulo para el listado general)
+ * @param pagina número de página
+ * @param tamano tamaño de página
+ * @param orden ordenamiento solicitado
+ */
+public record ConsultaTopicos(String filtro, int pagina, int tamano, Sort orden) {
+
+    private static final Set<String> PROPIEDADES_INMUTABLES = Set.of("id", "fechaCreacion");
+
+    public static ConsultaTopicos de(String filtro, Pageable pageable) {
+        return new ConsultaTopicos(filtro, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+    }
+
+    public Pageable toPageable() {
+        return PageRequest.of(pagina, tamano, orden);
+    }
+
+    /**
+     * Indica si el orden de la página depende solo de campos que no cambian al
+     * actualizar un tópico; en ese caso una edición no desplaza elementos entre páginas.
+     */
+    public boolean ordenEstable() {
+        return orden.stream().allMatch(o -> PROPIEDADES_INMUTABLES.contains(o.getProperty()));
+    }
+}
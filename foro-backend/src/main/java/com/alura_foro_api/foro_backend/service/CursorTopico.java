@@ -0,0 +1,52 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.exception.DatosInvalidosException;
+import com.alura_foro_api.foro_backend.model.Topico;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición dentro del listado de tópicos ordenado por (fechaCreacion, id) descendente.
+ * Se entrega al cliente como una cadena opaca en Base64 URL-safe.
+ *
+ * @param fechaCreacion fecha de creación del último tópico entregado
+ * @param id ID del último tópico entregado
+ */
+public record CursorTopico(LocalDateTime fechaCreacion, Long id) {
+
+    private static final char SEPARADOR = '|';
+
+    public static CursorTopico de(Topico topico) {
+        return new CursorTopico(topico.getFechaCreacion(), topico.getId());
+    }
+
+    public String codificar() {
+        String valor = fechaCreacion.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente
+     *
+     * @param cursor cadena opaca generada por {@link #codificar()}
+     * @throws DatosInvalidosException si el cursor no tiene el formato esperado
+     */
+    public static CursorTopico decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new DatosInvalidosException("Cursor de paginación inválido");
+            }
+            return new CursorTopico(
+                LocalDateTime.parse(valor.substring(0, separador)),
+                Long.valueOf(valor.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DatosInvalidosException("Cursor de paginación inválido");
+        }
+    }
+}
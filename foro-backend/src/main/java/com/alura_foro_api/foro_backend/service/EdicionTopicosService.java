@@ -0,0 +1,242 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.config.CacheConfig;
+import com.alura_foro_api.foro_backend.config.EnrutadorDataSource;
+import com.alura_foro_api.foro_backend.dto.ActualizacionTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.RegistroTopicoDTO;
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.exception.ConflictoVersionException;
+import com.alura_foro_api.foro_backend.exception.DatosInvalidosException;
+import com.alura_foro_api.foro_backend.exception.RecursoNoEncontradoException;
+import com.alura_foro_api.foro_backend.exception.TopicoYaExisteException;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Edición parcial y eliminación de tópicos con una sola sentencia cada una.
+ *
+ * <p>Cada edición es una sola sentencia
+ * {@code UPDATE topico SET ... WHERE id = ? AND version = ?} que solo toca las
+ * columnas enviadas e incrementa la versión, sin leer antes la entidad. Si no
+ * se actualiza ninguna fila se distingue entre tópico inexistente (404) y
+ * versión desactualizada (409) con una consulta de existencia.</p>
+ *
+ * <p>El reemplazo completo (PUT) lee y guarda la entidad en una misma
+ * transacción de escritura, de modo que el {@code UPDATE} compara la versión
+ * leída y una edición concurrente termina en conflicto en lugar de perderse.</p>
+ *
+ * <p>La eliminación es un {@code DELETE ... WHERE id = ?} que informa las filas
+ * afectadas, en lugar de leer la entidad para luego borrarla.</p>
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+@Service
+public class EdicionTopicosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EdicionTopicosService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TopicoRepository topicoRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public EdicionTopicosService(TopicoRepository topicoRepository,
+                                 CacheManager cacheManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager) {
+        this.topicoRepository = topicoRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Resultado de una edición aplicada
+     *
+     * @param id ID del tópico
+     * @param version nueva versión del tópico
+     * @param fechaActualizacion fecha registrada para la edición
+     */
+    public record Edicion(Long id, Long version, LocalDateTime fechaActualizacion) {}
+
+    /**
+     * Aplica los campos no nulos de {@code datos} sobre el tópico si su versión
+     * sigue siendo {@code datos.getVersion()}
+     *
+     * @throws DatosInvalidosException si no se envió ningún campo a modificar
+     * @throws RecursoNoEncontradoException si el tópico no existe
+     * @throws ConflictoVersionException si otra petición modificó el tópico antes
+     */
+    public Edicion editar(Long id, ActualizacionTopicoDTO datos) {
+        if (!datos.tieneCambios()) {
+            throw new DatosInvalidosException("Debe indicar al menos un campo a modificar");
+        }
+
+        Map<String, Object> cambios = new LinkedHashMap<>();
+        if (datos.getTitulo() != null) {
+            cambios.put("titulo", datos.getTitulo());
+            cambios.put("hashTitulo", Topico.huella(datos.getTitulo()));
+        }
+        if (datos.getMensaje() != null) {
+            cambios.put("mensaje", datos.getMensaje());
+            cambios.put("hashMensaje", Topico.huella(datos.getMensaje()));
+        }
+        if (datos.getAutor() != null) {
+            cambios.put("autor", datos.getAutor());
+            cambios.put("autorNormalizado", Topico.normalizar(datos.getAutor()));
+        }
+        if (datos.getCurso() != null) {
+            cambios.put("curso", datos.getCurso());
+            cambios.put("cursoNormalizado", Topico.normalizar(datos.getCurso()));
+        }
+        if (datos.getEstado() != null) cambios.put("estado", datos.getEstado());
+
+        // Misma precisión que guarda la columna, para que el ETag calculado
+        // aquí coincida con el de las lecturas posteriores
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Long version = datos.getVersion();
+
+        Integer filas;
+        try {
+            filas = transactionTemplate.execute(estado -> actualizar(id, version, ahora, cambios));
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            // El UPDATE va directo al EntityManager, sin la traducción de excepciones
+            // de los repositorios, así que puede llegar cualquiera de las dos
+            throw new TopicoYaExisteException("Ya existe otro tópico con el mismo título y mensaje");
+        }
+        if (filas == null || filas == 0) {
+            if (!EnrutadorDataSource.enPrimario(() -> topicoRepository.existsById(id))) {
+                throw new RecursoNoEncontradoException("Tópico no encontrado con ID: " + id);
+            }
+            throw ConflictoVersionException.paraTopico(id, version);
+        }
+
+        Edicion edicion = new Edicion(id, version + 1, ahora);
+        publicarEvento(edicion, datos);
+        logger.debug("Tópico {} editado a la versión {} ({})", id, edicion.version(), cambios.keySet());
+        return edicion;
+    }
+
+    /**
+     * Reemplaza título, mensaje, autor y curso del tópico. La lectura y el
+     * guardado van en la misma transacción de escritura: una entidad leída en
+     * una transacción de solo lectura queda de solo lectura en la sesión abierta
+     * durante la petición y sus cambios nunca se escribirían.
+     *
+     * @return el detalle actualizado, o vacío si el tópico no existe
+     * @throws ObjectOptimisticLockingFailureException si otra petición modificó el tópico
+     *         entre la lectura y el guardado
+     * @throws DataIntegrityViolationException si el nuevo contenido coincide con el de otro tópico
+     */
+    public Optional<DetalleTopicoDTO> reemplazar(Long id, RegistroTopicoDTO datos) {
+        TopicoEvento evento = transactionTemplate.execute(estado -> {
+            Optional<Topico> leido = topicoRepository.findById(id);
+            if (leido.isEmpty()) {
+                return null;
+            }
+            Topico topico = leido.get();
+            DetalleTopicoDTO anterior = new DetalleTopicoDTO(topico);
+            topico.setTitulo(datos.getTitulo());
+            topico.setMensaje(datos.getMensaje());
+            topico.setAutor(datos.getAutor());
+            topico.setCurso(datos.getCurso());
+            topico.setFechaActualizacion(LocalDateTime.now());
+            return TopicoEvento.actualizado(anterior, topicoRepository.saveAndFlush(topico));
+        });
+        if (evento == null) {
+            return Optional.empty();
+        }
+        eventPublisher.publishEvent(evento);
+        return Optional.of(evento.getActual());
+    }
+
+    /**
+     * Elimina un tópico por ID
+     *
+     * @return true si el tópico existía y fue eliminado
+     */
+    public boolean eliminar(Long id) {
+        Integer filas = transactionTemplate.execute(estado -> topicoRepository.eliminarPorId(id));
+        if (filas == null || filas == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(TopicoEvento.eliminado(id, detalleEnCache(id)));
+        return true;
+    }
+
+    private int actualizar(Long id, Long version, LocalDateTime ahora, Map<String, Object> cambios) {
+        StringBuilder jpql = new StringBuilder(
+                "UPDATE Topico t SET t.version = t.version + 1, t.fechaActualizacion = :ahora");
+        cambios.keySet().forEach(campo -> jpql.append(", t.").append(campo).append(" = :").append(campo));
+        jpql.append(" WHERE t.id = :id AND t.version = :version");
+
+        Query query = entityManager.createQuery(jpql.toString())
+                .setParameter("ahora", ahora)
+                .setParameter("id", id)
+                .setParameter("version", version);
+        cambios.forEach(query::setParameter);
+        return query.executeUpdate();
+    }
+
+    /**
+     * Si el tópico estaba en cache en la versión editada, el estado anterior y
+     * el resultante se conocen sin consultar la base; si no, se publica el
+     * evento solo con el ID para que cada receptor decida cómo resincronizarse.
+     */
+    private void publicarEvento(Edicion edicion, ActualizacionTopicoDTO datos) {
+        DetalleTopicoDTO anterior = detalleEnCache(edicion.id());
+        if (anterior == null || !datos.getVersion().equals(anterior.getVersion())) {
+            eventPublisher.publishEvent(TopicoEvento.actualizado(edicion.id(), null, null));
+            return;
+        }
+
+        DetalleTopicoDTO actual = new DetalleTopicoDTO(anterior);
+        if (datos.getTitulo() != null) actual.setTitulo(datos.getTitulo());
+        if (datos.getMensaje() != null) actual.setMensaje(datos.getMensaje());
+        if (datos.getAutor() != null) actual.setAutor(datos.getAutor());
+        if (datos.getCurso() != null) actual.setCurso(datos.getCurso());
+        if (datos.getEstado() != null) actual.setEstado(datos.getEstado());
+        actual.setFechaActualizacion(edicion.fechaActualizacion());
+        actual.setVersion(edicion.version());
+        eventPublisher.publishEvent(TopicoEvento.actualizado(edicion.id(), anterior, actual));
+    }
+
+    /**
+     * Detalle del tópico si está en cache, sin disparar una carga
+     */
+    @SuppressWarnings("unchecked")
+    private DetalleTopicoDTO detalleEnCache(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.TOPICO);
+        if (cache == null) {
+            return null;
+        }
+        Object enCache = ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache())
+                .getIfPresent(id);
+        return enCache instanceof DetalleTopicoDTO detalle ? detalle : null;
+    }
+}
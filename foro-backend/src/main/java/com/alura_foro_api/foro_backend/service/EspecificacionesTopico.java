@@ -0,0 +1,85 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.model.Topico;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Construye la consulta de {@link FiltroTopicos} con solo las condiciones de
+ * los criterios presentes, en lugar de una consulta fija con
+ * {@code :param IS NULL OR ...} que obliga a un único plan genérico.
+ *
+ * <p>Curso y autor se comparan con igualdad o {@code LIKE 'prefijo%'} contra
+ * las columnas normalizadas, sin funciones sobre la columna, de modo que la
+ * base de datos puede usar los índices {@code (curso_normalizado, fecha_creacion)}
+ * y {@code (autor_normalizado, fecha_creacion)}. El título sigue siendo una
+ * búsqueda por contenido y no usa índice.</p>
+ */
+public final class EspecificacionesTopico {
+
+    /** Sufijo que convierte un filtro de curso o autor en búsqueda por prefijo */
+    public static final String COMODIN_PREFIJO = "*";
+
+    private static final char ESCAPE = '\\';
+
+    private EspecificacionesTopico() {}
+
+    public static Specification<Topico> de(FiltroTopicos filtro) {
+        Specification<Topico> especificacion = Specification.where(null);
+        if (presente(filtro.titulo())) {
+            especificacion = especificacion.and(tituloContiene(filtro.titulo()));
+        }
+        if (presente(filtro.curso())) {
+            especificacion = especificacion.and(coincide("cursoNormalizado", filtro.curso()));
+        }
+        if (presente(filtro.autor())) {
+            especificacion = especificacion.and(coincide("autorNormalizado", filtro.autor()));
+        }
+        if (filtro.fechaInicio() != null) {
+            especificacion = especificacion.and(creadoDesde(filtro.fechaInicio()));
+        }
+        if (filtro.fechaFin() != null) {
+            especificacion = especificacion.and(creadoHasta(filtro.fechaFin()));
+        }
+        return especificacion;
+    }
+
+    private static Specification<Topico> tituloContiene(String texto) {
+        String patron = "%" + escapar(texto.toLowerCase(Locale.ROOT)) + "%";
+        return (topico, consulta, cb) -> cb.like(cb.lower(topico.get("titulo")), patron, ESCAPE);
+    }
+
+    private static Specification<Topico> coincide(String atributo, String valor) {
+        String normalizado = Topico.normalizar(valor);
+        if (!normalizado.endsWith(COMODIN_PREFIJO)) {
+            return (topico, consulta, cb) -> cb.equal(topico.get(atributo), normalizado);
+        }
+        String prefijo = normalizado.substring(0, normalizado.length() - COMODIN_PREFIJO.length());
+        if (prefijo.isEmpty()) {
+            return null;
+        }
+        String patron = escapar(prefijo) + "%";
+        return (topico, consulta, cb) -> cb.like(topico.get(atributo), patron, ESCAPE);
+    }
+
+    private static Specification<Topico> creadoDesde(LocalDateTime fecha) {
+        return (topico, consulta, cb) -> cb.greaterThanOrEqualTo(topico.get("fechaCreacion"), fecha);
+    }
+
+    private static Specification<Topico> creadoHasta(LocalDateTime fecha) {
+        return (topico, consulta, cb) -> cb.lessThanOrEqualTo(topico.get("fechaCreacion"), fecha);
+    }
+
+    private static boolean presente(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+
+    /**
+     * Escapa los comodines de LIKE que pueda traer el texto del usuario
+     */
+    private static String escapar(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,183 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de tópicos en streaming.
+ *
+ * <p>Las filas se leen con un cursor JDBC de solo avance y se escriben
+ * directamente en la respuesta. Cada entidad se desvincula del contexto de
+ * persistencia apenas se escribe, por lo que la memoria usada no depende
+ * del tamaño de la tabla.</p>
+ *
+ * <p>En MySQL el driver ignora el fetch size salvo con {@code useCursorFetch},
+ * que afectaría a todas las consultas del pool. En su lugar la exportación
+ * pide las filas de a una ({@code Integer.MIN_VALUE}), lo que solo cambia esta
+ * consulta: mientras dura, su conexión no admite otras sentencias, y la
+ * exportación no ejecuta ninguna más.</p>
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+@Service
+public class ExportacionTopicosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacionTopicosService.class);
+    private static final int FILAS_POR_VACIADO = 1000;
+    private static final int TAMANO_FETCH = 500;
+    private static final String ENCABEZADO_CSV = "id,titulo,mensaje,autor,curso,fechaCreacion,estado";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter escritorJson;
+    private final int tamanoFetch;
+
+    public ExportacionTopicosService(PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     @Value("${spring.datasource.url:}") String urlBaseDatos) {
+        this.tamanoFetch = tamanoFetch(urlBaseDatos);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.escritorJson = objectMapper.writerFor(DetalleTopicoDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    /**
+     * Escribe en {@code salida} todos los tópicos que coinciden con el filtro
+     *
+     * @param filtro criterios de filtrado
+     * @param formato formato de salida
+     * @param salida stream de la respuesta HTTP; no se cierra
+     * @return cantidad de tópicos exportados
+     */
+    public long exportar(FiltroTopicos filtro, FormatoExportacion formato, OutputStream salida) {
+        long inicio = System.currentTimeMillis();
+        Long exportados = transactionTemplate.execute(estado -> {
+            try (Stream<Topico> topicos = consulta(filtro).getResultStream()) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), 16 * 1024);
+                long filas = escribir(topicos.iterator(), formato, writer);
+                writer.flush();
+                return filas;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        logger.info("Exportados {} tópicos en formato {} en {} ms",
+                exportados, formato, System.currentTimeMillis() - inicio);
+        return exportados;
+    }
+
+    /**
+     * Fetch size de la exportación según la base de datos: en MySQL,
+     * {@code Integer.MIN_VALUE} hace que el driver entregue las filas a medida
+     * que llegan en lugar de cargar el resultado completo
+     */
+    static int tamanoFetch(String urlBaseDatos) {
+        return DatabaseDriver.fromJdbcUrl(urlBaseDatos) == DatabaseDriver.MYSQL ? Integer.MIN_VALUE : TAMANO_FETCH;
+    }
+
+    /**
+     * Consulta de exportación con solo las condiciones del filtro, ordenada por ID
+     */
+    private TypedQuery<Topico> consulta(FiltroTopicos filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Topico> consulta = cb.createQuery(Topico.class);
+        Root<Topico> topico = consulta.from(Topico.class);
+        Predicate condicion = EspecificacionesTopico.de(filtro).toPredicate(topico, consulta, cb);
+        if (condicion != null) {
+            consulta.where(condicion);
+        }
+        consulta.orderBy(cb.asc(topico.get("id")));
+        return entityManager.createQuery(consulta)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, tamanoFetch)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false);
+    }
+
+    private long escribir(Iterator<Topico> topicos, FormatoExportacion formato, Writer writer) throws IOException {
+        if (formato == FormatoExportacion.CSV) {
+            writer.write(ENCABEZADO_CSV);
+            writer.write('\n');
+        }
+        long filas = 0;
+        while (topicos.hasNext()) {
+            Topico topico = topicos.next();
+            DetalleTopicoDTO detalle = new DetalleTopicoDTO(topico);
+            entityManager.detach(topico);
+
+            if (formato == FormatoExportacion.CSV) {
+                escribirCsv(detalle, writer);
+            } else {
+                escritorJson.writeValue(writer, detalle);
+            }
+            writer.write('\n');
+
+            if (++filas % FILAS_POR_VACIADO == 0) {
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        return filas;
+    }
+
+    private void escribirCsv(DetalleTopicoDTO detalle, Writer writer) throws IOException {
+        writer.write(String.valueOf(detalle.getId()));
+        writer.write(',');
+        writer.write(campoCsv(detalle.getTitulo()));
+        writer.write(',');
+        writer.write(campoCsv(detalle.getMensaje()));
+        writer.write(',');
+        writer.write(campoCsv(detalle.getAutor()));
+        writer.write(',');
+        writer.write(campoCsv(detalle.getCurso()));
+        writer.write(',');
+        writer.write(detalle.getFechaCreacion() == null ? "" : detalle.getFechaCreacion().toString());
+        writer.write(',');
+        writer.write(campoCsv(detalle.getEstado()));
+    }
+
+    /**
+     * Escapa un campo según RFC 4180: entre comillas si contiene separadores,
+     * comillas o saltos de línea, duplicando las comillas internas
+     */
+    static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        boolean requiereComillas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        return requiereComillas ? '"' + valor.replace("\"", "\"\"") + '"' : valor;
+    }
+}
@@ -0,0 +1,18 @@
+package com.alura_foro_api.foro_backend.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criterios opcionales de filtrado de tópicos; un valor nulo o vacío significa "sin filtro".
+ * Curso y autor se comparan sin distinguir mayúsculas, completos o por prefijo
+ * si terminan en {@value EspecificacionesTopico#COMODIN_PREFIJO}.
+ *
+ * @param titulo texto contenido en el título
+ * @param curso curso exacto, o prefijo terminado en {@code *}
+ * @param autor autor exacto, o prefijo terminado en {@code *}
+ * @param fechaInicio fecha mínima de creación
+ * @param fechaFin fecha máxima de creación
+ */
+public record FiltroTopicos(String titulo, String curso, String autor,
+                            LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+}
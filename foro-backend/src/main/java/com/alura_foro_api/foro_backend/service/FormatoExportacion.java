@@ -0,0 +1,34 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.exception.DatosInvalidosException;
+
+import java.util.Locale;
+
+/**
+ * Formatos soportados por la exportación de tópicos
+ */
+public enum FormatoExportacion {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    FormatoExportacion(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() { return mediaType; }
+
+    public String getExtension() { return extension; }
+
+    public static FormatoExportacion de(String valor) {
+        try {
+            return valueOf(valor.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new DatosInvalidosException("Formato de exportación no soportado: " + valor);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.config.CacheConfig;
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResumenTopicoDTO;
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * Invalida de forma precisa las entradas de cache afectadas por cada escritura.
+ *
+ * <ul>
+ *   <li>Creación y eliminación cambian el total de elementos: se descarta el listado
+ *       general y solo las páginas del curso y autor del tópico.</li>
+ *   <li>Una actualización solo descarta las páginas que contienen el tópico, salvo que
+ *       cambie su curso o autor o que la página esté ordenada por un campo editable.</li>
+ *   <li>Una edición parcial o una baja de un tópico que no estaba en cache no trae su
+ *       curso ni autor: además se descartan todos los listados filtrados.</li>
+ * </ul>
+ */
+@Component
+public class InvalidacionCacheTopicos {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidacionCacheTopicos.class);
+
+    private final CacheManager cacheManager;
+
+    public InvalidacionCacheTopicos(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @EventListener
+    public void alCambiarTopico(TopicoEvento evento) {
+        cache(CacheConfig.TOPICO).evict(evento.getId());
+
+        switch (evento.getTipo()) {
+            case CREADO -> invalidarAltaOBaja(evento.getActual());
+            case ELIMINADO -> invalidarAltaOBaja(evento.getAnterior());
+            case ACTUALIZADO -> invalidarActualizacion(evento);
+        }
+        logger.debug("Cache invalidada para tópico {} ({})", evento.getId(), evento.getTipo());
+    }
+
+    private void invalidarAltaOBaja(DetalleTopicoDTO topico) {
+        cache(CacheConfig.TOPICOS).clear();
+        cache(CacheConfig.TOPICOS_RESUMEN).clear();
+        if (topico == null) {
+            // Baja de un tópico que no estaba en cache: se desconocen su curso y autor
+            cache(CacheConfig.TOPICOS_POR_CURSO).clear();
+            cache(CacheConfig.TOPICOS_POR_AUTOR).clear();
+            return;
+        }
+        eliminarSi(CacheConfig.TOPICOS_POR_CURSO, (consulta, pagina) -> topico.getCurso().equals(consulta.filtro()));
+        eliminarSi(CacheConfig.TOPICOS_POR_AUTOR, (consulta, pagina) -> topico.getAutor().equals(consulta.filtro()));
+    }
+
+    private void invalidarActualizacion(TopicoEvento evento) {
+        Long id = evento.getId();
+        DetalleTopicoDTO anterior = evento.getAnterior();
+        DetalleTopicoDTO actual = evento.getActual();
+
+        eliminarSi(CacheConfig.TOPICOS, (consulta, pagina) -> afectada(consulta, pagina, id));
+        eliminarSi(CacheConfig.TOPICOS_RESUMEN, (consulta, pagina) -> afectada(consulta, pagina, id));
+
+        if (anterior == null || actual == null) {
+            cache(CacheConfig.TOPICOS_POR_CURSO).clear();
+            cache(CacheConfig.TOPICOS_POR_AUTOR).clear();
+            return;
+        }
+
+        if (Objects.equals(anterior.getCurso(), actual.getCurso())) {
+            eliminarSi(CacheConfig.TOPICOS_POR_CURSO, (consulta, pagina) ->
+                    actual.getCurso().equals(consulta.filtro()) && afectada(consulta, pagina, id));
+        } else {
+            eliminarSi(CacheConfig.TOPICOS_POR_CURSO, (consulta, pagina) ->
+                    anterior.getCurso().equals(consulta.filtro()) || actual.getCurso().equals(consulta.filtro()));
+        }
+
+        if (Objects.equals(anterior.getAutor(), actual.getAutor())) {
+            eliminarSi(CacheConfig.TOPICOS_POR_AUTOR, (consulta, pagina) ->
+                    actual.getAutor().equals(consulta.filtro()) && afectada(consulta, pagina, id));
+        } else {
+            eliminarSi(CacheConfig.TOPICOS_POR_AUTOR, (consulta, pagina) ->
+                    anterior.getAutor().equals(consulta.filtro()) || actual.getAutor().equals(consulta.filtro()));
+        }
+    }
+
+    private boolean afectada(ConsultaTopicos consulta, Page<?> pagina, Long id) {
+        if (!consulta.ordenEstable()) {
+            return true;
+        }
+        return pagina.getContent().stream()
+                .anyMatch(elemento -> elemento instanceof DetalleTopicoDTO detalle && id.equals(detalle.getId())
+                        || elemento instanceof ResumenTopicoDTO resumen && id.equals(resumen.getId()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void eliminarSi(String nombreCache, BiPredicate<ConsultaTopicos, Page<?>> condicion) {
+        Object nativo = cache(nombreCache).getNativeCache();
+        Map<Object, Object> entradas = ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativo).asMap();
+        entradas.entrySet().removeIf(entrada ->
+                entrada.getKey() instanceof ConsultaTopicos consulta
+                        && entrada.getValue() instanceof Page<?> pagina
+                        && condicion.test(consulta, pagina));
+    }
+
+    private Cache cache(String nombre) {
+        return Objects.requireNonNull(cacheManager.getCache(nombre), "Cache no configurada: " + nombre);
+    }
+}
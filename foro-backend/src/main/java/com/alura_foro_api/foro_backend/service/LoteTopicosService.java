@@ -0,0 +1,212 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.config.EnrutadorDataSource;
+import com.alura_foro_api.foro_backend.dto.RegistroTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResultadoItemLoteDTO;
+import com.alura_foro_api.foro_backend.dto.ResultadoLoteDTO;
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.exception.DatosInvalidosException;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Alta masiva de tópicos para importaciones desde otros foros.
+ *
+ * <p>El lote se valida completo en memoria, los duplicados se detectan con una
+ * sola consulta sobre las huellas de título y mensaje, y los INSERT se envían en lotes JDBC (ver
+ * {@code hibernate.jdbc.batch_size}), vaciando el contexto de persistencia
+ * después de cada lote para mantener la memoria acotada.</p>
+ *
+ * <p>Si la base de datos rechaza el lote (otro alta concurrente del mismo
+ * contenido entre la consulta de duplicados y el INSERT), se reintenta fila por
+ * fila: las que chocan con un tópico existente quedan como duplicadas y las que
+ * violan otra restricción como inválidas, sin impedir el alta del resto.</p>
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+@Service
+public class LoteTopicosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoteTopicosService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TopicoRepository topicoRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${foro.lote.tamano-maximo:10000}")
+    private int tamanoMaximo;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanoLoteJdbc;
+
+    public LoteTopicosService(TopicoRepository topicoRepository, Validator validator,
+                              TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher) {
+        this.topicoRepository = topicoRepository;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Registra un lote de tópicos informando el resultado de cada elemento.
+     * Los elementos inválidos o duplicados no impiden el alta del resto.
+     *
+     * @param datos tópicos a registrar
+     * @return resultado por elemento, en el mismo orden recibido
+     */
+    public ResultadoLoteDTO registrar(List<RegistroTopicoDTO> datos) {
+        if (datos == null || datos.isEmpty()) {
+            throw new DatosInvalidosException("El lote no contiene tópicos");
+        }
+        if (datos.size() > tamanoMaximo) {
+            throw new DatosInvalidosException("El lote supera el máximo de " + tamanoMaximo + " tópicos");
+        }
+        long inicio = System.currentTimeMillis();
+
+        ResultadoItemLoteDTO[] resultados = new ResultadoItemLoteDTO[datos.size()];
+        Map<Integer, RegistroTopicoDTO> validos = validar(datos, resultados);
+        descartarDuplicados(validos, resultados);
+
+        List<Topico> creados;
+        try {
+            creados = transactionTemplate.execute(estado -> insertar(validos.values()));
+            int i = 0;
+            for (Integer indice : validos.keySet()) {
+                resultados[indice] = ResultadoItemLoteDTO.creado(indice, creados.get(i++).getId());
+            }
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            logger.info("La base de datos rechazó el lote, se reintenta fila por fila: {}", e.getMessage());
+            creados = insertarUnoAUno(validos, resultados);
+        }
+        creados.forEach(topico -> eventPublisher.publishEvent(TopicoEvento.creado(topico)));
+
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO(Arrays.asList(resultados));
+        logger.info("Lote de {} tópicos procesado en {} ms: {} creados, {} duplicados, {} inválidos",
+                resultado.getTotal(), System.currentTimeMillis() - inicio,
+                resultado.getCreados(), resultado.getDuplicados(), resultado.getInvalidos());
+        return resultado;
+    }
+
+    private Map<Integer, RegistroTopicoDTO> validar(List<RegistroTopicoDTO> datos, ResultadoItemLoteDTO[] resultados) {
+        Map<Integer, RegistroTopicoDTO> validos = new LinkedHashMap<>();
+        for (int i = 0; i < datos.size(); i++) {
+            RegistroTopicoDTO dato = datos.get(i);
+            if (dato == null) {
+                resultados[i] = ResultadoItemLoteDTO.invalido(i, List.of("El elemento no puede ser nulo"));
+                continue;
+            }
+            Set<ConstraintViolation<RegistroTopicoDTO>> violaciones = validator.validate(dato);
+            if (violaciones.isEmpty()) {
+                validos.put(i, dato);
+            } else {
+                resultados[i] = ResultadoItemLoteDTO.invalido(i, violaciones.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .toList());
+            }
+        }
+        return validos;
+    }
+
+    /**
+     * Quita de {@code validos} los elementos repetidos dentro del lote y los que
+     * ya existen en la base de datos, consultados todos a la vez por huella de título
+     */
+    private void descartarDuplicados(Map<Integer, RegistroTopicoDTO> validos, ResultadoItemLoteDTO[] resultados) {
+        if (validos.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> huellasTitulo = new HashMap<>();
+        validos.forEach((indice, dato) -> huellasTitulo.put(indice, Topico.huella(dato.getTitulo())));
+
+        Set<String> existentes = new HashSet<>();
+        // Del primario: una réplica atrasada dejaría pasar duplicados recién creados
+        List<Object[]> filas = EnrutadorDataSource.enPrimario(
+                () -> topicoRepository.findHuellasByHashTituloIn(new HashSet<>(huellasTitulo.values())));
+        for (Object[] fila : filas) {
+            existentes.add(clave((String) fila[0], (String) fila[1]));
+        }
+
+        validos.entrySet().removeIf(entrada -> {
+            RegistroTopicoDTO dato = entrada.getValue();
+            String huellaMensaje = Topico.huella(dato.getMensaje());
+            if (!existentes.add(clave(huellasTitulo.get(entrada.getKey()), huellaMensaje))) {
+                resultados[entrada.getKey()] = ResultadoItemLoteDTO.duplicado(entrada.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Inserta cada elemento en su propia transacción. Un rechazo se informa como
+     * duplicado si el primario ya tiene un tópico con las mismas huellas, y si
+     * no como inválido.
+     */
+    private List<Topico> insertarUnoAUno(Map<Integer, RegistroTopicoDTO> validos, ResultadoItemLoteDTO[] resultados) {
+        List<Topico> creados = new ArrayList<>();
+        validos.forEach((indice, dato) -> {
+            try {
+                Topico topico = transactionTemplate.execute(estado -> insertar(List.of(dato)).get(0));
+                resultados[indice] = ResultadoItemLoteDTO.creado(indice, topico.getId());
+                creados.add(topico);
+            } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+                boolean existe = EnrutadorDataSource.enPrimario(() -> topicoRepository.findIdByHuellas(
+                        Topico.huella(dato.getTitulo()), Topico.huella(dato.getMensaje()))).isPresent();
+                resultados[indice] = existe
+                        ? ResultadoItemLoteDTO.duplicado(indice)
+                        : ResultadoItemLoteDTO.invalido(indice, List.of("La base de datos rechazó el tópico"));
+                logger.debug("Elemento {} del lote rechazado por la base de datos: {}", indice, e.getMessage());
+            }
+        });
+        return creados;
+    }
+
+    private List<Topico> insertar(Iterable<RegistroTopicoDTO> datos) {
+        List<Topico> creados = new ArrayList<>();
+        for (RegistroTopicoDTO dato : datos) {
+            Topico topico = new Topico();
+            topico.setTitulo(dato.getTitulo());
+            topico.setMensaje(dato.getMensaje());
+            topico.setAutor(dato.getAutor());
+            topico.setCurso(dato.getCurso());
+            entityManager.persist(topico);
+            creados.add(topico);
+
+            if (creados.size() % tamanoLoteJdbc == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return creados;
+    }
+
+    private static String clave(String hashTitulo, String hashMensaje) {
+        return hashTitulo + hashMensaje;
+    }
+}
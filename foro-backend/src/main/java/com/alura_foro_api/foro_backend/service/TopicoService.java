@@ -0,0 +1,144 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.config.CacheConfig;
+import com.alura_foro_api.foro_backend.config.EnrutadorDataSource;
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.PaginaCursorDTO;
+import com.alura_foro_api.foro_backend.dto.ResumenTopicoDTO;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lecturas de tópicos con cache de lectura (read-through).
+ * Las entradas se invalidan desde {@link InvalidacionCacheTopicos} cuando
+ * se publica un {@link com.alura_foro_api.foro_backend.event.TopicoEvento}.
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+@Service
+public class TopicoService {
+
+    private final CargadorTopicos cargadorTopicos;
+    private final TopicoRepository topicoRepository;
+    private final CacheManager cacheManager;
+
+    public TopicoService(CargadorTopicos cargadorTopicos, TopicoRepository topicoRepository,
+                         CacheManager cacheManager) {
+        this.cargadorTopicos = cargadorTopicos;
+        this.topicoRepository = topicoRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Obtiene el detalle de un tópico. Los IDs inexistentes también se guardan
+     * en cache para no repetir la consulta; la creación invalida esa entrada.
+     */
+    @Cacheable(cacheNames = CacheConfig.TOPICO, key = "#id", sync = true)
+    public Optional<DetalleTopicoDTO> detalle(Long id) {
+        return cargadorTopicos.cargarDetalle(id);
+    }
+
+    /**
+     * Obtiene la fecha de última modificación de un tópico sin cargar su mensaje.
+     * Si el detalle ya está en cache se toma de ahí (sin disparar una carga);
+     * si no, se consulta solo esa columna en el primario: la fecha decide si se
+     * responde 304, y con una réplica atrasada un cliente con la versión
+     * anterior la recibiría como vigente.
+     *
+     * @return fecha de actualización, o vacío si el tópico no existe
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<LocalDateTime> version(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.TOPICO);
+        if (cache != null) {
+            Object enCache = ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache())
+                    .getIfPresent(id);
+            if (enCache instanceof DetalleTopicoDTO detalle) {
+                return Optional.ofNullable(detalle.getFechaActualizacion());
+            }
+        }
+        return EnrutadorDataSource.enPrimario(() -> topicoRepository.findFechaActualizacionById(id));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TOPICOS, sync = true,
+               key = "T(com.alura_foro_api.foro_backend.service.ConsultaTopicos).de(null, #pageable)")
+    public Page<DetalleTopicoDTO> listar(Pageable pageable) {
+        return cargadorTopicos.cargarPagina(ConsultaTopicos.de(null, pageable));
+    }
+
+    /**
+     * Lista tópicos en su forma resumida, con una vista previa del mensaje
+     * en lugar del texto completo
+     */
+    @Cacheable(cacheNames = CacheConfig.TOPICOS_RESUMEN, sync = true,
+               key = "T(com.alura_foro_api.foro_backend.service.ConsultaTopicos).de(null, #pageable)")
+    public Page<ResumenTopicoDTO> listarResumen(Pageable pageable) {
+        return cargadorTopicos.cargarPaginaResumen(ConsultaTopicos.de(null, pageable));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TOPICOS_POR_CURSO, sync = true,
+               key = "T(com.alura_foro_api.foro_backend.service.ConsultaTopicos).de(#curso, #pageable)")
+    public Page<DetalleTopicoDTO> listarPorCurso(String curso, Pageable pageable) {
+        return cargadorTopicos.cargarPaginaPorCurso(ConsultaTopicos.de(curso, pageable));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TOPICOS_POR_AUTOR, sync = true,
+               key = "T(com.alura_foro_api.foro_backend.service.ConsultaTopicos).de(#autor, #pageable)")
+    public Page<DetalleTopicoDTO> listarPorAutor(String autor, Pageable pageable) {
+        return cargadorTopicos.cargarPaginaPorAutor(ConsultaTopicos.de(autor, pageable));
+    }
+
+    /**
+     * Lista los tópicos que coinciden con el filtro. La consulta incluye solo
+     * las condiciones de los criterios presentes (ver {@link EspecificacionesTopico});
+     * no se guarda en cache porque las combinaciones posibles no se repiten lo
+     * suficiente.
+     */
+    public Page<DetalleTopicoDTO> filtrar(FiltroTopicos filtro, Pageable pageable) {
+        return topicoRepository.findAll(EspecificacionesTopico.de(filtro), pageable).map(DetalleTopicoDTO::new);
+    }
+
+    /**
+     * Lista tópicos por cursor sobre (fechaCreacion, id) descendente.
+     * No ejecuta consulta de conteo y el costo de cada página es el mismo
+     * sin importar su profundidad.
+     *
+     * @param cursor cursor opaco de la página anterior; vacío o nulo para la primera página
+     * @param tamano cantidad de elementos por página
+     */
+    public PaginaCursorDTO<DetalleTopicoDTO> listarConCursor(String cursor, int tamano) {
+        Pageable limite = PageRequest.of(0, tamano);
+        Slice<Topico> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = topicoRepository.findPrimerosPorFecha(limite);
+        } else {
+            CursorTopico posicion = CursorTopico.decodificar(cursor);
+            slice = topicoRepository.findSiguientesPorFecha(posicion.fechaCreacion(), posicion.id(), limite);
+        }
+
+        List<Topico> topicos = slice.getContent();
+        String siguienteCursor = slice.hasNext()
+                ? CursorTopico.de(topicos.get(topicos.size() - 1)).codificar()
+                : null;
+
+        return new PaginaCursorDTO<>(
+                topicos.stream().map(DetalleTopicoDTO::new).toList(),
+                tamano,
+                slice.hasNext(),
+                siguienteCursor
+        );
+    }
+}
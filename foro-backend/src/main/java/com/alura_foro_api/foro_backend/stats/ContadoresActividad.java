@@ -0,0 +1,125 @@
+package com.alura_foro_api.foro_backend.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Contadores de tópicos por nombre (curso o autor) con ranking incremental.
+ *
+ * <p>Además del mapa nombre → total se mantiene un conjunto ordenado por total
+ * descendente, de modo que los K más activos se obtienen recorriendo solo K
+ * elementos. Cada cambio de un contador cuesta O(log n).</p>
+ *
+ * <p>Los mismos totales ponderan un {@link TrieSugerencias} para sugerir los
+ * nombres más populares que empiezan con un prefijo.</p>
+ *
+ * <p>Cada {@link #sumar} avanza una versión. Quien recalcula los totales desde
+ * la base lee {@link #version()} antes de consultar y la pasa a
+ * {@link #reemplazar}: si entretanto llegó un cambio, la consulta pudo verlo
+ * o no, y reemplazar lo perdería o lo contaría dos veces, así que el
+ * resultado se descarta.</p>
+ */
+public class ContadoresActividad {
+
+    public record Conteo(String nombre, long total) {}
+
+    private static final Comparator<Conteo> POR_TOTAL_DESCENDENTE = Comparator
+            .comparingLong(Conteo::total).reversed()
+            .thenComparing(Conteo::nombre);
+
+    private final Map<String, Long> totales = new HashMap<>();
+    private final TreeSet<Conteo> ranking = new TreeSet<>(POR_TOTAL_DESCENDENTE);
+    private final TrieSugerencias sugerencias = new TrieSugerencias();
+    private long version;
+
+    /**
+     * Suma {@code delta} al contador de {@code nombre}; los contadores que llegan
+     * a cero se eliminan
+     */
+    public synchronized void sumar(String nombre, long delta) {
+        if (nombre == null || delta == 0) {
+            return;
+        }
+        version++;
+        long anterior = totales.getOrDefault(nombre, 0L);
+        long nuevo = Math.max(0, anterior + delta);
+        if (anterior > 0) {
+            ranking.remove(new Conteo(nombre, anterior));
+        }
+        if (nuevo > 0) {
+            totales.put(nombre, nuevo);
+            ranking.add(new Conteo(nombre, nuevo));
+        } else {
+            totales.remove(nombre);
+        }
+        sugerencias.poner(nombre, nuevo);
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Reemplaza todos los contadores por los valores dados, leídos cuando los
+     * contadores estaban en {@code versionLeida}
+     *
+     * @return cantidad de nombres cuyo total difería del valor en memoria, o -1
+     *         si hubo cambios desde {@code versionLeida} y no se reemplazó nada
+     */
+    public synchronized int reemplazar(Map<String, Long> valores, long versionLeida) {
+        if (version != versionLeida) {
+            return -1;
+        }
+        int diferencias = 0;
+        for (Map.Entry<String, Long> entrada : valores.entrySet()) {
+            if (!entrada.getValue().equals(totales.get(entrada.getKey()))) {
+                diferencias++;
+            }
+        }
+        for (String nombre : totales.keySet()) {
+            if (!valores.containsKey(nombre)) {
+                diferencias++;
+            }
+        }
+
+        totales.clear();
+        ranking.clear();
+        valores.forEach((nombre, total) -> {
+            if (total > 0) {
+                totales.put(nombre, total);
+                ranking.add(new Conteo(nombre, total));
+            }
+        });
+        sugerencias.reemplazar(totales);
+        return diferencias;
+    }
+
+    public synchronized long total(String nombre) {
+        return totales.getOrDefault(nombre, 0L);
+    }
+
+    /**
+     * Obtiene los {@code limite} nombres con más tópicos, en orden descendente
+     */
+    public synchronized List<Conteo> masActivos(int limite) {
+        List<Conteo> resultado = new ArrayList<>(Math.min(limite, ranking.size()));
+        Iterator<Conteo> iterador = ranking.iterator();
+        while (iterador.hasNext() && resultado.size() < limite) {
+            resultado.add(iterador.next());
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene los {@code limite} nombres con más tópicos que empiezan con el
+     * prefijo, sin distinguir mayúsculas ni acentos
+     */
+    public synchronized List<Conteo> sugerir(String prefijo, int limite) {
+        return sugerencias.mejores(prefijo, limite);
+    }
+}
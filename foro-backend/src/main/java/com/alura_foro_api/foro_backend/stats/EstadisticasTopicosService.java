@@ -0,0 +1,184 @@
+package com.alura_foro_api.foro_backend.stats;
+
+import com.alura_foro_api.foro_backend.config.EnrutadorDataSource;
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Estadísticas de actividad por curso y por autor mantenidas en memoria.
+ *
+ * <p>Los contadores se cargan al iniciar con las consultas GROUP BY del
+ * repositorio, se actualizan con cada {@link TopicoEvento} y se reconcilian
+ * periódicamente contra la tabla para corregir cualquier desvío (por ejemplo,
+ * escrituras hechas fuera de esta instancia).</p>
+ *
+ * <p>La reconciliación lee del primario. Si llega un evento mientras consulta,
+ * descarta ese resultado y vuelve a intentar; tras {@value #INTENTOS_RECONCILIACION}
+ * intentos lo deja para la próxima ejecución, ya que los eventos mantienen
+ * los contadores al día entretanto.</p>
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+@Service
+public class EstadisticasTopicosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstadisticasTopicosService.class);
+    static final int INTENTOS_RECONCILIACION = 3;
+
+    private final TopicoRepository topicoRepository;
+    private final Executor executor;
+    private final ContadoresActividad cursos = new ContadoresActividad();
+    private final ContadoresActividad autores = new ContadoresActividad();
+    private final AtomicBoolean reconciliacionPendiente = new AtomicBoolean();
+
+    public EstadisticasTopicosService(TopicoRepository topicoRepository,
+                                      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                      Executor executor) {
+        this.topicoRepository = topicoRepository;
+        this.executor = executor;
+    }
+
+    public List<ContadoresActividad.Conteo> cursosMasActivos(int limite) {
+        return cursos.masActivos(limite);
+    }
+
+    public List<ContadoresActividad.Conteo> autoresMasActivos(int limite) {
+        return autores.masActivos(limite);
+    }
+
+    public List<ContadoresActividad.Conteo> sugerirCursos(String prefijo, int limite) {
+        return cursos.sugerir(prefijo, limite);
+    }
+
+    public List<ContadoresActividad.Conteo> sugerirAutores(String prefijo, int limite) {
+        return autores.sugerir(prefijo, limite);
+    }
+
+    public long totalPorCurso(String curso) {
+        return cursos.total(curso);
+    }
+
+    public long totalPorAutor(String autor) {
+        return autores.total(autor);
+    }
+
+    @EventListener
+    public void alCambiarTopico(TopicoEvento evento) {
+        DetalleTopicoDTO anterior = evento.getAnterior();
+        DetalleTopicoDTO actual = evento.getActual();
+
+        switch (evento.getTipo()) {
+            case CREADO -> {
+                cursos.sumar(actual.getCurso(), 1);
+                autores.sumar(actual.getAutor(), 1);
+            }
+            case ELIMINADO -> {
+                if (anterior == null) {
+                    reconciliarEnSegundoPlano();
+                    return;
+                }
+                cursos.sumar(anterior.getCurso(), -1);
+                autores.sumar(anterior.getAutor(), -1);
+            }
+            case ACTUALIZADO -> {
+                if (anterior == null || actual == null) {
+                    // Sin curso ni autor previos no hay delta que aplicar
+                    reconciliarEnSegundoPlano();
+                    return;
+                }
+                if (!Objects.equals(anterior.getCurso(), actual.getCurso())) {
+                    cursos.sumar(anterior.getCurso(), -1);
+                    cursos.sumar(actual.getCurso(), 1);
+                }
+                if (!Objects.equals(anterior.getAutor(), actual.getAutor())) {
+                    autores.sumar(anterior.getAutor(), -1);
+                    autores.sumar(actual.getAutor(), 1);
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        reconciliar();
+    }
+
+    /**
+     * Agenda una reconciliación fuera del hilo de la petición. Las solicitudes
+     * que llegan mientras una está pendiente se agrupan en esa misma ejecución.
+     */
+    private void reconciliarEnSegundoPlano() {
+        if (reconciliacionPendiente.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                reconciliacionPendiente.set(false);
+                reconciliar();
+            });
+        }
+    }
+
+    /**
+     * Recalcula los contadores desde la tabla y reemplaza los valores en memoria
+     */
+    @Scheduled(fixedDelayString = "${foro.estadisticas.reconciliacion:PT10M}",
+               initialDelayString = "${foro.estadisticas.reconciliacion:PT10M}")
+    public synchronized void reconciliar() {
+        long inicio = System.currentTimeMillis();
+        try {
+            // Los contadores quedan en memoria: una réplica atrasada los dejaría viejos
+            int desviosCursos = EnrutadorDataSource.enPrimario(() ->
+                    reconciliar(cursos, () -> topicoRepository.findCursosMasActivos(Pageable.unpaged()).getContent()));
+            int desviosAutores = EnrutadorDataSource.enPrimario(() ->
+                    reconciliar(autores, () -> topicoRepository.findAutoresMasActivos(Pageable.unpaged()).getContent()));
+            if (desviosCursos + desviosAutores > 0) {
+                logger.info("Estadísticas reconciliadas en {} ms: {} cursos y {} autores corregidos",
+                        System.currentTimeMillis() - inicio, desviosCursos, desviosAutores);
+            }
+        } catch (Exception e) {
+            logger.error("No se pudieron reconciliar las estadísticas de tópicos", e);
+        }
+    }
+
+    /**
+     * @return nombres corregidos, o 0 si todos los intentos se descartaron por
+     *         eventos concurrentes
+     */
+    private int reconciliar(ContadoresActividad contadores, Supplier<List<Object[]>> consulta) {
+        for (int intento = 1; intento <= INTENTOS_RECONCILIACION; intento++) {
+            long version = contadores.version();
+            int desvios = contadores.reemplazar(totales(consulta.get()), version);
+            if (desvios >= 0) {
+                return desvios;
+            }
+        }
+        logger.debug("Reconciliación descartada: los contadores cambiaron durante {} intentos",
+                INTENTOS_RECONCILIACION);
+        return 0;
+    }
+
+    private static Map<String, Long> totales(List<Object[]> filas) {
+        Map<String, Long> totales = new HashMap<>(filas.size() * 2);
+        for (Object[] fila : filas) {
+            totales.put((String) fila[0], ((Number) fila[1]).longValue());
+        }
+        return totales;
+    }
+}
@@ -0,0 +1,274 @@
+package com.alura_foro_api.foro_backend.stats;
+
+import com.alura_foro_api.foro_backend.search.AnalizadorTexto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Árbol radix de nombres (cursos o autores) ponderados por su cantidad de
+ * tópicos, para sugerir los más populares que empiezan con un prefijo.
+ *
+ * <p>Las claves se normalizan a minúsculas y sin acentos; las aristas guardan
+ * tramos completos de texto y los hijos se ordenan por su primer carácter, así
+ * que un nodo solo existe donde dos nombres se separan. Cada nodo conoce el peso
+ * máximo de su subárbol, lo que permite obtener los N mejores con una búsqueda
+ * "mejor primero" que solo visita las ramas que pueden aportar resultados.
+ * Varios nombres con la misma forma normalizada (p. ej. "Java" y "java")
+ * comparten el nodo y se sugieren por separado.</p>
+ *
+ * <p>No es seguro para uso concurrente; {@link ContadoresActividad} lo protege
+ * con su propio monitor.</p>
+ */
+final class TrieSugerencias {
+
+    private static final Nodo[] SIN_HIJOS = new Nodo[0];
+    private static final String[] SIN_NOMBRES = new String[0];
+    private static final long[] SIN_PESOS = new long[0];
+
+    private static final class Nodo {
+        String etiqueta;
+        Nodo[] hijos = SIN_HIJOS;
+        String[] nombres = SIN_NOMBRES;
+        long[] pesos = SIN_PESOS;
+        long maximo;
+
+        Nodo(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+    }
+
+    /** Elemento de la cola de búsqueda: un subárbol pendiente o un nombre listo */
+    private record Pendiente(long peso, Nodo nodo, String nombre) {}
+
+    private static final Comparator<Pendiente> MEJOR_PRIMERO = Comparator
+            .comparingLong(Pendiente::peso).reversed()
+            // A igual peso, un nombre ya resuelto sale antes que seguir expandiendo
+            .thenComparing(p -> p.nombre() == null)
+            .thenComparing(p -> p.nombre() == null ? "" : p.nombre());
+
+    private Nodo raiz = new Nodo("");
+
+    /**
+     * Fija el peso de un nombre; un peso menor o igual a cero lo retira
+     */
+    void poner(String nombre, long peso) {
+        String clave = normalizar(nombre);
+        List<Nodo> camino = new ArrayList<>();
+        Nodo nodo = raiz;
+        camino.add(nodo);
+        int posicion = 0;
+
+        while (posicion < clave.length()) {
+            int indice = buscarHijo(nodo, clave.charAt(posicion));
+            if (indice < 0) {
+                if (peso <= 0) {
+                    return;
+                }
+                Nodo hoja = new Nodo(clave.substring(posicion));
+                insertarHijo(nodo, -indice - 1, hoja);
+                nodo = hoja;
+                camino.add(nodo);
+                posicion = clave.length();
+                break;
+            }
+            Nodo hijo = nodo.hijos[indice];
+            int comunes = prefijoComun(hijo.etiqueta, clave, posicion);
+            if (comunes < hijo.etiqueta.length()) {
+                if (peso <= 0) {
+                    return;
+                }
+                hijo = dividir(nodo, indice, comunes);
+            }
+            nodo = hijo;
+            camino.add(nodo);
+            posicion += comunes;
+        }
+
+        if (!fijarPeso(nodo, nombre, peso)) {
+            return;
+        }
+        for (int i = camino.size() - 1; i > 0; i--) {
+            Nodo actual = camino.get(i);
+            Nodo padre = camino.get(i - 1);
+            if (actual.nombres.length == 0 && actual.hijos.length == 0) {
+                quitarHijo(padre, actual);
+            } else if (actual.nombres.length == 0 && actual.hijos.length == 1) {
+                fusionarConHijo(actual);
+            }
+            recalcularMaximo(actual);
+        }
+        recalcularMaximo(raiz);
+    }
+
+    /**
+     * Reemplaza todo el contenido por los pesos dados
+     */
+    void reemplazar(Map<String, Long> pesos) {
+        raiz = new Nodo("");
+        pesos.forEach(this::poner);
+    }
+
+    /**
+     * Los {@code limite} nombres de mayor peso cuya forma normalizada empieza
+     * con el prefijo, de mayor a menor
+     */
+    List<ContadoresActividad.Conteo> mejores(String prefijo, int limite) {
+        Nodo subarbol = ubicar(normalizar(prefijo));
+        if (subarbol == null || limite <= 0) {
+            return List.of();
+        }
+
+        List<ContadoresActividad.Conteo> resultado = new ArrayList<>(limite);
+        PriorityQueue<Pendiente> cola = new PriorityQueue<>(MEJOR_PRIMERO);
+        cola.add(new Pendiente(subarbol.maximo, subarbol, null));
+        while (!cola.isEmpty() && resultado.size() < limite) {
+            Pendiente siguiente = cola.poll();
+            if (siguiente.nombre() != null) {
+                resultado.add(new ContadoresActividad.Conteo(siguiente.nombre(), siguiente.peso()));
+                continue;
+            }
+            Nodo nodo = siguiente.nodo();
+            for (int i = 0; i < nodo.nombres.length; i++) {
+                cola.add(new Pendiente(nodo.pesos[i], null, nodo.nombres[i]));
+            }
+            for (Nodo hijo : nodo.hijos) {
+                cola.add(new Pendiente(hijo.maximo, hijo, null));
+            }
+        }
+        return resultado;
+    }
+
+    static String normalizar(String texto) {
+        return AnalizadorTexto.plegarAcentos(texto.strip().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Nodo cuyo subárbol contiene exactamente las claves que empiezan con el
+     * prefijo, o null si ninguna lo hace
+     */
+    private Nodo ubicar(String prefijo) {
+        Nodo nodo = raiz;
+        int posicion = 0;
+        while (posicion < prefijo.length()) {
+            int indice = buscarHijo(nodo, prefijo.charAt(posicion));
+            if (indice < 0) {
+                return null;
+            }
+            Nodo hijo = nodo.hijos[indice];
+            int comunes = prefijoComun(hijo.etiqueta, prefijo, posicion);
+            if (comunes < hijo.etiqueta.length() && posicion + comunes < prefijo.length()) {
+                return null;
+            }
+            nodo = hijo;
+            posicion += comunes;
+        }
+        return nodo;
+    }
+
+    /**
+     * Actualiza el peso del nombre en el nodo
+     *
+     * @return true si el nodo cambió
+     */
+    private static boolean fijarPeso(Nodo nodo, String nombre, long peso) {
+        int indice = Arrays.asList(nodo.nombres).indexOf(nombre);
+        if (indice >= 0 && peso > 0) {
+            nodo.pesos[indice] = peso;
+        } else if (indice >= 0) {
+            int ultimo = nodo.nombres.length - 1;
+            nodo.nombres[indice] = nodo.nombres[ultimo];
+            nodo.pesos[indice] = nodo.pesos[ultimo];
+            nodo.nombres = ultimo == 0 ? SIN_NOMBRES : Arrays.copyOf(nodo.nombres, ultimo);
+            nodo.pesos = ultimo == 0 ? SIN_PESOS : Arrays.copyOf(nodo.pesos, ultimo);
+        } else if (peso > 0) {
+            int cantidad = nodo.nombres.length;
+            nodo.nombres = Arrays.copyOf(nodo.nombres, cantidad + 1);
+            nodo.pesos = Arrays.copyOf(nodo.pesos, cantidad + 1);
+            nodo.nombres[cantidad] = nombre;
+            nodo.pesos[cantidad] = peso;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parte la arista del hijo tras {@code largo} caracteres y devuelve el nodo intermedio
+     */
+    private static Nodo dividir(Nodo padre, int indice, int largo) {
+        Nodo hijo = padre.hijos[indice];
+        Nodo intermedio = new Nodo(hijo.etiqueta.substring(0, largo));
+        hijo.etiqueta = hijo.etiqueta.substring(largo);
+        intermedio.hijos = new Nodo[] {hijo};
+        intermedio.maximo = hijo.maximo;
+        padre.hijos[indice] = intermedio;
+        return intermedio;
+    }
+
+    private static void fusionarConHijo(Nodo nodo) {
+        Nodo hijo = nodo.hijos[0];
+        nodo.etiqueta = nodo.etiqueta + hijo.etiqueta;
+        nodo.hijos = hijo.hijos;
+        nodo.nombres = hijo.nombres;
+        nodo.pesos = hijo.pesos;
+    }
+
+    private static void recalcularMaximo(Nodo nodo) {
+        long maximo = 0;
+        for (long peso : nodo.pesos) {
+            maximo = Math.max(maximo, peso);
+        }
+        for (Nodo hijo : nodo.hijos) {
+            maximo = Math.max(maximo, hijo.maximo);
+        }
+        nodo.maximo = maximo;
+    }
+
+    private static int buscarHijo(Nodo nodo, char inicial) {
+        int bajo = 0;
+        int alto = nodo.hijos.length - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            char actual = nodo.hijos[medio].etiqueta.charAt(0);
+            if (actual < inicial) {
+                bajo = medio + 1;
+            } else if (actual > inicial) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -(bajo + 1);
+    }
+
+    private static void insertarHijo(Nodo padre, int posicion, Nodo hijo) {
+        Nodo[] hijos = new Nodo[padre.hijos.length + 1];
+        System.arraycopy(padre.hijos, 0, hijos, 0, posicion);
+        hijos[posicion] = hijo;
+        System.arraycopy(padre.hijos, posicion, hijos, posicion + 1, padre.hijos.length - posicion);
+        padre.hijos = hijos;
+    }
+
+    private static void quitarHijo(Nodo padre, Nodo hijo) {
+        int posicion = Arrays.asList(padre.hijos).indexOf(hijo);
+        Nodo[] hijos = padre.hijos.length == 1 ? SIN_HIJOS : new Nodo[padre.hijos.length - 1];
+        System.arraycopy(padre.hijos, 0, hijos, 0, posicion);
+        System.arraycopy(padre.hijos, posicion + 1, hijos, posicion, padre.hijos.length - posicion - 1);
+        padre.hijos = hijos;
+    }
+
+    private static int prefijoComun(String etiqueta, String clave, int desde) {
+        int limite = Math.min(etiqueta.length(), clave.length() - desde);
+        int i = 0;
+        while (i < limite && etiqueta.charAt(i) == clave.charAt(desde + i)) {
+            i++;
+        }
+        return i;
+    }
+}
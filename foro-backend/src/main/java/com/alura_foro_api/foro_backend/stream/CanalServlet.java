@@ -0,0 +1,134 @@
+package com.alura_foro_api.foro_backend.stream;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link CanalSse} sobre la E/S no bloqueante de Servlet.
+ *
+ * <p>La petición pasa a modo asíncrono y la salida a modo no bloqueante: una
+ * escritura nunca espera al socket. Cuando el cliente no lee,
+ * {@link ServletOutputStream#isReady()} devuelve false y el contenedor llama a
+ * {@link #onWritePossible()} al liberarse espacio, así que un cliente lento no
+ * retiene ningún hilo.</p>
+ */
+final class CanalServlet implements CanalSse, WriteListener, AsyncListener {
+
+    private final AsyncContext contexto;
+    private final ServletOutputStream salida;
+    private final AtomicBoolean cerrado = new AtomicBoolean();
+    private final AtomicBoolean terminado = new AtomicBoolean();
+    // El contenedor avisa la primera vez al terminar el despacho de la petición;
+    // antes de eso la salida todavía es del hilo que la atiende
+    private volatile boolean iniciado;
+    private volatile Runnable alPoderEscribir = () -> { };
+    private volatile Runnable alTerminar = () -> { };
+
+    private CanalServlet(AsyncContext contexto, ServletOutputStream salida) {
+        this.contexto = contexto;
+        this.salida = salida;
+    }
+
+    /**
+     * Inicia el modo asíncrono de la petición y prepara las cabeceras del flujo
+     */
+    static CanalServlet abrir(HttpServletRequest request, HttpServletResponse response,
+                              Duration duracionMaxima) throws IOException {
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        AsyncContext contexto = request.startAsync(request, response);
+        contexto.setTimeout(duracionMaxima.toMillis());
+        CanalServlet canal = new CanalServlet(contexto, response.getOutputStream());
+        contexto.addListener(canal);
+        return canal;
+    }
+
+    @Override
+    public void conectar(Runnable alPoderEscribir, Runnable alTerminar) {
+        this.alPoderEscribir = alPoderEscribir;
+        this.alTerminar = alTerminar;
+        salida.setWriteListener(this);
+    }
+
+    @Override
+    public boolean listo() {
+        if (!iniciado || cerrado.get()) {
+            return false;
+        }
+        try {
+            return salida.isReady();
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void escribir(byte[] datos) throws IOException {
+        salida.write(datos);
+    }
+
+    @Override
+    public void enviarPendiente() throws IOException {
+        salida.flush();
+    }
+
+    @Override
+    public void cerrar() {
+        if (cerrado.compareAndSet(false, true)) {
+            try {
+                contexto.complete();
+            } catch (IllegalStateException e) {
+                // El contenedor ya la dio por terminada
+            }
+        }
+    }
+
+    @Override
+    public void onWritePossible() {
+        iniciado = true;
+        alPoderEscribir.run();
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        terminar();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent evento) {
+        terminar();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent evento) {
+        terminar();
+        cerrar();
+    }
+
+    @Override
+    public void onError(AsyncEvent evento) {
+        terminar();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent evento) {
+    }
+
+    private void terminar() {
+        if (terminado.compareAndSet(false, true)) {
+            alTerminar.run();
+        }
+    }
+}
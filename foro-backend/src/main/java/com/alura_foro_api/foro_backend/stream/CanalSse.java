@@ -0,0 +1,39 @@
+package com.alura_foro_api.foro_backend.stream;
+
+import java.io.IOException;
+
+/**
+ * Conexión de un suscriptor sobre la que se escriben eventos SSE ya codificados.
+ *
+ * <p>Ninguna operación espera al cliente: si {@link #listo()} devuelve false,
+ * el canal invoca más tarde el aviso registrado en {@link #conectar} cuando
+ * vuelva a aceptar datos.</p>
+ */
+interface CanalSse {
+
+    /**
+     * Registra los avisos del canal y empieza a recibir escrituras
+     *
+     * @param alPoderEscribir se invoca cuando el canal vuelve a aceptar datos
+     * @param alTerminar se invoca una vez cuando la conexión termina por cualquier motivo
+     */
+    void conectar(Runnable alPoderEscribir, Runnable alTerminar);
+
+    /**
+     * Indica si se puede escribir sin bloquear. Si devuelve false, el canal
+     * avisará con {@code alPoderEscribir}.
+     */
+    boolean listo();
+
+    void escribir(byte[] datos) throws IOException;
+
+    /**
+     * Envía lo escrito que siga en buffers intermedios
+     */
+    void enviarPendiente() throws IOException;
+
+    /**
+     * Termina la conexión; las llamadas siguientes no tienen efecto
+     */
+    void cerrar();
+}
@@ -0,0 +1,338 @@
+package com.alura_foro_api.foro_backend.stream;
+
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.exception.ServicioSaturadoException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flujo en vivo (Server-Sent Events) de altas, ediciones y eliminaciones de tópicos.
+ *
+ * <p>Cada {@link TopicoEvento} se codifica una sola vez, recibe un ID de evento
+ * creciente y se guarda en un historial circular en memoria. El hilo que
+ * publicó el evento solo hace eso; una tarea de reparto lo entrega después a
+ * los suscriptores cuyo filtro de curso/autor coincide. El reparto no consulta
+ * la base de datos: el contenido sale del propio evento.</p>
+ *
+ * <p>Un cliente que se reconecta con {@code Last-Event-ID} recibe primero los
+ * eventos posteriores que sigan en el historial. Si ya no están (o el ID es de
+ * otra ejecución) recibe un evento {@code reinicio} y debe recargar por la API REST.</p>
+ *
+ * <p>El reparto y los envíos corren en un pool fijo de {@code foro.flujo.hilos}.
+ * Las conexiones usan la E/S no bloqueante de Servlet ({@link CanalServlet}):
+ * un cliente que no lee no retiene hilos, solo acumula eventos en su buffer.
+ * Si su conexión pasa más de {@code foro.flujo.plazo-envio} sin aceptar datos,
+ * se desconecta.</p>
+ *
+ * @author TalkSpace Backend Team
+ * @version 1.0
+ */
+@Service
+public class FlujoTopicosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlujoTopicosService.class);
+    private static final String EVENTO_REINICIO = "reinicio";
+
+    /**
+     * Contenido JSON de cada evento del flujo. En eliminaciones, y en ediciones
+     * parciales de tópicos que no estaban en cache, {@code topico} es nulo y el
+     * cliente debe usar solo el ID.
+     */
+    record CambioTopico(TopicoEvento.Tipo tipo, Long id, DetalleTopicoDTO topico) {}
+
+    private record Evento(long id, String curso, String autor, byte[] contenido) implements SuscriptorFlujo.Envio {}
+
+    private record Aviso(byte[] contenido) implements SuscriptorFlujo.Envio {
+        Aviso(String texto) {
+            this(texto.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${foro.flujo.historial:1000}")
+    private int tamanoHistorial;
+
+    @Value("${foro.flujo.buffer:256}")
+    private int capacidadBuffer;
+
+    @Value("${foro.flujo.politica-desborde:DESCONECTAR}")
+    private PoliticaDesborde politica;
+
+    @Value("${foro.flujo.maximo-suscriptores:10000}")
+    private int maximoSuscriptores;
+
+    @Value("${foro.flujo.duracion-maxima:PT30M}")
+    private Duration duracionMaxima;
+
+    @Value("${foro.flujo.reconexion:PT3S}")
+    private Duration reconexion;
+
+    @Value("${foro.flujo.hilos:4}")
+    private int hilos;
+
+    @Value("${foro.flujo.plazo-envio:PT10S}")
+    private Duration plazoEnvio;
+
+    private final Set<SuscriptorFlujo> suscriptores = ConcurrentHashMap.newKeySet();
+    private final AtomicLong desbordes = new AtomicLong();
+    private final AtomicLong enviosVencidos = new AtomicLong();
+    private final Aviso latido = new Aviso(": latido\n\n");
+    private final Queue<Evento> porRepartir = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean repartoProgramado = new AtomicBoolean();
+
+    // Protege el historial y el siguiente ID; el alta de suscriptores también lo
+    // toma para que ningún evento caiga entre la reproducción y el registro
+    private final Object bloqueo = new Object();
+    private Evento[] historial;
+    private int inicioHistorial;
+    private int eventosEnHistorial;
+    private long siguienteId;
+
+    private ExecutorService executor;
+
+    public FlujoTopicosService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        historial = new Evento[tamanoHistorial];
+        // IDs a partir del reloj: los de una ejecución anterior quedan por debajo
+        // del historial actual y el cliente recibe un reinicio en vez de eventos ajenos
+        siguienteId = System.currentTimeMillis() * 1000;
+
+        AtomicInteger contador = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "flujo-topicos-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+        if (meterRegistry != null) {
+            Gauge.builder("foro.topicos.flujo.suscriptores", suscriptores, Set::size)
+                    .description("Clientes conectados al flujo de tópicos")
+                    .register(meterRegistry);
+            FunctionCounter.builder("foro.topicos.flujo.desbordes", desbordes, AtomicLong::get)
+                    .description("Eventos que no cupieron en el buffer de un suscriptor")
+                    .register(meterRegistry);
+            FunctionCounter.builder("foro.topicos.flujo.envios-vencidos", enviosVencidos, AtomicLong::get)
+                    .description("Suscriptores desconectados por no aceptar datos dentro del plazo")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        suscriptores.forEach(SuscriptorFlujo::cerrar);
+        executor.shutdown();
+    }
+
+    /**
+     * Registra un nuevo suscriptor al flujo
+     *
+     * @param curso solo eventos de este curso (opcional)
+     * @param autor solo eventos de este autor (opcional)
+     * @param ultimoEventoId valor de {@code Last-Event-ID} al reconectar (opcional)
+     * @param request petición, que pasa a modo asíncrono
+     * @param response respuesta sobre la que se escriben los eventos
+     * @throws ServicioSaturadoException si se alcanzó el máximo de suscriptores
+     */
+    public void suscribir(String curso, String autor, String ultimoEventoId,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (suscriptores.size() >= maximoSuscriptores) {
+            throw new ServicioSaturadoException("Se alcanzó el máximo de suscriptores al flujo de tópicos",
+                    reconexion.toSeconds() + 1);
+        }
+        registrar(CanalServlet.abrir(request, response, duracionMaxima), curso, autor, ultimoEventoId);
+    }
+
+    SuscriptorFlujo registrar(CanalSse canal, String curso, String autor, String ultimoEventoId) {
+        SuscriptorFlujo suscriptor = new SuscriptorFlujo(canal, curso, autor, capacidadBuffer,
+                politica, executor, desbordes::incrementAndGet);
+        canal.conectar(suscriptor::alPoderEscribir, () -> {
+            suscriptores.remove(suscriptor);
+            suscriptor.cerrar();
+        });
+
+        suscriptor.encolar(new Aviso("retry: " + reconexion.toMillis() + "\n: conectado\n\n"));
+        synchronized (bloqueo) {
+            if (ultimoEventoId != null) {
+                reproducir(suscriptor, ultimoEventoId);
+            }
+            suscriptor.recibirDesde(siguienteId);
+            suscriptores.add(suscriptor);
+        }
+        logger.debug("Nuevo suscriptor al flujo de tópicos (curso={}, autor={}), total: {}",
+                curso, autor, suscriptores.size());
+        return suscriptor;
+    }
+
+    public int getSuscriptores() {
+        return suscriptores.size();
+    }
+
+    /**
+     * Corre en el hilo de la escritura que publicó el evento: solo lo codifica,
+     * lo agrega al historial y despierta al reparto
+     */
+    @EventListener
+    public void alCambiarTopico(TopicoEvento evento) {
+        DetalleTopicoDTO topico = evento.getActual() != null ? evento.getActual() : evento.getAnterior();
+        String json = serializar(new CambioTopico(evento.getTipo(), evento.getId(),
+                evento.getTipo() == TopicoEvento.Tipo.ELIMINADO ? null : evento.getActual()));
+        String cuerpo = "event: " + evento.getTipo().name().toLowerCase(Locale.ROOT) + "\ndata: " + json + "\n\n";
+        String curso = topico == null ? null : topico.getCurso();
+        String autor = topico == null ? null : topico.getAutor();
+
+        synchronized (bloqueo) {
+            long id = siguienteId++;
+            Evento registrado = new Evento(id, curso, autor,
+                    ("id: " + id + "\n" + cuerpo).getBytes(StandardCharsets.UTF_8));
+            agregarAlHistorial(registrado);
+            porRepartir.add(registrado);
+        }
+        programarReparto();
+    }
+
+    /**
+     * Comentario periódico para que proxies y balanceadores no cierren las
+     * conexiones inactivas y para detectar clientes que ya se fueron
+     */
+    @Scheduled(fixedRateString = "${foro.flujo.latido:PT15S}")
+    public void enviarLatido() {
+        for (SuscriptorFlujo suscriptor : suscriptores) {
+            suscriptor.encolar(latido);
+        }
+    }
+
+    /**
+     * Retira a los suscriptores cuya conexión lleva más de {@code foro.flujo.plazo-envio} sin aceptar datos
+     */
+    @Scheduled(fixedRate = 1000)
+    public void revisarEnvios() {
+        long ahora = System.nanoTime();
+        for (SuscriptorFlujo suscriptor : suscriptores) {
+            if (suscriptor.envioVencido(ahora, plazoEnvio.toNanos()) && suscriptores.remove(suscriptor)) {
+                enviosVencidos.incrementAndGet();
+                logger.debug("Suscriptor desconectado: lleva más de {} sin aceptar datos", plazoEnvio);
+                suscriptor.cerrar();
+            }
+        }
+    }
+
+    private void programarReparto() {
+        if (repartoProgramado.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::repartir);
+            } catch (RejectedExecutionException e) {
+                // Detenido: los suscriptores ya se cerraron
+                repartoProgramado.set(false);
+            }
+        }
+    }
+
+    /**
+     * Única tarea de reparto activa; entrega los eventos en orden de ID
+     */
+    private void repartir() {
+        while (true) {
+            Evento evento;
+            while ((evento = porRepartir.poll()) != null) {
+                for (SuscriptorFlujo suscriptor : suscriptores) {
+                    if (suscriptor.recibe(evento.id()) && suscriptor.acepta(evento.curso(), evento.autor())) {
+                        suscriptor.encolar(evento);
+                    }
+                }
+            }
+            repartoProgramado.set(false);
+            // Un evento publicado justo antes pudo ver repartoProgramado=true
+            if (porRepartir.isEmpty() || !repartoProgramado.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void reproducir(SuscriptorFlujo suscriptor, String ultimoEventoId) {
+        long ultimo;
+        try {
+            ultimo = Long.parseLong(ultimoEventoId.trim());
+        } catch (NumberFormatException e) {
+            ultimo = -1;
+        }
+
+        long primeroDisponible = siguienteId - eventosEnHistorial;
+        if (ultimo >= primeroDisponible - 1 && ultimo < siguienteId) {
+            List<Evento> pendientes = new ArrayList<>();
+            for (int i = (int) (ultimo + 1 - primeroDisponible); i < eventosEnHistorial; i++) {
+                Evento evento = historial[(inicioHistorial + i) % historial.length];
+                if (suscriptor.acepta(evento.curso(), evento.autor())) {
+                    pendientes.add(evento);
+                }
+            }
+            // Dejar lugar en el buffer para lo que llegue mientras se envía la reproducción
+            if (pendientes.size() < capacidadBuffer / 2) {
+                pendientes.forEach(suscriptor::encolar);
+                return;
+            }
+        }
+
+        logger.debug("Last-Event-ID {} fuera del historial, se envía reinicio", ultimoEventoId);
+        suscriptor.encolar(new Aviso("id: " + (siguienteId - 1) + "\nevent: " + EVENTO_REINICIO + "\ndata: {}\n\n"));
+    }
+
+    private void agregarAlHistorial(Evento evento) {
+        if (historial.length == 0) {
+            return;
+        }
+        if (eventosEnHistorial < historial.length) {
+            historial[(inicioHistorial + eventosEnHistorial++) % historial.length] = evento;
+        } else {
+            historial[inicioHistorial] = evento;
+            inicioHistorial = (inicioHistorial + 1) % historial.length;
+        }
+    }
+
+    private String serializar(CambioTopico cambio) {
+        try {
+            return objectMapper.writeValueAsString(cambio);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento de tópico " + cambio.id(), e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.alura_foro_api.foro_backend.stream;
+
+/**
+ * Qué hacer cuando el buffer de un suscriptor del flujo de tópicos está lleno
+ */
+public enum PoliticaDesborde {
+
+    /**
+     * Cierra la conexión; el cliente se reconecta con {@code Last-Event-ID} y
+     * recupera lo perdido desde el historial en memoria
+     */
+    DESCONECTAR,
+
+    /**
+     * Descarta el evento más antiguo pendiente y mantiene la conexión
+     */
+    DESCARTAR_ANTIGUOS
+}
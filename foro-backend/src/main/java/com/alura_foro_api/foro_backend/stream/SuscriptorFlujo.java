@@ -0,0 +1,195 @@
+package com.alura_foro_api.foro_backend.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cliente conectado al flujo de tópicos.
+ *
+ * <p>Los eventos se encolan en un buffer acotado y se escriben en el
+ * {@link CanalSse} desde el pool de envío, con a lo sumo una tarea de envío
+ * por suscriptor a la vez. Así un cliente lento solo llena su propio buffer y
+ * nunca frena al resto.</p>
+ *
+ * <p>Las escrituras no bloquean: si el canal no acepta más datos la tarea
+ * termina y el canal la vuelve a programar cuando el cliente lee. Mientras
+ * tanto no se ocupa ningún hilo; {@link FlujoTopicosService} revisa
+ * {@link #envioVencido} para desconectar a quien lleva demasiado sin leer.</p>
+ */
+class SuscriptorFlujo {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuscriptorFlujo.class);
+
+    /**
+     * Un elemento ya codificado como evento SSE
+     */
+    interface Envio {
+        byte[] contenido();
+    }
+
+    private final CanalSse canal;
+    private final String curso;
+    private final String autor;
+    private final ArrayBlockingQueue<Envio> buffer;
+    private final PoliticaDesborde politica;
+    private final Executor executor;
+    private final AtomicBoolean programado = new AtomicBoolean();
+    private final Runnable alDesbordar;
+    private volatile boolean cerrado;
+    // System.nanoTime() desde que el canal no acepta datos; 0 si los acepta
+    private volatile long esperaDesde;
+    // Primer ID de evento que recibe en vivo; los anteriores llegan por la reproducción
+    private volatile long primerEvento = Long.MAX_VALUE;
+    // Solo lo usa la tarea de envío activa
+    private boolean sinEnviar;
+
+    SuscriptorFlujo(CanalSse canal, String curso, String autor, int capacidadBuffer,
+                    PoliticaDesborde politica, Executor executor, Runnable alDesbordar) {
+        this.canal = canal;
+        this.curso = curso;
+        this.autor = autor;
+        this.buffer = new ArrayBlockingQueue<>(capacidadBuffer);
+        this.politica = politica;
+        this.executor = executor;
+        this.alDesbordar = alDesbordar;
+    }
+
+    /**
+     * Indica si el evento pasa los filtros del suscriptor. Un evento sin curso o
+     * autor conocidos (edición parcial de un tópico que no estaba en cache) se
+     * entrega a todos: es preferible un aviso de más que perder un cambio.
+     */
+    boolean acepta(String cursoEvento, String autorEvento) {
+        return (curso == null || cursoEvento == null || curso.equals(cursoEvento))
+                && (autor == null || autorEvento == null || autor.equals(autorEvento));
+    }
+
+    void recibirDesde(long idEvento) {
+        primerEvento = idEvento;
+    }
+
+    /**
+     * Indica si el evento le corresponde en vivo (y no le llegó ya al reproducir el historial)
+     */
+    boolean recibe(long idEvento) {
+        return idEvento >= primerEvento;
+    }
+
+    /**
+     * Encola un envío sin bloquear. Si el buffer está lleno se aplica la política
+     * de desborde configurada.
+     */
+    void encolar(Envio envio) {
+        if (cerrado) {
+            return;
+        }
+        if (!buffer.offer(envio)) {
+            alDesbordar.run();
+            if (politica == PoliticaDesborde.DESCONECTAR) {
+                logger.debug("Suscriptor lento desconectado con {} eventos pendientes", buffer.size());
+                cerrar();
+                return;
+            }
+            buffer.poll();
+            buffer.offer(envio);
+        }
+        programar();
+    }
+
+    /**
+     * Descarta lo pendiente y cierra la conexión desde la tarea de envío
+     */
+    void cerrar() {
+        if (!cerrado) {
+            cerrado = true;
+            buffer.clear();
+            programar();
+        }
+    }
+
+    boolean estaCerrado() {
+        return cerrado;
+    }
+
+    /**
+     * Aviso del canal: vuelve a aceptar datos
+     */
+    void alPoderEscribir() {
+        programar();
+    }
+
+    /**
+     * Indica si el canal lleva más de {@code plazoNanos} sin aceptar datos
+     */
+    boolean envioVencido(long ahora, long plazoNanos) {
+        long desde = esperaDesde;
+        return desde != 0 && ahora - desde > plazoNanos;
+    }
+
+    private void programar() {
+        if (programado.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::vaciar);
+            } catch (RejectedExecutionException e) {
+                // Pool detenido: no hay quién escriba en la conexión
+                cerrado = true;
+                buffer.clear();
+                canal.cerrar();
+            }
+        }
+    }
+
+    /**
+     * Única tarea activa del suscriptor. Al cerrarse deja {@code programado} en
+     * true para que no se programe otra.
+     */
+    private void vaciar() {
+        try {
+            while (true) {
+                if (cerrado) {
+                    canal.cerrar();
+                    return;
+                }
+                if (!canal.listo()) {
+                    if (esperaDesde == 0) {
+                        esperaDesde = System.nanoTime();
+                    }
+                    programado.set(false);
+                    // El aviso del canal pudo llegar justo antes y encontrar programado=true
+                    if ((!canal.listo() && !cerrado) || !programado.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                esperaDesde = 0;
+                Envio envio = buffer.poll();
+                if (envio != null) {
+                    canal.escribir(envio.contenido());
+                    sinEnviar = true;
+                    continue;
+                }
+                if (sinEnviar) {
+                    canal.enviarPendiente();
+                    sinEnviar = false;
+                    continue;
+                }
+                programado.set(false);
+                // Un encolado o cierre concurrente pudo ver programado=true justo antes
+                if ((buffer.isEmpty() && !cerrado) || !programado.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Suscriptor desconectado: {}", e.getMessage());
+            cerrado = true;
+            buffer.clear();
+            canal.cerrar();
+        }
+    }
+}
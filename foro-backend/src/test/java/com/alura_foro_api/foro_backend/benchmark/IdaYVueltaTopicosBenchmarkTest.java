@@ -0,0 +1,182 @@
+package com.alura_foro_api.foro_backend.benchmark;
+
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara las sentencias SQL y el tiempo por operación de las rutas de
+ * eliminación y de detección de duplicados, antes y después de reemplazarlas
+ * por un DELETE directo y una consulta {@code exists} sobre las huellas.
+ *
+ * <p>Se ejecuta con {@code mvn test -Pbenchmark} sobre H2 en memoria; las
+ * sentencias se cuentan con las estadísticas de Hibernate y el uso del índice
+ * de huellas se comprueba con el plan de H2.</p>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class IdaYVueltaTopicosBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdaYVueltaTopicosBenchmarkTest.class);
+
+    private static final int OPERACIONES = 2000;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void preparar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        topicoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void eliminacion() {
+        List<Long> anteriores = crear(OPERACIONES, "eliminar-antes");
+        Medicion antes = medir("eliminar: findById + deleteById", anteriores, id -> {
+            if (topicoRepository.findById(id).isPresent()) {
+                topicoRepository.deleteById(id);
+            }
+        });
+
+        List<Long> actuales = crear(OPERACIONES, "eliminar-despues");
+        Medicion despues = medir("eliminar: DELETE por id", actuales,
+                id -> transactionTemplate.execute(estado -> topicoRepository.eliminarPorId(id)));
+
+        assertEquals(0, topicoRepository.count());
+        assertTrue(despues.sentencias() < antes.sentencias(), "El DELETE directo debe ejecutar menos sentencias");
+    }
+
+    @Test
+    void deteccionDeDuplicados() {
+        List<Long> ids = crear(OPERACIONES, "duplicado");
+        List<Topico> topicos = topicoRepository.findAllById(ids);
+
+        // Ambas rutas hacen una sentencia por alta: lo que cambia es cómo la resuelve la base
+        String planContenido = plan("SELECT id FROM topico WHERE titulo = 'duplicado 1' AND mensaje = 'x'");
+        String planHuellas = plan("SELECT id FROM topico WHERE hash_titulo = 'a' AND hash_mensaje = 'b'");
+        assertTrue(planContenido.contains("tableScan"), planContenido);
+        assertTrue(planHuellas.contains("uk_topico_contenido"), planHuellas);
+        assertFalse(planHuellas.contains("tableScan"), planHuellas);
+
+        Medicion antes = medirTopicos("duplicado: SELECT por titulo y mensaje", topicos, topico ->
+                entityManager.createQuery(
+                                "SELECT t FROM Topico t WHERE t.titulo = :titulo AND t.mensaje = :mensaje", Topico.class)
+                        .setParameter("titulo", topico.getTitulo())
+                        .setParameter("mensaje", topico.getMensaje())
+                        .getResultList().isEmpty());
+        Medicion despues = medirTopicos("duplicado: exists por huellas", topicos, topico ->
+                topicoRepository.existsByHashTituloAndHashMensaje(
+                        Topico.huella(topico.getTitulo()), Topico.huella(topico.getMensaje())));
+        assertEquals(1, antes.sentencias());
+        assertEquals(1, despues.sentencias());
+
+        // A través de Hibernate el costo fijo por consulta se come buena parte de la
+        // diferencia; el tiempo que cambia el índice se compara en SQL directo,
+        // después de una vuelta de calentamiento de cada consulta
+        String porContenido = "SELECT id FROM topico WHERE titulo = ? AND mensaje = ?";
+        String porHuellas = "SELECT id FROM topico WHERE hash_titulo = ? AND hash_mensaje = ?";
+        Predicate<Topico> contenido = topico -> jdbcTemplate.queryForList(
+                porContenido, Long.class, topico.getTitulo(), topico.getMensaje()).isEmpty();
+        Predicate<Topico> huellas = topico -> jdbcTemplate.queryForList(
+                porHuellas, Long.class, Topico.huella(topico.getTitulo()), Topico.huella(topico.getMensaje())).isEmpty();
+        topicos.forEach(contenido::test);
+        topicos.forEach(huellas::test);
+
+        Medicion sqlContenido = medirTopicos("duplicado: SQL por titulo y mensaje", topicos, contenido);
+        Medicion sqlHuellas = medirTopicos("duplicado: SQL por huellas", topicos, huellas);
+        // Recorrer la tabla en cada alta frente a una búsqueda en el índice; el
+        // margen deja lugar al ruido de la máquina
+        assertTrue(sqlHuellas.microsPorOperacion() * 2 < sqlContenido.microsPorOperacion(),
+                "La búsqueda por huellas debe ser más rápida que comparar el mensaje: "
+                        + sqlHuellas.microsPorOperacion() + " us/op frente a "
+                        + sqlContenido.microsPorOperacion() + " us/op");
+    }
+
+    private List<Long> crear(int cantidad, String prefijo) {
+        return transactionTemplate.execute(estado -> {
+            List<Long> ids = new ArrayList<>(cantidad);
+            String relleno = "x".repeat(Topico.LARGO_MAXIMO_MENSAJE - 40);
+            for (int i = 0; i < cantidad; i++) {
+                Topico topico = new Topico();
+                topico.setTitulo(prefijo + " " + i);
+                topico.setMensaje("Mensaje " + prefijo + " " + i + " " + relleno);
+                topico.setAutor("autor" + (i % 50));
+                topico.setCurso("curso" + (i % 10));
+                entityManager.persist(topico);
+                ids.add(topico.getId());
+            }
+            return ids;
+        });
+    }
+
+    private String plan(String consulta) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + consulta, String.class);
+    }
+
+    private Medicion medir(String nombre, List<Long> ids, LongConsumer operacion) {
+        estadisticas.clear();
+        long inicio = System.nanoTime();
+        ids.forEach(operacion::accept);
+        return informar(nombre, ids.size(), System.nanoTime() - inicio);
+    }
+
+    private Medicion medirTopicos(String nombre, List<Topico> topicos, Predicate<Topico> operacion) {
+        estadisticas.clear();
+        long inicio = System.nanoTime();
+        transactionTemplate.executeWithoutResult(estado -> topicos.forEach(operacion::test));
+        return informar(nombre, topicos.size(), System.nanoTime() - inicio);
+    }
+
+    private Medicion informar(String nombre, int operaciones, long nanos) {
+        Medicion medicion = new Medicion((double) estadisticas.getPrepareStatementCount() / operaciones,
+                nanos / 1e3 / operaciones);
+        logger.info("[{}] {} sentencias/op, {} us/op", nombre,
+                String.format("%.2f", medicion.sentencias()), String.format("%.1f", medicion.microsPorOperacion()));
+        return medicion;
+    }
+
+    private record Medicion(double sentencias, double microsPorOperacion) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.alura_foro_api.foro_backend.carga;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * La misma carga de {@link PruebaCargaTest} sobre la aplicación completa, con
+ * cada petición atendida en un hilo virtual. Ambas se ejecutan con
+ * {@code mvn test -Pcarga} y dejan sus resultados en
+ * {@code target/carga-resultados-plataforma.json} y
+ * {@code target/carga-resultados-virtuales.json} para compararlos.
+ *
+ * <p>Requiere ejecutar Maven sobre Java 21 o superior; con versiones anteriores
+ * Spring Boot no activa los hilos virtuales y esta variante se omite.</p>
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class PruebaCargaHilosVirtualesTest extends PruebaCargaTest {
+}
@@ -0,0 +1,404 @@
+package com.alura_foro_api.foro_backend.carga;
+
+import com.alura_foro_api.foro_backend.dto.RegistroTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResultadoItemLoteDTO;
+import com.alura_foro_api.foro_backend.model.Usuario;
+import com.alura_foro_api.foro_backend.repository.UsuarioRepository;
+import com.alura_foro_api.foro_backend.security.JwtUtil;
+import com.alura_foro_api.foro_backend.service.LoteTopicosService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga de punta a punta: levanta la aplicación completa sobre H2
+ * en modo MySQL, carga datos de ejemplo y ejecuta una mezcla de lecturas,
+ * escrituras, búsquedas y logins con concurrencia fija.
+ *
+ * <p>Informa por endpoint las peticiones por segundo y las latencias
+ * p50/p95/p99, en el registro y en {@code target/carga-resultados-<modo>.json},
+ * donde el modo es {@code plataforma} o {@code virtuales} según los hilos que
+ * atienden las peticiones. Esta clase usa el pool de Tomcat;
+ * {@link PruebaCargaHilosVirtualesTest} repite la misma carga con hilos virtuales.</p>
+ *
+ * <p>Se ejecuta con {@code mvn test -Pcarga}. Parámetros (propiedades de sistema):
+ * {@code carga.topicos}, {@code carga.usuarios}, {@code carga.concurrencia},
+ * {@code carga.duracion} y {@code carga.calentamiento} (ISO-8601, p. ej. PT30S).</p>
+ */
+@Tag("carga")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=false")
+class PruebaCargaTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PruebaCargaTest.class);
+
+    private static final int TOPICOS = Integer.getInteger("carga.topicos", 5000);
+    private static final int USUARIOS = Integer.getInteger("carga.usuarios", 50);
+    private static final int CONCURRENCIA = Integer.getInteger("carga.concurrencia", 32);
+    private static final Duration DURACION = Duration.parse(System.getProperty("carga.duracion", "PT30S"));
+    private static final Duration CALENTAMIENTO = Duration.parse(System.getProperty("carga.calentamiento", "PT10S"));
+
+    private static final String CONTRASENA = "contrasena_carga";
+    private static final String[] PALABRAS = {
+            "spring", "java", "jwt", "seguridad", "hibernate", "consulta", "error", "configuracion",
+            "docker", "mysql", "rendimiento", "cache", "transaccion", "repositorio", "controlador",
+            "validacion", "token", "despliegue", "prueba", "indice", "memoria", "hilo", "servidor"
+    };
+    private static final String[] CURSOS = {
+            "Spring Boot", "Java Avanzado", "Hibernate", "Docker", "MySQL", "Seguridad Web",
+            "Microservicios", "Testing", "Kotlin", "Arquitectura"
+    };
+
+    /**
+     * Mezcla de operaciones con su peso relativo
+     */
+    private enum Operacion {
+        LISTAR(35), LISTAR_RESUMEN(10), LISTAR_CURSOR(5), LISTAR_POR_CURSO(10),
+        DETALLE(20), BUSCAR(10), CREAR(7), LOGIN(3);
+
+        final int peso;
+
+        Operacion(int peso) {
+            this.peso = peso;
+        }
+    }
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private LoteTopicosService loteTopicosService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean hilosVirtuales;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong secuencia = new AtomicLong();
+
+    private List<Long> idsTopicos;
+    private List<String> tokens;
+    private Operacion[] ruleta;
+
+    @Test
+    void cargaMixta() throws Exception {
+        // Spring Boot ignora spring.threads.virtual.enabled antes de Java 21: sin
+        // esta comprobación se compararía el pool de Tomcat consigo mismo
+        boolean virtualesActivos = contexto.getBeanNamesForType(
+                TomcatVirtualThreadsWebServerFactoryCustomizer.class).length > 0;
+        assertEquals(hilosVirtuales, virtualesActivos, "Los hilos virtuales requieren Java 21 o superior");
+        String modo = virtualesActivos ? "virtuales" : "plataforma";
+
+        poblar();
+
+        logger.info("Calentamiento de {} con {} hilos...", CALENTAMIENTO, CONCURRENCIA);
+        ejecutar(CALENTAMIENTO);
+
+        logger.info("Midiendo durante {} con {} hilos, peticiones atendidas en hilos {}...",
+                DURACION, CONCURRENCIA, modo);
+        long inicio = System.nanoTime();
+        Map<Operacion, Medicion> mediciones = ejecutar(DURACION);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        List<Map<String, Object>> informe = informar(mediciones, segundos);
+        objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(new File("target/carga-resultados-" + modo + ".json"), informe);
+
+        for (Operacion operacion : Operacion.values()) {
+            Medicion medicion = mediciones.get(operacion);
+            assertTrue(medicion != null && medicion.cantidad() > 0, "Sin peticiones para " + operacion);
+            assertTrue(medicion.errores <= medicion.cantidad() / 100,
+                    "Más de 1% de errores en " + operacion + ": " + medicion.errores);
+        }
+    }
+
+    // ===============================================
+    // DATOS DE PRUEBA
+    // ===============================================
+
+    private void poblar() {
+        long inicio = System.currentTimeMillis();
+        Random random = new Random(42);
+
+        // BCrypt es caro a propósito: todos los usuarios comparten el mismo hash
+        String hash = passwordEncoder.encode(CONTRASENA);
+        List<Usuario> usuarios = new ArrayList<>(USUARIOS);
+        for (int i = 0; i < USUARIOS; i++) {
+            Usuario usuario = new Usuario();
+            usuario.setUsername("usuario" + i);
+            usuario.setPassword(hash);
+            usuarios.add(usuario);
+        }
+        usuarioRepository.saveAll(usuarios);
+        tokens = usuarios.stream().map(u -> jwtUtil.generateToken(u.getUsername())).toList();
+
+        idsTopicos = new ArrayList<>(TOPICOS);
+        for (int desde = 0; desde < TOPICOS; desde += 1000) {
+            List<RegistroTopicoDTO> lote = new ArrayList<>();
+            for (int i = desde; i < Math.min(TOPICOS, desde + 1000); i++) {
+                lote.add(topicoAleatorio(random, i));
+            }
+            loteTopicosService.registrar(lote).getResultados().stream()
+                    .filter(r -> r.getEstado() == ResultadoItemLoteDTO.Estado.CREADO)
+                    .forEach(r -> idsTopicos.add(r.getId()));
+        }
+
+        List<Operacion> pesos = new ArrayList<>();
+        for (Operacion operacion : Operacion.values()) {
+            for (int i = 0; i < operacion.peso; i++) {
+                pesos.add(operacion);
+            }
+        }
+        ruleta = pesos.toArray(new Operacion[0]);
+
+        logger.info("Datos cargados: {} usuarios, {} tópicos en {} ms",
+                USUARIOS, idsTopicos.size(), System.currentTimeMillis() - inicio);
+    }
+
+    private static RegistroTopicoDTO topicoAleatorio(Random random, long numero) {
+        String titulo = "Tópico " + numero + " sobre " + palabras(random, 3);
+        String mensaje = "Consulta sobre " + palabras(random, 10 + random.nextInt(60));
+        String autor = "usuario" + random.nextInt(Math.max(1, USUARIOS));
+        return new RegistroTopicoDTO(titulo, mensaje, autor, CURSOS[random.nextInt(CURSOS.length)]);
+    }
+
+    private static String palabras(Random random, int cantidad) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < cantidad; i++) {
+            texto.append(i == 0 ? "" : " ").append(PALABRAS[random.nextInt(PALABRAS.length)]);
+        }
+        return texto.toString();
+    }
+
+    // ===============================================
+    // EJECUCIÓN
+    // ===============================================
+
+    private Map<Operacion, Medicion> ejecutar(Duration duracion) throws Exception {
+        long fin = System.nanoTime() + duracion.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCIA);
+        List<Future<Map<Operacion, Medicion>>> trabajadores = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENCIA; i++) {
+                trabajadores.add(executor.submit(() -> trabajar(fin)));
+            }
+            Map<Operacion, Medicion> total = new TreeMap<>();
+            for (Future<Map<Operacion, Medicion>> trabajador : trabajadores) {
+                trabajador.get().forEach((operacion, medicion) ->
+                        total.computeIfAbsent(operacion, o -> new Medicion()).sumar(medicion));
+            }
+            return total;
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Bucle de un cliente: cada hilo envía una petición, espera la respuesta y
+     * repite. Las mediciones se acumulan por hilo y se combinan al final.
+     */
+    private Map<Operacion, Medicion> trabajar(long fin) {
+        Map<Operacion, Medicion> mediciones = new TreeMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < fin) {
+            Operacion operacion = ruleta[random.nextInt(ruleta.length)];
+            HttpRequest peticion = peticion(operacion, random);
+            long inicio = System.nanoTime();
+            boolean exitosa;
+            try {
+                HttpResponse<byte[]> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+                exitosa = respuesta.statusCode() < 400;
+            } catch (Exception e) {
+                exitosa = false;
+            }
+            mediciones.computeIfAbsent(operacion, o -> new Medicion())
+                    .registrar(System.nanoTime() - inicio, exitosa);
+        }
+        return mediciones;
+    }
+
+    private HttpRequest peticion(Operacion operacion, ThreadLocalRandom random) {
+        String token = tokens.get(random.nextInt(tokens.size()));
+        return switch (operacion) {
+            case LISTAR -> get("/api/v1/topicos?page=" + random.nextInt(5) + "&size=10", token);
+            case LISTAR_RESUMEN -> get("/api/v1/topicos?campos=resumen&page=" + random.nextInt(5) + "&size=10", token);
+            case LISTAR_CURSOR -> get("/api/v1/topicos?cursor=&size=20", token);
+            case LISTAR_POR_CURSO -> get("/api/v1/topicos/curso/"
+                    + codificar(CURSOS[random.nextInt(CURSOS.length)]) + "?size=10", token);
+            case DETALLE -> get("/api/v1/topicos/" + idsTopicos.get(random.nextInt(idsTopicos.size())), token);
+            case BUSCAR -> get("/api/v1/topicos/buscar?q="
+                    + codificar(PALABRAS[random.nextInt(PALABRAS.length)] + " "
+                    + PALABRAS[random.nextInt(PALABRAS.length)]), token);
+            case CREAR -> post("/api/v1/topicos", token, Map.of(
+                    "titulo", "Carga " + secuencia.incrementAndGet() + " " + System.nanoTime(),
+                    "mensaje", "Mensaje generado durante la prueba de carga",
+                    "autor", "usuario" + random.nextInt(USUARIOS),
+                    "curso", CURSOS[random.nextInt(CURSOS.length)]));
+            case LOGIN -> post("/auth/login", null, Map.of(
+                    "username", "usuario" + random.nextInt(USUARIOS),
+                    "password", CONTRASENA));
+        };
+    }
+
+    private HttpRequest get(String ruta, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String ruta, String token, Map<String, String> cuerpo) {
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(cuerpo)));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder.build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    // ===============================================
+    // RESULTADOS
+    // ===============================================
+
+    private List<Map<String, Object>> informar(Map<Operacion, Medicion> mediciones, double segundos) {
+        List<Map<String, Object>> informe = new ArrayList<>();
+        long totalPeticiones = 0;
+        // La tabla se arma entera y se registra en un solo mensaje para que no se intercalen otros registros
+        StringBuilder tabla = new StringBuilder(String.format("%n%-18s %9s %7s %9s %9s %9s %9s%n",
+                "endpoint", "peticiones", "errores", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        for (Map.Entry<Operacion, Medicion> entrada : mediciones.entrySet()) {
+            Medicion medicion = entrada.getValue();
+            long[] latencias = medicion.ordenadas();
+            double rps = latencias.length / segundos;
+            double p50 = percentil(latencias, 50);
+            double p95 = percentil(latencias, 95);
+            double p99 = percentil(latencias, 99);
+            totalPeticiones += latencias.length;
+            tabla.append(String.format("%-18s %9d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                    entrada.getKey(), latencias.length, medicion.errores, rps, p50, p95, p99));
+
+            Map<String, Object> fila = new LinkedHashMap<>();
+            fila.put("endpoint", entrada.getKey().name());
+            fila.put("peticiones", latencias.length);
+            fila.put("errores", medicion.errores);
+            fila.put("peticionesPorSegundo", rps);
+            fila.put("p50Ms", p50);
+            fila.put("p95Ms", p95);
+            fila.put("p99Ms", p99);
+            informe.add(fila);
+        }
+        tabla.append(String.format("%-18s %9d %7s %9.1f", "TOTAL", totalPeticiones, "", totalPeticiones / segundos));
+        logger.info("Resultados de la carga:{}", tabla);
+        return informe;
+    }
+
+    private static double percentil(long[] ordenadas, int percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    /**
+     * Latencias (en nanosegundos) y errores de una operación
+     */
+    private static class Medicion {
+
+        private long[] latencias = new long[1024];
+        private int cantidad;
+        private long errores;
+
+        void registrar(long nanos, boolean exitosa) {
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = nanos;
+            if (!exitosa) {
+                errores++;
+            }
+        }
+
+        void sumar(Medicion otra) {
+            for (int i = 0; i < otra.cantidad; i++) {
+                registrar(otra.latencias[i], true);
+            }
+            errores += otra.errores;
+        }
+
+        int cantidad() {
+            return cantidad;
+        }
+
+        long[] ordenadas() {
+            long[] copia = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.alura_foro_api.foro_backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@link CompresionRespuestasFilter} sobre un controlador de prueba: negociación
+ * de gzip, umbral, ETag débil y 304, reutilización de los bytes comprimidos y
+ * respuestas asíncronas.
+ */
+class CompresionRespuestasFilterTest {
+
+    private static final int UMBRAL = 256;
+    private static final String ETAG = "\"v1\"";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void preparar() {
+        CompresionProperties propiedades = new CompresionProperties();
+        propiedades.setUmbral(UMBRAL);
+        meterRegistry = new SimpleMeterRegistry();
+        mockMvc = MockMvcBuilders.standaloneSetup(new ControladorPrueba())
+                .addFilters(new CompresionRespuestasFilter(propiedades, meterRegistry))
+                .build();
+    }
+
+    @Test
+    void comprimeSoloSiElClienteAceptaGzip() throws Exception {
+        assertTrue(comprime("gzip"));
+        assertTrue(comprime("gzip;q=0.5, identity"));
+        assertTrue(comprime("*"));
+        assertTrue(comprime("br;q=1, *;q=0.1"));
+        assertFalse(comprime("gzip;q=0"));
+        assertFalse(comprime("gzip;q=0, *"));
+        assertFalse(comprime("identity"));
+        assertFalse(comprime(null));
+    }
+
+    @Test
+    void noComprimeCuerposPorDebajoDelUmbral() throws Exception {
+        MvcResult chico = pedir("/prueba/json?largo=" + (UMBRAL - 1), "gzip");
+        assertNull(chico.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(UMBRAL - 1, chico.getResponse().getContentAsByteArray().length);
+
+        MvcResult justo = pedir("/prueba/json?largo=" + UMBRAL, "gzip");
+        assertEquals("gzip", justo.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(UMBRAL, descomprimir(justo).length);
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, justo.getResponse().getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void elEtagComprimidoEsDebilYSigueRespondiendo304() throws Exception {
+        MvcResult resultado = pedir("/prueba/json?largo=2000", "gzip");
+        String etag = resultado.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("W/" + ETAG, etag);
+
+        mockMvc.perform(get("/prueba/json?largo=2000")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(resultado304 -> {
+                    assertNull(resultado304.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+                    assertEquals(0, resultado304.getResponse().getContentAsByteArray().length);
+                });
+    }
+
+    @Test
+    void reutilizaLosBytesComprimidosMientrasNoCambieElEtag() throws Exception {
+        // El controlador numera cada respuesta pero mantiene el ETag: la segunda
+        // petición recibe los bytes comprimidos de la primera
+        MvcResult primera = pedir("/prueba/json?largo=2000", "gzip");
+        MvcResult segunda = pedir("/prueba/json?largo=2000", "gzip");
+
+        assertArrayEquals(primera.getResponse().getContentAsByteArray(), segunda.getResponse().getContentAsByteArray());
+        assertTrue(new String(descomprimir(segunda), StandardCharsets.UTF_8).startsWith("{\"n\":1,"));
+        assertEquals(1, aciertosCache());
+    }
+
+    @Test
+    void elMismoEtagConOtroTipoDeContenidoNoReutilizaLosBytes() throws Exception {
+        MvcResult json = pedir("/prueba/tipo", "gzip", MediaType.APPLICATION_JSON_VALUE);
+        MvcResult cbor = pedir("/prueba/tipo", "gzip", "application/cbor");
+
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, json.getResponse().getContentType());
+        assertEquals("application/cbor", cbor.getResponse().getContentType());
+        assertTrue(new String(descomprimir(json), StandardCharsets.UTF_8).startsWith("json"));
+        assertTrue(new String(descomprimir(cbor), StandardCharsets.UTF_8).startsWith("cbor"));
+        assertEquals(0, aciertosCache());
+    }
+
+    @Test
+    void unaRespuestaDiferidaSeComprimeEnElDespachoFinal() throws Exception {
+        MvcResult inicial = mockMvc.perform(get("/prueba/diferido").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(0, inicial.getResponse().getContentAsByteArray().length);
+
+        MvcResult resultado = mockMvc.perform(asyncDispatch(inicial)).andExpect(status().isOk()).andReturn();
+
+        assertEquals("gzip", resultado.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(cuerpo(2000), descomprimir(resultado));
+    }
+
+    @Test
+    void unaRespuestaEnStreamingSeEscribeSinAcumular() throws Exception {
+        MvcResult inicial = mockMvc.perform(get("/prueba/streaming").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        inicial.getAsyncResult();
+        // Lo escrito por el StreamingResponseBody ya está en la respuesta original
+        assertArrayEquals(cuerpo(2000), inicial.getResponse().getContentAsByteArray());
+
+        MvcResult resultado = mockMvc.perform(asyncDispatch(inicial)).andExpect(status().isOk()).andReturn();
+        assertNull(resultado.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(cuerpo(2000), resultado.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void unTipoNoCompresibleSeEscribeSinAcumular() throws Exception {
+        MvcResult resultado = pedir("/prueba/csv", "gzip");
+
+        assertNull(resultado.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("2000", resultado.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(cuerpo(2000), resultado.getResponse().getContentAsByteArray());
+    }
+
+    private boolean comprime(String aceptadas) throws Exception {
+        return "gzip".equals(pedir("/prueba/json?largo=2000", aceptadas)
+                .getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private MvcResult pedir(String uri, String aceptadas) throws Exception {
+        return pedir(uri, aceptadas, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private MvcResult pedir(String uri, String aceptadas, String tipo) throws Exception {
+        var peticion = get(uri).header(HttpHeaders.ACCEPT, tipo);
+        if (aceptadas != null) {
+            peticion.header(HttpHeaders.ACCEPT_ENCODING, aceptadas);
+        }
+        return mockMvc.perform(peticion).andExpect(status().isOk()).andReturn();
+    }
+
+    private double aciertosCache() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "respuestasComprimidas")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    private static byte[] descomprimir(MvcResult resultado) throws IOException {
+        byte[] gzip = resultado.getResponse().getContentAsByteArray();
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return entrada.readAllBytes();
+        }
+    }
+
+    private static byte[] cuerpo(int largo) {
+        return relleno("", largo);
+    }
+
+    private static byte[] relleno(String prefijo, int largo) {
+        byte[] bytes = new byte[largo];
+        byte[] inicio = prefijo.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < largo; i++) {
+            bytes[i] = i < inicio.length ? inicio[i] : (byte) ('a' + i % 26);
+        }
+        return bytes;
+    }
+
+    @RestController
+    static class ControladorPrueba {
+
+        private final AtomicInteger respuestas = new AtomicInteger();
+
+        @GetMapping("/prueba/json")
+        ResponseEntity<byte[]> json(@RequestParam int largo) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(ETAG)
+                    .body(relleno("{\"n\":" + respuestas.incrementAndGet() + ",", largo));
+        }
+
+        @GetMapping("/prueba/tipo")
+        ResponseEntity<byte[]> tipo(@RequestHeader(HttpHeaders.ACCEPT) String aceptado) {
+            MediaType tipo = MediaType.parseMediaType(aceptado);
+            return ResponseEntity.ok()
+                    .contentType(tipo)
+                    .eTag(ETAG)
+                    .body(relleno(tipo.getSubtype(), 2000));
+        }
+
+        @GetMapping("/prueba/diferido")
+        DeferredResult<ResponseEntity<byte[]>> diferido() {
+            DeferredResult<ResponseEntity<byte[]>> resultado = new DeferredResult<>();
+            resultado.setResult(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo(2000)));
+            return resultado;
+        }
+
+        @GetMapping("/prueba/streaming")
+        ResponseEntity<StreamingResponseBody> streaming() {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(salida -> salida.write(cuerpo(2000)));
+        }
+
+        @GetMapping("/prueba/csv")
+        ResponseEntity<byte[]> csv() {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv"))
+                    .contentLength(2000)
+                    .body(cuerpo(2000));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.alura_foro_api.foro_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Enrutamiento entre un primario y dos réplicas, cada uno una base H2 en
+ * memoria distinta con una fila que identifica su origen, y qué errores de
+ * una réplica desvían la lectura al primario.
+ */
+class EnrutadorDataSourceTest {
+
+    private EnrutadorDataSource enrutador;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escritura;
+    private TransactionTemplate lectura;
+    private VentanaLecturaPropia ventana;
+
+    @BeforeEach
+    void preparar() {
+        DataSource primario = base("primario");
+        DataSource replica0 = base("replica0");
+        DataSource replica1 = base("replica1");
+
+        ventana = new VentanaLecturaPropia(Duration.ofMinutes(1));
+        enrutador = new EnrutadorDataSource(primario, List.of(replica0, replica1), ventana);
+        enrutador.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(enrutador);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        escritura = new TransactionTemplate(transactionManager);
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void limpiar() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void escriturasVanAlPrimario() {
+        assertEquals("primario", escritura.execute(estado -> origen()));
+        assertEquals("primario", origen());
+    }
+
+    @Test
+    void lecturasSeRepartenEntreReplicas() {
+        assertEquals("replica0", lectura.execute(estado -> origen()));
+        assertEquals("replica1", lectura.execute(estado -> origen()));
+        assertEquals("replica0", lectura.execute(estado -> origen()));
+    }
+
+    @Test
+    void quienEscribioLeeDelPrimario() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("ana", null, List.of()));
+        assertEquals("replica0", lectura.execute(estado -> origen()));
+
+        ventana.registrarEscritura();
+        assertEquals("primario", lectura.execute(estado -> origen()));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("luis", null, List.of()));
+        assertEquals("replica1", lectura.execute(estado -> origen()));
+    }
+
+    @Test
+    void lecturaForzadaAlPrimario() {
+        assertEquals("primario", EnrutadorDataSource.enPrimario(() -> lectura.execute(estado -> origen())));
+    }
+
+    @Test
+    void unaReplicaQueNoConectaDesviaLaLecturaAlPrimario() {
+        // Así informa Hikari la espera agotada cuando la base no responde
+        usarReplica(fallando(new SQLTransientConnectionException("replica-0 - Connection is not available",
+                new SQLException("Connection refused"))));
+        assertEquals("primario", lectura.execute(estado -> origen()));
+
+        usarReplica(fallando(new SQLException("Connection refused")));
+        assertEquals("primario", lectura.execute(estado -> origen()));
+    }
+
+    @Test
+    void unaReplicaSaturadaNoDesviaLaLecturaAlPrimario() throws SQLException {
+        LimiteConcurrenciaDataSource replica = new LimiteConcurrenciaDataSource(base("replica0"), 1, 20);
+        usarReplica(replica);
+
+        try (Connection ocupada = replica.getConnection()) {
+            DataAccessException error = assertThrows(DataAccessException.class,
+                    () -> lectura.execute(estado -> origen()));
+            assertInstanceOf(SQLTransientConnectionException.class, error.getMostSpecificCause());
+            // Sin transacción la lectura es del primario y no compite por la réplica
+            assertEquals("primario", origen());
+        }
+        assertEquals("replica0", lectura.execute(estado -> origen()));
+    }
+
+    @Test
+    void lasReplicasQuedanDetrasDelLimiteDeConcurrencia() throws Exception {
+        DataSourceProperties propiedadesPrimario = new DataSourceProperties();
+        propiedadesPrimario.setUrl("jdbc:h2:mem:enrutador_primario;DB_CLOSE_DELAY=-1");
+        ReplicasLecturaProperties propiedadesReplicas = new ReplicasLecturaProperties();
+        propiedadesReplicas.setUrls(List.of("jdbc:h2:mem:enrutador_replica0;DB_CLOSE_DELAY=-1"));
+        propiedadesReplicas.setUsuario("sa");
+        propiedadesReplicas.setContrasena("");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("foro.bd.limite-concurrencia.habilitado", "true")
+                .withProperty("foro.bd.limite-concurrencia.maximo", "3");
+
+        try (EnrutadorDataSource conLimite = new ReplicasLecturaConfig().enrutadorDataSource(base("primario"),
+                propiedadesPrimario, propiedadesReplicas, ventana,
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class), environment)) {
+            LimiteConcurrenciaDataSource replica =
+                    assertInstanceOf(LimiteConcurrenciaDataSource.class, conLimite.getReplicas().get(0));
+            assertEquals(3, replica.getPermisosDisponibles());
+        }
+    }
+
+    private void usarReplica(DataSource replica) {
+        enrutador = new EnrutadorDataSource(base("primario"), List.of(replica), ventana);
+        enrutador.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(enrutador);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        lectura = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        lectura.setReadOnly(true);
+    }
+
+    private static DataSource fallando(SQLException error) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class }, (proxy, metodo, argumentos) -> {
+                    if ("getConnection".equals(metodo.getName())) {
+                        throw error;
+                    }
+                    return null;
+                });
+    }
+
+    private String origen() {
+        return jdbcTemplate.queryForObject("SELECT origen FROM marca", String.class);
+    }
+
+    private static DataSource base(String nombre) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:enrutador_" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marca (origen VARCHAR(20))");
+        jdbc.execute("DELETE FROM marca");
+        jdbc.update("INSERT INTO marca VALUES (?)", nombre);
+        return dataSource;
+    }
+}
@@ -0,0 +1,126 @@
+package com.alura_foro_api.foro_backend.config;
+
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Enrutamiento a réplicas con la pila real de la aplicación: Hibernate,
+ * {@link JpaTransactionManager} y el {@link LazyConnectionDataSourceProxy} de
+ * {@link ReplicasLecturaConfig}. El primario y la réplica son dos bases H2
+ * distintas con el mismo tópico bajo títulos diferentes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicas_primario;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "foro.bd.replicas.urls=" + ReplicasLecturaJpaTest.URL_REPLICA,
+        "foro.bd.replicas.usuario=sa",
+        "foro.bd.replicas.contrasena="
+})
+@ActiveProfiles("test")
+class ReplicasLecturaJpaTest {
+
+    static final String URL_REPLICA = "jdbc:h2:mem:replicas_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final long ID = 990_001L;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private VentanaLecturaPropia ventanaLecturaPropia;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private HikariDataSource dataSourcePrimario;
+
+    @BeforeEach
+    void preparar() throws Exception {
+        // La réplica recibe el esquema que Hibernate creó en el primario
+        Path esquema = Files.createTempFile("esquema-topico", ".sql");
+        try (Connection primario = dataSourcePrimario.getConnection();
+             Connection replica = DriverManager.getConnection(URL_REPLICA, "sa", "");
+             Statement enPrimario = primario.createStatement();
+             Statement enReplica = replica.createStatement()) {
+            enPrimario.execute("SCRIPT NODATA TO '" + esquema + "'");
+            enReplica.execute("DROP ALL OBJECTS");
+            enReplica.execute("RUNSCRIPT FROM '" + esquema + "'");
+            insertar(enPrimario, "En el primario");
+            insertar(enReplica, "En la réplica");
+        } finally {
+            Files.deleteIfExists(esquema);
+        }
+    }
+
+    @AfterEach
+    void limpiar() throws SQLException {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(dataSourcePrimario).update("DELETE FROM topico WHERE id = ?", ID);
+    }
+
+    @Test
+    void usaLaPilaJpaConConexionPerezosa() {
+        assertInstanceOf(JpaTransactionManager.class, transactionManager);
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+    }
+
+    @Test
+    void lecturasDelRepositorioVanALaReplica() {
+        assertEquals("En la réplica", titulo());
+    }
+
+    @Test
+    void enPrimarioLeeDelPrimario() {
+        assertEquals("En el primario", EnrutadorDataSource.enPrimario(this::titulo));
+    }
+
+    @Test
+    void quienEscribioHacePocoLeeDelPrimario() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("ana", null, List.of()));
+        assertEquals("En la réplica", titulo());
+
+        ventanaLecturaPropia.registrarEscritura();
+
+        assertEquals("En el primario", titulo());
+    }
+
+    private String titulo() {
+        return topicoRepository.findById(ID).map(Topico::getTitulo).orElse(null);
+    }
+
+    private static void insertar(Statement sentencia, String titulo) throws SQLException {
+        sentencia.execute("INSERT INTO topico (id, titulo, mensaje, autor, curso, curso_normalizado,"
+                + " autor_normalizado, hash_titulo, hash_mensaje, fecha_creacion, fecha_actualizacion,"
+                + " estado, version) VALUES (" + ID + ", '" + titulo + "', 'Mensaje de prueba', 'ana',"
+                + " 'Java', 'java', 'ana', 'h-" + titulo.hashCode() + "', 'm', CURRENT_TIMESTAMP,"
+                + " CURRENT_TIMESTAMP, 'ABIERTO', 0)");
+    }
+}
@@ -0,0 +1,113 @@
+package com.alura_foro_api.foro_backend.controller;
+
+import com.alura_foro_api.foro_backend.dto.RegistroTopicoDTO;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import com.alura_foro_api.foro_backend.security.JwtUtil;
+import com.alura_foro_api.foro_backend.service.LoteTopicosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag y Vary de las respuestas de tópicos cuando el cliente negocia JSON o CBOR.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TopicoControllerTest {
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private LoteTopicosService loteTopicosService;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    private String token;
+    private Long id;
+
+    @BeforeEach
+    void preparar() {
+        topicoRepository.deleteAllInBatch();
+        token = jwtUtil.generateToken("ana");
+        id = loteTopicosService.registrar(List.of(new RegistroTopicoDTO("Negociación", "Mensaje del tópico", "ana", "Java")))
+                .getResultados().get(0).getId();
+    }
+
+    @Test
+    void elDetalleTieneUnEtagPorFormato() throws Exception {
+        String etagJson = etag(pedir("/api/v1/topicos/" + id, MediaType.APPLICATION_JSON)
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)));
+        String etagCbor = etag(pedir("/api/v1/topicos/" + id, CBOR)
+                .andExpect(content().contentTypeCompatibleWith(CBOR)));
+        assertNotEquals(etagJson, etagCbor);
+
+        // El ETag de JSON no valida la copia en CBOR
+        mockMvc.perform(get("/api/v1/topicos/" + id).accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, etagJson)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/topicos/" + id).accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, etagCbor)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void sinAcceptSeUsaElEtagDeJson() throws Exception {
+        String etagJson = etag(pedir("/api/v1/topicos/" + id, MediaType.APPLICATION_JSON));
+        String etagComodin = etag(pedir("/api/v1/topicos/" + id, MediaType.ALL)
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)));
+        assertEquals(etagJson, etagComodin);
+    }
+
+    @Test
+    void losListadosTienenUnEtagPorFormato() throws Exception {
+        String etagJson = etag(pedir("/api/v1/topicos", MediaType.APPLICATION_JSON));
+        String etagCbor = etag(pedir("/api/v1/topicos", CBOR).andExpect(content().contentTypeCompatibleWith(CBOR)));
+        assertNotEquals(etagJson, etagCbor);
+
+        mockMvc.perform(get("/api/v1/topicos").accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, etagCbor)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    private ResultActions pedir(String ruta, MediaType tipo) throws Exception {
+        MockHttpServletRequestBuilder peticion = get(ruta).accept(tipo)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return mockMvc.perform(peticion)
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    private static String etag(ResultActions resultado) {
+        MvcResult respuesta = resultado.andReturn();
+        return respuesta.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
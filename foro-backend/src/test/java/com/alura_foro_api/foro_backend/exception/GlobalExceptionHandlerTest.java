@@ -0,0 +1,50 @@
+package com.alura_foro_api.foro_backend.exception;
+
+import com.alura_foro_api.foro_backend.dto.ErrorResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final WebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/topicos"));
+
+    @Test
+    void elTimeoutDelPoolPideReintentarEnUnSegundo() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out"));
+
+        ResponseEntity<ErrorResponseDTO> respuesta = handler.handleBaseDatosSaturada(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, respuesta.getStatusCode());
+        assertEquals("1", respuesta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(respuesta.getBody().getDescripcion().contains("demasiadas peticiones"));
+    }
+
+    @Test
+    void unaBaseCaidaDevuelveUn503Generico() {
+        DataAccessResourceFailureException ex = new DataAccessResourceFailureException("Unable to acquire JDBC Connection",
+                new SQLNonTransientConnectionException("Communications link failure"));
+
+        ResponseEntity<ErrorResponseDTO> respuesta = handler.handleBaseDatosSaturada(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, respuesta.getStatusCode());
+        assertNull(respuesta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertFalse(respuesta.getBody().getDescripcion().contains("demasiadas peticiones"));
+    }
+}
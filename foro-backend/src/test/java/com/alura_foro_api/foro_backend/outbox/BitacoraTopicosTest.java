@@ -0,0 +1,148 @@
+package com.alura_foro_api.foro_backend.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recuperación y compactación de la bitácora sobre archivos temporales, con
+ * registros dañados escritos a mano como los dejaría una caída.
+ */
+class BitacoraTopicosTest {
+
+    private static final int CAPACIDAD = 4096;
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void releeLosRegistrosAlReabrir() throws IOException {
+        Path archivo = directorio.resolve("bitacora.log");
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            assertTrue(bitacora.recuperados().isEmpty());
+            assertTrue(bitacora.agregar((byte) 1, 10, datos("uno")));
+            assertTrue(bitacora.agregar((byte) 2, 10, datos("dos")));
+            assertTrue(bitacora.agregar((byte) 1, 11, datos("tres")));
+        }
+
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            assertRegistros(bitacora.recuperados(), "uno", "dos", "tres");
+            assertEquals(3 * BitacoraTopicos.ENCABEZADO + 3 * BitacoraTopicos.PIE + 10, bitacora.bytesUsados());
+        }
+    }
+
+    @Test
+    void descartaUnRegistroCortadoSinLargo() throws IOException {
+        Path archivo = directorio.resolve("bitacora.log");
+        int fin;
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            bitacora.agregar((byte) 1, 1, datos("completo"));
+            fin = bitacora.bytesUsados();
+        }
+        // Caída antes de escribir el largo: tipo, id y parte de los datos, con el largo en cero
+        escribir(archivo, fin + Integer.BYTES, new byte[] {1, 0, 0, 0, 0, 0, 0, 0, 2, 'c', 'o', 'r', 't'});
+
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            assertRegistros(bitacora.recuperados(), "completo");
+            assertEquals(fin, bitacora.bytesUsados());
+            // Un registro más corto que los restos no debe dejar bytes viejos detrás
+            bitacora.agregar((byte) 1, 3, datos("x"));
+        }
+
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            assertRegistros(bitacora.recuperados(), "completo", "x");
+        }
+    }
+
+    @Test
+    void descartaDesdeUnCrcInvalido() throws IOException {
+        Path archivo = directorio.resolve("bitacora.log");
+        int finPrimero;
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            bitacora.agregar((byte) 1, 1, datos("primero"));
+            finPrimero = bitacora.bytesUsados();
+            bitacora.agregar((byte) 1, 2, datos("segundo"));
+            bitacora.agregar((byte) 1, 3, datos("tercero"));
+        }
+        // Un byte de datos del segundo registro cambia y su CRC deja de coincidir
+        escribir(archivo, finPrimero + BitacoraTopicos.ENCABEZADO, new byte[] {'S'});
+
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            assertRegistros(bitacora.recuperados(), "primero");
+            assertEquals(finPrimero, bitacora.bytesUsados());
+            bitacora.agregar((byte) 1, 4, datos("cuarto"));
+        }
+
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            assertRegistros(bitacora.recuperados(), "primero", "cuarto");
+        }
+    }
+
+    @Test
+    void compactarReemplazaElArchivoConLosVigentes() throws IOException {
+        Path archivo = directorio.resolve("bitacora.log");
+        Path temporal = directorio.resolve("bitacora.log.tmp");
+        // Restos de una compactación interrumpida antes del movimiento: se ignoran y se pisan
+        Files.write(temporal, datos("basura de una compactación anterior"));
+
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            bitacora.agregar((byte) 1, 1, datos("alta uno"));
+            bitacora.agregar((byte) 1, 2, datos("alta dos"));
+            bitacora.agregar((byte) 2, 1, datos("resultado uno"));
+
+            bitacora.compactar(List.of(new BitacoraTopicos.Registro((byte) 1, 2, datos("alta dos"))));
+
+            assertFalse(Files.exists(temporal));
+            assertEquals(BitacoraTopicos.ENCABEZADO + "alta dos".length() + BitacoraTopicos.PIE,
+                    bitacora.bytesUsados());
+            // Se sigue agregando sobre el archivo nuevo
+            assertTrue(bitacora.agregar((byte) 1, 3, datos("alta tres")));
+        }
+
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, CAPACIDAD)) {
+            assertRegistros(bitacora.recuperados(), "alta dos", "alta tres");
+            assertEquals(2, bitacora.recuperados().get(0).id());
+            assertEquals(3, bitacora.recuperados().get(1).id());
+        }
+    }
+
+    @Test
+    void rechazaRegistrosSinEspacio() throws IOException {
+        Path archivo = directorio.resolve("bitacora.log");
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, 64)) {
+            assertTrue(bitacora.agregar((byte) 1, 1, new byte[20]));
+            assertFalse(bitacora.agregar((byte) 1, 2, new byte[20]));
+            assertEquals(BitacoraTopicos.ENCABEZADO + 20 + BitacoraTopicos.PIE, bitacora.bytesUsados());
+        }
+    }
+
+    private static void assertRegistros(List<BitacoraTopicos.Registro> registros, String... esperados) {
+        assertEquals(esperados.length, registros.size());
+        for (int i = 0; i < esperados.length; i++) {
+            assertArrayEquals(datos(esperados[i]), registros.get(i).datos());
+        }
+    }
+
+    private static byte[] datos(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void escribir(Path archivo, long posicion, byte[] bytes) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(bytes), posicion);
+        }
+    }
+}
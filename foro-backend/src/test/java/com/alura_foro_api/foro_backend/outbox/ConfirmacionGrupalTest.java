@@ -0,0 +1,90 @@
+package com.alura_foro_api.foro_backend.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Confirmación en grupo con un forzado simulado que cuenta sus llamadas.
+ */
+class ConfirmacionGrupalTest {
+
+    private static final int HILOS = 8;
+
+    @Test
+    void unSoloForzadoConfirmaLosRegistrosAgregadosAntes() throws Exception {
+        AtomicLong agregados = new AtomicLong();
+        AtomicInteger forzados = new AtomicInteger();
+        ConfirmacionGrupal confirmacion = new ConfirmacionGrupal(() -> {
+            forzados.incrementAndGet();
+            pausa();
+            return agregados.get();
+        });
+
+        CountDownLatch todosAgregaron = new CountDownLatch(HILOS);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<CompletableFuture<Void>> esperas = new ArrayList<>();
+            for (int i = 0; i < HILOS; i++) {
+                esperas.add(CompletableFuture.runAsync(() -> {
+                    long registro = agregados.incrementAndGet();
+                    todosAgregaron.countDown();
+                    try {
+                        todosAgregaron.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    confirmacion.esperar(registro);
+                }, executor));
+            }
+            CompletableFuture.allOf(esperas.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, forzados.get());
+        assertEquals(1, confirmacion.grupos());
+    }
+
+    @Test
+    void unForzadoFallidoLoReintentaElSiguiente() {
+        AtomicInteger intentos = new AtomicInteger();
+        ConfirmacionGrupal confirmacion = new ConfirmacionGrupal(() -> {
+            if (intentos.incrementAndGet() == 1) {
+                throw new UncheckedIOException(new IOException("disco lleno"));
+            }
+            return 1;
+        });
+
+        assertThrows(UncheckedIOException.class, () -> confirmacion.esperar(1));
+        assertEquals(0, confirmacion.grupos());
+
+        confirmacion.esperar(1);
+        assertEquals(2, intentos.get());
+        assertEquals(1, confirmacion.grupos());
+        // Ya confirmado: no vuelve a forzar
+        confirmacion.esperar(1);
+        assertEquals(2, intentos.get());
+    }
+
+    private static void pausa() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
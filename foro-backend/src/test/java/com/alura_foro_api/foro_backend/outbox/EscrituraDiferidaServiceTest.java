@@ -0,0 +1,209 @@
+package com.alura_foro_api.foro_backend.outbox;
+
+import com.alura_foro_api.foro_backend.config.VentanaLecturaPropia;
+import com.alura_foro_api.foro_backend.dto.EstadoPendienteDTO;
+import com.alura_foro_api.foro_backend.dto.RegistroTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResultadoItemLoteDTO;
+import com.alura_foro_api.foro_backend.dto.ResultadoLoteDTO;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import com.alura_foro_api.foro_backend.service.LoteTopicosService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Escritura diferida con la bitácora en un directorio temporal y el alta en
+ * lote simulada: recuperación al iniciar, límite de reintentos, aislamiento
+ * de las filas que violan restricciones y umbral de compactación.
+ */
+class EscrituraDiferidaServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AtomicLong siguienteIdTopico = new AtomicLong(100);
+    private final List<EscrituraDiferidaService> iniciados = new ArrayList<>();
+    private LoteTopicosService loteTopicosService;
+    private Path archivo;
+
+    @BeforeEach
+    void preparar() {
+        loteTopicosService = mock(LoteTopicosService.class);
+        archivo = directorio.resolve("pendientes.log");
+    }
+
+    @AfterEach
+    void detener() throws IOException {
+        for (EscrituraDiferidaService servicio : iniciados) {
+            servicio.detener();
+        }
+    }
+
+    @Test
+    void reencolaAlIniciarLasAltasSinResultado() throws IOException {
+        LocalDateTime recepcion = LocalDateTime.now().minusMinutes(1);
+        try (BitacoraTopicos bitacora = new BitacoraTopicos(archivo, 64 * 1024)) {
+            bitacora.agregar((byte) 1, 1, objectMapper.writeValueAsBytes(
+                    new EscrituraDiferidaService.Alta(topico("guardado"), recepcion)));
+            bitacora.agregar((byte) 1, 2, objectMapper.writeValueAsBytes(
+                    new EscrituraDiferidaService.Alta(topico("pendiente"), recepcion)));
+            bitacora.agregar((byte) 2, 1, ByteBuffer.allocate(9)
+                    .put((byte) EstadoPendienteDTO.Estado.CREADO.ordinal()).putLong(55).array());
+        }
+        registrarCreados();
+
+        EscrituraDiferidaService servicio = iniciar(10);
+        assertEquals(EstadoPendienteDTO.Estado.CREADO, servicio.estado(1).getEstado());
+        assertEquals(55L, servicio.estado(1).getIdTopico());
+        assertEquals(EstadoPendienteDTO.Estado.PENDIENTE, servicio.estado(2).getEstado());
+
+        servicio.drenar();
+
+        verify(loteTopicosService).registrar(
+                argThat(lote -> lote.size() == 1
+                        && lote.get(0).getTitulo().equals("pendiente")));
+        assertEquals(EstadoPendienteDTO.Estado.CREADO, servicio.estado(2).getEstado());
+        // Los IDs nuevos no repiten los recuperados
+        assertTrue(servicio.aceptar(topico("nuevo")).getIdProvisional() > 2);
+    }
+
+    @Test
+    void marcaFallidoAlAgotarLosReintentos() throws IOException {
+        when(loteTopicosService.registrar(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("sin conexión"));
+        EscrituraDiferidaService servicio = iniciar(3);
+        long id = servicio.aceptar(topico("caído")).getIdProvisional();
+
+        servicio.drenar();
+        servicio.drenar();
+        assertEquals(EstadoPendienteDTO.Estado.PENDIENTE, servicio.estado(id).getEstado());
+        servicio.drenar();
+        assertEquals(EstadoPendienteDTO.Estado.FALLIDO, servicio.estado(id).getEstado());
+        servicio.drenar();
+        verify(loteTopicosService, times(3)).registrar(anyList());
+
+        // El resultado quedó en la bitácora: al reiniciar no se vuelve a intentar
+        servicio.detener();
+        iniciados.remove(servicio);
+        iniciar(3).drenar();
+        verify(loteTopicosService, times(3)).registrar(anyList());
+    }
+
+    @Test
+    void aislaLasFilasQueViolanRestricciones() throws IOException {
+        when(loteTopicosService.registrar(anyList())).thenAnswer(invocacion -> {
+            List<RegistroTopicoDTO> lote = invocacion.getArgument(0);
+            if (lote.stream().anyMatch(datos -> datos.getTitulo().startsWith("malo"))) {
+                throw new DataIntegrityViolationException("clave duplicada");
+            }
+            return creados(lote);
+        });
+        EscrituraDiferidaService servicio = iniciar(10);
+        List<Long> ids = new ArrayList<>();
+        for (String titulo : List.of("bueno 1", "malo 1", "bueno 2", "bueno 3", "bueno 4", "malo 2", "bueno 5")) {
+            ids.add(servicio.aceptar(topico(titulo)).getIdProvisional());
+        }
+
+        servicio.drenar();
+
+        List<EstadoPendienteDTO.Estado> estados = ids.stream().map(id -> servicio.estado(id).getEstado()).toList();
+        EstadoPendienteDTO.Estado creado = EstadoPendienteDTO.Estado.CREADO;
+        EstadoPendienteDTO.Estado fallido = EstadoPendienteDTO.Estado.FALLIDO;
+        assertEquals(List.of(creado, fallido, creado, creado, creado, fallido, creado), estados);
+    }
+
+    @Test
+    void sinErroresNoReintenta() throws IOException {
+        registrarCreados();
+        EscrituraDiferidaService servicio = iniciar(10);
+        servicio.drenar();
+        verify(loteTopicosService, never()).registrar(anyList());
+
+        long id = servicio.aceptar(topico("único")).getIdProvisional();
+        servicio.drenar();
+        servicio.drenar();
+        verify(loteTopicosService, times(1)).registrar(anyList());
+        assertEquals(EstadoPendienteDTO.Estado.CREADO, servicio.estado(id).getEstado());
+    }
+
+    @Test
+    void compactaSoloAlSuperarElUmbral() throws IOException {
+        registrarCreados();
+        EscrituraDiferidaService servicio = iniciar(10);
+        ReflectionTestUtils.setField(servicio, "sincronizar", true);
+
+        long primero = servicio.aceptar(topico("primero")).getIdProvisional();
+        servicio.drenar();
+        // Sin pendientes pero lejos del umbral: la alta y su resultado siguen en la bitácora
+        int usados = servicio.bytesUsados();
+        assertTrue(usados > 0);
+
+        ReflectionTestUtils.setField(servicio, "umbralCompactacion", (double) usados / (64 * 1024));
+        long segundo = servicio.aceptar(topico("segundo")).getIdProvisional();
+        servicio.drenar();
+        assertEquals(0, servicio.bytesUsados());
+        assertEquals(EstadoPendienteDTO.Estado.CREADO, servicio.estado(primero).getEstado());
+        assertEquals(EstadoPendienteDTO.Estado.CREADO, servicio.estado(segundo).getEstado());
+    }
+
+    private EscrituraDiferidaService iniciar(int reintentosMaximos) throws IOException {
+        EscrituraDiferidaService servicio = new EscrituraDiferidaService(loteTopicosService,
+                mock(TopicoRepository.class), new VentanaLecturaPropia(Duration.ofSeconds(5)), objectMapper);
+        ReflectionTestUtils.setField(servicio, "archivo", archivo);
+        ReflectionTestUtils.setField(servicio, "capacidad", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(servicio, "sincronizar", false);
+        ReflectionTestUtils.setField(servicio, "tamanoLote", 500);
+        ReflectionTestUtils.setField(servicio, "retencionResultados", Duration.ofHours(1));
+        // Sin pausa entre intentos para no esperar en la prueba
+        ReflectionTestUtils.setField(servicio, "intervalo", Duration.ZERO);
+        ReflectionTestUtils.setField(servicio, "reintentosMaximos", reintentosMaximos);
+        ReflectionTestUtils.setField(servicio, "umbralCompactacion", 0.5);
+        servicio.iniciar();
+        iniciados.add(servicio);
+        return servicio;
+    }
+
+    private void registrarCreados() {
+        when(loteTopicosService.registrar(anyList()))
+                .thenAnswer(invocacion -> creados(invocacion.getArgument(0)));
+    }
+
+    private ResultadoLoteDTO creados(List<RegistroTopicoDTO> lote) {
+        List<ResultadoItemLoteDTO> resultados = new ArrayList<>();
+        for (int i = 0; i < lote.size(); i++) {
+            resultados.add(ResultadoItemLoteDTO.creado(i, siguienteIdTopico.getAndIncrement()));
+        }
+        return new ResultadoLoteDTO(resultados);
+    }
+
+    private static RegistroTopicoDTO topico(String titulo) {
+        return new RegistroTopicoDTO(titulo, "Mensaje de " + titulo, "ana", "Java");
+    }
+}
@@ -0,0 +1,110 @@
+package com.alura_foro_api.foro_backend.search;
+
+import com.alura_foro_api.foro_backend.dto.DetalleTopicoDTO;
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reconstrucción del índice con eventos que llegan mientras se lee la tabla,
+ * y paginación de los resultados, con el repositorio simulado.
+ */
+class BusquedaTopicosServiceTest {
+
+    private TopicoRepository topicoRepository;
+    private BusquedaTopicosService servicio;
+
+    @BeforeEach
+    void preparar() {
+        topicoRepository = mock(TopicoRepository.class);
+        servicio = new BusquedaTopicosService(topicoRepository);
+        ReflectionTestUtils.setField(servicio, "tamanoLote", 100);
+    }
+
+    @Test
+    void laReconstruccionNoPisaCambiosLlegadosDuranteLaLectura() {
+        Topico editado = topico(1L, "Spring viejo");
+        Topico eliminado = topico(2L, "Spring eliminado");
+        Topico intacto = topico(3L, "Spring intacto");
+        when(topicoRepository.findPrimerosPorFecha(any(Pageable.class))).thenAnswer(invocacion -> {
+            // La lectura ya tomó las filas cuando llegan la edición y el borrado
+            servicio.alCambiarTopico(TopicoEvento.actualizado(1L, new DetalleTopicoDTO(editado),
+                    new DetalleTopicoDTO(topico(1L, "Spring nuevo"))));
+            servicio.alCambiarTopico(TopicoEvento.eliminado(2L, new DetalleTopicoDTO(eliminado)));
+            return new SliceImpl<>(List.of(editado, eliminado, intacto));
+        });
+        when(topicoRepository.findAllById(anyIterable())).thenAnswer(invocacion -> {
+            Iterable<Long> ids = invocacion.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false).map(id -> topico(id, "Spring")).toList();
+        });
+
+        servicio.reconstruir();
+
+        assertEquals(List.of(1L, 3L), ids(servicio.buscar("spring", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L), ids(servicio.buscar("nuevo", PageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(servicio.buscar("viejo", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void elTotalDescuentaLosTopicosQueYaNoEstanEnLaTabla() {
+        when(topicoRepository.findPrimerosPorFecha(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(
+                topico(1L, "Java uno"), topico(2L, "Java dos"), topico(3L, "Java tres"))));
+        // El 2 se eliminó de la tabla pero su evento aún no llegó al índice
+        when(topicoRepository.findAllById(anyIterable())).thenAnswer(invocacion -> {
+            Iterable<Long> ids = invocacion.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false)
+                    .filter(id -> id != 2L)
+                    .map(id -> topico(id, "Java"))
+                    .toList();
+        });
+        servicio.reconstruir();
+
+        Page<DetalleTopicoDTO> pagina = servicio.buscar("java", PageRequest.of(0, 10));
+
+        assertEquals(2, pagina.getContent().size());
+        assertEquals(2, pagina.getTotalElements());
+    }
+
+    @Test
+    void unDesplazamientoFueraDeRangoDevuelveUnaPaginaVacia() {
+        when(topicoRepository.findPrimerosPorFecha(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(topico(1L, "Java"))));
+        when(topicoRepository.findAllById(anyIterable())).thenReturn(List.of());
+        servicio.reconstruir();
+
+        Page<DetalleTopicoDTO> pagina = servicio.buscar("java", PageRequest.of(Integer.MAX_VALUE / 10, 10));
+
+        assertEquals(List.of(), pagina.getContent());
+    }
+
+    private static List<Long> ids(Page<DetalleTopicoDTO> pagina) {
+        return pagina.getContent().stream().map(DetalleTopicoDTO::getId).sorted().toList();
+    }
+
+    private static Topico topico(Long id, String titulo) {
+        Topico topico = new Topico();
+        topico.setId(id);
+        topico.setTitulo(titulo);
+        topico.setMensaje("Mensaje");
+        topico.setAutor("ana");
+        topico.setCurso("Java");
+        topico.setFechaCreacion(LocalDateTime.now());
+        return topico;
+    }
+}
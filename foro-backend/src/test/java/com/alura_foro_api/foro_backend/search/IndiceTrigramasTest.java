@@ -0,0 +1,166 @@
+package com.alura_foro_api.foro_backend.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceTrigramasTest {
+
+    @Test
+    void encuentraSubcadenasDeMayorAMenorId() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.indexar(1, "Spring Boot");
+        indice.indexar(2, "Java");
+        indice.indexar(3, "Spring Boot");
+        indice.indexar(4, "Bootstrap");
+
+        assertArrayEquals(new long[] {4, 3, 1}, indice.topicosQueContienen("boot"));
+        assertArrayEquals(new long[] {3, 1}, indice.topicosQueContienen("  ING BO "));
+        assertArrayEquals(new long[0], indice.topicosQueContienen("python"));
+        assertArrayEquals(new long[0], indice.topicosQueContienen(""));
+        assertEquals(3, indice.cantidadValores());
+        assertEquals(4, indice.cantidadTopicos());
+    }
+
+    @Test
+    void verificaLosCandidatosQueSoloCompartenTrigramas() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        // "abcabd" tiene los trigramas de "abcab" y de "bcabd" pero no contiene "abcabcabd"
+        indice.indexar(1, "abcabd");
+        indice.indexar(2, "abcabcabd");
+
+        assertArrayEquals(new long[] {2}, indice.topicosQueContienen("abcabcab"));
+    }
+
+    @Test
+    void textosCortosRecorrenLosValores() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.indexar(1, "Go");
+        indice.indexar(2, "Django");
+        indice.indexar(3, "Java");
+
+        assertArrayEquals(new long[] {2, 1}, indice.topicosQueContienen("go"));
+        assertArrayEquals(new long[] {3, 2}, indice.topicosQueContienen("a"));
+        assertEquals(List.of(new IndiceTrigramas.Valor("Django", 1), new IndiceTrigramas.Valor("Go", 1)),
+                indice.valoresQueContienen("G", 10));
+    }
+
+    @Test
+    void ignoraAcentosYMayusculas() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.indexar(1, "Programación Orientada a Objetos");
+        indice.indexar(2, "José Pérez");
+
+        assertArrayEquals(new long[] {1}, indice.topicosQueContienen("PROGRAMACION"));
+        assertArrayEquals(new long[] {1}, indice.topicosQueContienen("ción"));
+        assertArrayEquals(new long[] {2}, indice.topicosQueContienen("jose p"));
+        // El autocompletado devuelve la forma original
+        assertEquals(List.of(new IndiceTrigramas.Valor("José Pérez", 1)), indice.valoresQueContienen("perez", 5));
+    }
+
+    @Test
+    void reindexarUnTopicoEditadoQuitaElValorAnterior() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.indexar(1, "Spring Boot");
+        indice.indexar(2, "Spring Boot");
+
+        indice.indexar(1, "Quarkus");
+        assertArrayEquals(new long[] {2}, indice.topicosQueContienen("spring"));
+        assertArrayEquals(new long[] {1}, indice.topicosQueContienen("quark"));
+        assertEquals(List.of(new IndiceTrigramas.Valor("Spring Boot", 1)), indice.valoresQueContienen("boot", 5));
+
+        // El último tópico del valor se va y el valor deja de ofrecerse
+        indice.indexar(2, "Quarkus");
+        assertEquals(List.of(), indice.valoresQueContienen("boot", 5));
+        assertEquals(List.of(new IndiceTrigramas.Valor("Quarkus", 2)), indice.valoresQueContienen("kus", 5));
+        assertEquals(1, indice.cantidadValores());
+
+        // Un valor vacío solo retira el tópico
+        indice.indexar(2, " ");
+        assertArrayEquals(new long[] {1}, indice.topicosQueContienen("quarkus"));
+    }
+
+    @Test
+    void eliminarRetiraElTopico() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.indexar(1, "Kotlin");
+        indice.indexar(2, "Kotlin");
+
+        indice.eliminar(1);
+        indice.eliminar(99);
+        assertArrayEquals(new long[] {2}, indice.topicosQueContienen("kotlin"));
+        indice.eliminar(2);
+        assertArrayEquals(new long[0], indice.topicosQueContienen("kotlin"));
+        assertEquals(0, indice.cantidadValores());
+        assertEquals(0, indice.cantidadTopicos());
+    }
+
+    @Test
+    void compactaLosIdsInternosYSigueRespondiendo() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        for (int i = 0; i < 3000; i++) {
+            indice.indexar(i, "curso " + i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            if (i % 10 != 0) {
+                indice.eliminar(i);
+            }
+        }
+
+        int siguienteId = (int) ReflectionTestUtils.getField(indice, "siguienteId");
+        assertTrue(siguienteId < 3000, "se esperaban IDs internos reasignados, hay " + siguienteId);
+        assertEquals(300, indice.cantidadValores());
+        assertArrayEquals(new long[] {2990, 1990, 990}, indice.topicosQueContienen("990"));
+        assertArrayEquals(new long[] {990}, indice.topicosQueContienen("curso 990"));
+        assertArrayEquals(new long[0], indice.topicosQueContienen("curso 991"));
+
+        indice.indexar(5000, "curso 990");
+        indice.indexar(10, "otro");
+        assertEquals(List.of(new IndiceTrigramas.Valor("curso 990", 2)), indice.valoresQueContienen("curso 990", 1));
+        assertArrayEquals(new long[] {10}, indice.topicosQueContienen("otro"));
+    }
+
+    @Test
+    void coincideConUnaBusquedaPorFuerzaBruta() {
+        Random azar = new Random(3);
+        String[] valores = {"Spring Boot", "spring", "Java", "JavaScript", "Programación", "Go", "Ágil", "agile",
+                "Bases de datos", "Data Science", "Docker", "Kubernetes", "Boot camp", "Scrum"};
+        String[] consultas = {"a", "ja", "java", "spring b", "boot", "ión", "AGIL", "data", "er", "script", "x", "c"};
+        IndiceTrigramas indice = new IndiceTrigramas();
+        Map<Long, String> esperado = new HashMap<>();
+
+        for (int paso = 0; paso < 5000; paso++) {
+            long idTopico = azar.nextInt(400);
+            if (azar.nextInt(4) == 0) {
+                indice.eliminar(idTopico);
+                esperado.remove(idTopico);
+            } else {
+                String valor = valores[azar.nextInt(valores.length)] + (azar.nextBoolean() ? "" : " " + azar.nextInt(1500));
+                indice.indexar(idTopico, valor);
+                esperado.put(idTopico, valor);
+            }
+
+            if (paso % 250 == 0) {
+                for (String consulta : consultas) {
+                    String buscado = IndiceTrigramas.normalizar(consulta);
+                    long[] ids = esperado.entrySet().stream()
+                            .filter(entrada -> IndiceTrigramas.normalizar(entrada.getValue()).contains(buscado))
+                            .mapToLong(Map.Entry::getKey)
+                            .map(id -> -id).sorted().map(id -> -id)
+                            .toArray();
+                    assertArrayEquals(ids, indice.topicosQueContienen(consulta),
+                            () -> "consulta '" + consulta + "': " + Arrays.toString(indice.topicosQueContienen(consulta)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.alura_foro_api.foro_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ListaEnterosTest {
+
+    @Test
+    void agregaYQuitaManteniendoElOrden() {
+        ListaEnteros lista = lista(1, 3, 5, 7, 9);
+
+        assertTrue(lista.quitar(5));
+        assertFalse(lista.quitar(5));
+        assertFalse(lista.quitar(4));
+        assertArrayEquals(new int[] {1, 3, 7, 9}, lista.copiar());
+
+        lista.agregarAlFinal(11);
+        assertArrayEquals(new int[] {1, 3, 7, 9, 11}, lista.copiar());
+        assertEquals(5, lista.tamano());
+    }
+
+    @Test
+    void quedaVaciaAlQuitarElUltimo() {
+        ListaEnteros lista = lista(2);
+        assertTrue(lista.quitar(2));
+        assertTrue(lista.estaVacia());
+        assertArrayEquals(new int[0], lista.copiar());
+
+        lista.agregarAlFinal(4);
+        assertArrayEquals(new int[] {4}, lista.copiar());
+    }
+
+    @Test
+    void intersectaRecorriendoOSaltando() {
+        ListaEnteros pares = lista(IntStream.range(0, 1000).map(i -> i * 2).toArray());
+
+        // Pocos candidatos contra una lista larga: avanza por búsqueda binaria
+        int[] pocos = {3, 4, 10, 999, 1998, 2000};
+        assertEquals(3, pares.intersectar(pocos, pocos.length));
+        assertArrayEquals(new int[] {4, 10, 1998}, Arrays.copyOf(pocos, 3));
+
+        // Tamaños parecidos: recorre ambas listas
+        int[] muchos = IntStream.range(0, 500).map(i -> i * 3).toArray();
+        int cantidad = pares.intersectar(muchos, muchos.length);
+        assertArrayEquals(IntStream.range(0, 500).map(i -> i * 3).filter(i -> i % 2 == 0 && i < 2000).toArray(),
+                Arrays.copyOf(muchos, cantidad));
+    }
+
+    @Test
+    void intersectaComoUnaInterseccionDeConjuntos() {
+        Random azar = new Random(42);
+        for (int prueba = 0; prueba < 200; prueba++) {
+            int[] a = IntStream.generate(() -> azar.nextInt(500)).limit(azar.nextInt(300)).sorted().distinct().toArray();
+            int[] b = IntStream.generate(() -> azar.nextInt(500)).limit(azar.nextInt(30)).sorted().distinct().toArray();
+            int[] esperado = Arrays.stream(b).filter(valor -> Arrays.binarySearch(a, valor) >= 0).toArray();
+
+            int[] candidatos = b.clone();
+            int cantidad = lista(a).intersectar(candidatos, candidatos.length);
+            assertArrayEquals(esperado, Arrays.copyOf(candidatos, cantidad));
+        }
+    }
+
+    private static ListaEnteros lista(int... valores) {
+        ListaEnteros lista = new ListaEnteros();
+        for (int valor : valores) {
+            lista.agregarAlFinal(valor);
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,54 @@
+package com.alura_foro_api.foro_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MapaLargoEnteroTest {
+
+    @Test
+    void poneReemplazaYQuita() {
+        MapaLargoEntero mapa = new MapaLargoEntero();
+        mapa.poner(10L, 1);
+        mapa.poner(Long.MAX_VALUE, 2);
+        mapa.poner(10L, 3);
+
+        assertEquals(2, mapa.tamano());
+        assertEquals(3, mapa.obtener(10L));
+        assertEquals(2, mapa.obtener(Long.MAX_VALUE));
+        assertEquals(MapaLargoEntero.AUSENTE, mapa.obtener(11L));
+
+        assertEquals(3, mapa.quitar(10L));
+        assertEquals(MapaLargoEntero.AUSENTE, mapa.quitar(10L));
+        assertEquals(MapaLargoEntero.AUSENTE, mapa.obtener(10L));
+        assertEquals(1, mapa.tamano());
+    }
+
+    @Test
+    void coincideConUnHashMapTrasMuchasAltasYBajas() {
+        Random azar = new Random(7);
+        MapaLargoEntero mapa = new MapaLargoEntero();
+        Map<Long, Integer> esperado = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            // Claves con la misma parte baja para forzar colisiones
+            long clave = (long) azar.nextInt(2_000) << 32;
+            if (azar.nextInt(3) == 0) {
+                assertEquals(esperado.getOrDefault(clave, MapaLargoEntero.AUSENTE), mapa.quitar(clave));
+                esperado.remove(clave);
+            } else {
+                int valor = azar.nextInt(1_000_000);
+                mapa.poner(clave, valor);
+                esperado.put(clave, valor);
+            }
+        }
+
+        assertEquals(esperado.size(), mapa.tamano());
+        for (long clave = 0; clave < 2_000; clave++) {
+            assertEquals(esperado.getOrDefault(clave << 32, MapaLargoEntero.AUSENTE), mapa.obtener(clave << 32));
+        }
+    }
+}
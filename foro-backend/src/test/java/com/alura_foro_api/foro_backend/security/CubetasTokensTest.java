@@ -0,0 +1,74 @@
+package com.alura_foro_api.foro_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Cubetas con un reloj controlado: capacidad 3 cada 3 s, un token por segundo.
+ */
+class CubetasTokensTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+    // Un origen arbitrario, como los valores de System.nanoTime()
+    private static final long INICIO = -5_000 * SEGUNDO;
+
+    private final CubetasTokens cubetas = new CubetasTokens(3, 3 * SEGUNDO);
+
+    @Test
+    void admiteUnaRafagaDeLaCapacidad() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, cubetas.consumir("ip:1", INICIO));
+        }
+        assertEquals(SEGUNDO, cubetas.consumir("ip:1", INICIO));
+        assertEquals(SEGUNDO / 2, cubetas.consumir("ip:1", INICIO + SEGUNDO / 2));
+        // Otro cliente tiene su propia cubeta
+        assertEquals(0, cubetas.consumir("ip:2", INICIO));
+    }
+
+    @Test
+    void reponeUnTokenPorIntervalo() {
+        for (int i = 0; i < 3; i++) {
+            cubetas.consumir("u:ana", INICIO);
+        }
+
+        assertEquals(0, cubetas.consumir("u:ana", INICIO + SEGUNDO));
+        assertEquals(SEGUNDO, cubetas.consumir("u:ana", INICIO + SEGUNDO));
+        // Tras un período completo sin peticiones vuelve a admitir la ráfaga entera
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, cubetas.consumir("u:ana", INICIO + 5 * SEGUNDO));
+        }
+        assertEquals(SEGUNDO, cubetas.consumir("u:ana", INICIO + 5 * SEGUNDO));
+    }
+
+    @Test
+    void purgarEliminaSoloLasCubetasLlenas() {
+        cubetas.consumir("ip:1", INICIO);
+        for (int i = 0; i < 3; i++) {
+            cubetas.consumir("ip:2", INICIO);
+        }
+
+        assertEquals(0, cubetas.purgar(INICIO + SEGUNDO / 2));
+        assertEquals(1, cubetas.purgar(INICIO + SEGUNDO));
+        assertEquals(1, cubetas.tamano());
+        assertEquals(1, cubetas.purgar(INICIO + 3 * SEGUNDO));
+        assertEquals(0, cubetas.tamano());
+        assertEquals(0, cubetas.consumir("ip:2", INICIO + 3 * SEGUNDO));
+    }
+
+    @Test
+    void rechazaCapacidadMenorQueUno() {
+        assertThrows(IllegalArgumentException.class, () -> new CubetasTokens(0, SEGUNDO));
+    }
+
+    @Test
+    void retryAfterRedondeaHaciaArriba() {
+        assertEquals(1, LimiteTasaFilter.segundosDeEspera(1));
+        assertEquals(1, LimiteTasaFilter.segundosDeEspera(SEGUNDO));
+        assertEquals(2, LimiteTasaFilter.segundosDeEspera(SEGUNDO + 1));
+        assertEquals(60, LimiteTasaFilter.segundosDeEspera(60 * SEGUNDO - 1));
+    }
+}
@@ -0,0 +1,105 @@
+package com.alura_foro_api.foro_backend.security;
+
+import com.alura_foro_api.foro_backend.model.Usuario;
+import com.alura_foro_api.foro_backend.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Una petición que supera el límite recibe 429 antes de verificar el JWT o
+ * calcular BCrypt. El perfil de pruebas desactiva el límite; aquí se activa con
+ * una ráfaga de una sola petición para el login y la API.
+ */
+@SpringBootTest(properties = {
+        "foro.limite-tasa.habilitado=true",
+        // Una lista indexada se reemplaza completa: solo quedan estas dos reglas
+        "foro.limite-tasa.rutas[0].patron=/auth/login",
+        "foro.limite-tasa.rutas[0].clave=IP",
+        "foro.limite-tasa.rutas[0].capacidad=1",
+        "foro.limite-tasa.rutas[0].periodo=1m",
+        "foro.limite-tasa.rutas[1].patron=/api/**",
+        "foro.limite-tasa.rutas[1].clave=USUARIO",
+        "foro.limite-tasa.rutas[1].capacidad=1",
+        "foro.limite-tasa.rutas[1].periodo=1m"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LimiteTasaFilterTest {
+
+    private static final String LOGIN = "{\"username\":\"limitado\",\"password\":\"secreto123\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @SpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @SpyBean
+    private JwtUtil jwtUtil;
+
+    @Test
+    void loginRechazadoNoCalculaBCrypt() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("limitado");
+        usuario.setPassword(passwordEncoder.encode("secreto123"));
+        usuarioRepository.save(usuario);
+
+        MvcResult primero = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(primero)).andExpect(status().isOk());
+        verify(passwordEncoder, atLeastOnce()).matches(any(), anyString());
+        clearInvocations(passwordEncoder);
+
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, matchesPattern("[1-9][0-9]?")))
+                .andExpect(jsonPath("$.codigo").value(429));
+
+        verify(passwordEncoder, never()).matches(any(), anyString());
+    }
+
+    @Test
+    void peticionRechazadaNoVerificaElJwt() throws Exception {
+        String token = jwtUtil.generateToken("ana");
+        // Ya verificado: el límite lo cuenta por usuario desde la primera petición
+        jwtUtil.validarToken(token);
+        String autorizacion = "Bearer " + token;
+        mockMvc.perform(get("/api/v1/topicos").header(HttpHeaders.AUTHORIZATION, autorizacion))
+                .andExpect(status().isOk());
+        verify(jwtUtil, atLeastOnce()).validarToken(anyString());
+        clearInvocations(jwtUtil);
+
+        mockMvc.perform(get("/api/v1/topicos").header(HttpHeaders.AUTHORIZATION, autorizacion))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        verify(jwtUtil, never()).validarToken(anyString());
+    }
+}
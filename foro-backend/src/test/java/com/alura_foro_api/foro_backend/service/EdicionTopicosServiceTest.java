@@ -0,0 +1,219 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.dto.ActualizacionTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.RegistroTopicoDTO;
+import com.alura_foro_api.foro_backend.exception.ConflictoVersionException;
+import com.alura_foro_api.foro_backend.exception.RecursoNoEncontradoException;
+import com.alura_foro_api.foro_backend.exception.TopicoYaExisteException;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import com.alura_foro_api.foro_backend.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Edición parcial con {@link EdicionTopicosService#editar}: una sola sentencia
+ * sobre las columnas enviadas, incremento de versión y los conflictos que se
+ * responden con 404 o 409, incluido el PUT que guarda una copia desactualizada.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EdicionTopicosServiceTest {
+
+    @Autowired
+    private EdicionTopicosService edicionTopicosService;
+
+    @Autowired
+    private LoteTopicosService loteTopicosService;
+
+    @Autowired
+    private TopicoService topicoService;
+
+    @SpyBean
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Statistics estadisticas;
+    private String token;
+    private Long id;
+
+    @BeforeEach
+    void preparar() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        topicoRepository.deleteAllInBatch();
+        token = jwtUtil.generateToken("ana");
+        id = crear("Tópico a editar", "Mensaje original del tópico");
+    }
+
+    @Test
+    void unaEdicionEsUnSoloUpdateSobreLasColumnasEnviadas() {
+        // Con el detalle en cache el evento lleva el estado resultante y ningún
+        // receptor vuelve a consultar el tópico
+        topicoService.detalle(id);
+        Topico antes = leer(id);
+
+        estadisticas.clear();
+        EdicionTopicosService.Edicion edicion = edicionTopicosService.editar(id, edicion(antes.getVersion(), "Título nuevo"));
+
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        String[] consultas = estadisticas.getQueries();
+        assertEquals(1, consultas.length, Arrays.toString(consultas));
+        String update = consultas[0];
+        assertTrue(update.startsWith("UPDATE Topico"), update);
+        assertTrue(update.contains("t.titulo = :titulo") && update.contains("t.hashTitulo = :hashTitulo"), update);
+        assertFalse(update.contains("t.mensaje") || update.contains("t.autor") || update.contains("t.curso"), update);
+        assertEquals(0, estadisticas.getEntityLoadCount());
+
+        Topico despues = leer(id);
+        assertEquals(antes.getVersion() + 1, edicion.version());
+        assertEquals(edicion.version(), despues.getVersion());
+        assertEquals("Título nuevo", despues.getTitulo());
+        assertEquals(Topico.huella("Título nuevo"), despues.getHashTitulo());
+        assertEquals(antes.getMensaje(), despues.getMensaje());
+        assertEquals(antes.getHashMensaje(), despues.getHashMensaje());
+    }
+
+    @Test
+    void unaVersionDesactualizadaEsUnConflicto() throws Exception {
+        Long version = leer(id).getVersion();
+        edicionTopicosService.editar(id, edicion(version, "Primera edición"));
+
+        assertThrows(ConflictoVersionException.class,
+                () -> edicionTopicosService.editar(id, edicion(version, "Segunda edición")));
+        assertEquals("Primera edición", leer(id).getTitulo());
+
+        mockMvc.perform(patch("/api/v1/topicos/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": " + version + ", \"titulo\": \"Segunda edición\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.codigo", is(409)));
+    }
+
+    @Test
+    void unTopicoInexistenteEsNoEncontrado() throws Exception {
+        Long inexistente = id + 1000;
+        assertThrows(RecursoNoEncontradoException.class,
+                () -> edicionTopicosService.editar(inexistente, edicion(0L, "Título nuevo")));
+
+        mockMvc.perform(patch("/api/v1/topicos/" + inexistente)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": 0, \"titulo\": \"Título nuevo\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.codigo", is(404)));
+    }
+
+    @Test
+    void coincidirConElContenidoDeOtroTopicoEsUnConflicto() throws Exception {
+        crear("Título de otro", "Mensaje original del tópico");
+        Long version = leer(id).getVersion();
+
+        assertThrows(TopicoYaExisteException.class,
+                () -> edicionTopicosService.editar(id, edicion(version, "Título de otro")));
+        assertEquals(version, leer(id).getVersion());
+
+        mockMvc.perform(patch("/api/v1/topicos/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": " + version + ", \"titulo\": \"Título de otro\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensaje", is("Tópico duplicado")));
+    }
+
+    @Test
+    void unPutGuardaElReemplazoYSubeLaVersion() throws Exception {
+        Long version = leer(id).getVersion();
+
+        mockMvc.perform(put("/api/v1/topicos/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\": \"Título del PUT\", \"mensaje\": \"Mensaje reemplazado por el PUT\","
+                                + " \"autor\": \"luis\", \"curso\": \"Java\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is((int) (version + 1))));
+
+        Topico despues = leer(id);
+        assertEquals("Título del PUT", despues.getTitulo());
+        assertEquals("luis", despues.getAutor());
+        assertEquals(version + 1, despues.getVersion());
+    }
+
+    @Test
+    void unPutSobreUnaCopiaDesactualizadaEsUnConflicto() throws Exception {
+        // Otra petición edita el tópico entre la lectura del PUT y su guardado; las
+        // lecturas siguientes (la del índice de búsqueda al recibir el evento) son normales
+        doAnswer(invocacion -> {
+            Topico leido = leer(id);
+            // En otro hilo, con su propia transacción, como otra petición
+            CompletableFuture.runAsync(() -> edicionTopicosService.editar(
+                    id, edicion(leido.getVersion(), "Edición concurrente"))).join();
+            return Optional.of(leido);
+        }).doAnswer(invocacion -> Optional.of(leer(id))).when(topicoRepository).findById(id);
+
+        mockMvc.perform(put("/api/v1/topicos/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\": \"Título del PUT\", \"mensaje\": \"Mensaje reemplazado por el PUT\","
+                                + " \"autor\": \"ana\", \"curso\": \"Java\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.codigo", is(409)));
+
+        assertEquals("Edición concurrente", leer(id).getTitulo());
+    }
+
+    private Long crear(String titulo, String mensaje) {
+        return loteTopicosService.registrar(List.of(new RegistroTopicoDTO(titulo, mensaje, "ana", "Java")))
+                .getResultados().get(0).getId();
+    }
+
+    /**
+     * Lee el tópico sin pasar por {@code findById}, que el PUT concurrente reemplaza
+     */
+    private Topico leer(Long id) {
+        return topicoRepository.findAllById(List.of(id)).get(0);
+    }
+
+    private static ActualizacionTopicoDTO edicion(Long version, String titulo) {
+        ActualizacionTopicoDTO datos = new ActualizacionTopicoDTO();
+        datos.setVersion(version);
+        datos.setTitulo(titulo);
+        return datos;
+    }
+}
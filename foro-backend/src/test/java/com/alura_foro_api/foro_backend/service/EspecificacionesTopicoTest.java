@@ -0,0 +1,118 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica con EXPLAIN de H2 que los filtros de curso y autor usan los índices
+ * compuestos sobre las columnas normalizadas, y que la consulta generada solo
+ * contiene las condiciones de los criterios presentes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EspecificacionesTopicoTest {
+
+    private static final PageRequest PAGINA = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "fechaCreacion"));
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void preparar() {
+        topicoRepository.deleteAllInBatch();
+        List<Topico> topicos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Topico topico = new Topico();
+            topico.setTitulo("Tema " + i);
+            topico.setMensaje("Mensaje " + i);
+            topico.setCurso(i % 2 == 0 ? "Spring Boot " + (i % 10) : "Java " + (i % 10));
+            topico.setAutor("Autor" + (i % 25));
+            topicos.add(topico);
+        }
+        topicoRepository.saveAll(topicos);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void cursoExactoUsaIndiceDeCurso() {
+        Page<Topico> pagina = filtrar(new FiltroTopicos(null, "  SPRING boot 4 ", null, null, null));
+
+        assertEquals(50, pagina.getTotalElements());
+        String plan = plan("spring boot 4", PAGINA.getOffset(), PAGINA.getPageSize());
+        assertTrue(plan.contains("idx_topico_curso_fecha"), plan);
+    }
+
+    @Test
+    void prefijoDeAutorUsaIndiceDeAutor() {
+        Page<Topico> pagina = filtrar(new FiltroTopicos(null, null, "autor2*", null, null));
+
+        // autor2 y autor20..autor24
+        assertEquals(120, pagina.getTotalElements());
+        String plan = plan("autor2%", PAGINA.getOffset(), PAGINA.getPageSize());
+        assertTrue(plan.contains("idx_topico_autor_fecha"), plan);
+    }
+
+    @Test
+    void soloSeIncluyenLosCriteriosPresentes() {
+        filtrar(new FiltroTopicos("tema 1", null, null, null, null));
+        String sql = consultaPrincipal();
+        String condiciones = sql.substring(sql.indexOf(" where "), sql.indexOf(" order by "));
+
+        assertTrue(condiciones.contains("titulo"), sql);
+        assertFalse(condiciones.contains("curso_normalizado"), sql);
+        assertFalse(condiciones.contains("autor_normalizado"), sql);
+        assertFalse(condiciones.contains("is null"), sql);
+    }
+
+    @Test
+    void comodinesDelUsuarioSeEscapan() {
+        assertEquals(0, filtrar(new FiltroTopicos(null, "_ava*", null, null, null)).getTotalElements());
+        assertEquals(0, filtrar(new FiltroTopicos("%", null, null, null, null)).getTotalElements());
+    }
+
+    private Page<Topico> filtrar(FiltroTopicos filtro) {
+        // Desactivar las estadísticas de H2 las vacía; al reactivarlas solo
+        // queda registrado el SQL que genera esta consulta
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        return topicoRepository.findAll(EspecificacionesTopico.de(filtro), PAGINA);
+    }
+
+    private String consultaPrincipal() {
+        List<String> sentencias = jdbcTemplate.queryForList(
+                "SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class);
+        return sentencias.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.contains("from topico") && sql.contains("order by"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Consulta no encontrada en " + sentencias));
+    }
+
+    /**
+     * Plan de H2 para la consulta principal (la del contenido, no la de conteo)
+     */
+    private String plan(Object... parametros) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + consultaPrincipal(), String.class, parametros))
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package com.alura_foro_api.foro_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fetch size de la exportación: filas de a una solo en MySQL, sin depender de
+ * {@code useCursorFetch} en el pool
+ */
+class ExportacionTopicosServiceTest {
+
+    @Test
+    void enMySqlLasFilasSeLeenDeAUna() {
+        assertEquals(Integer.MIN_VALUE, ExportacionTopicosService.tamanoFetch("jdbc:mysql://localhost:3306/foro"));
+    }
+
+    @Test
+    void otrasBasesUsanElFetchSizeNormal() {
+        assertEquals(500, ExportacionTopicosService.tamanoFetch(
+                "jdbc:h2:mem:foro;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        assertEquals(500, ExportacionTopicosService.tamanoFetch(""));
+    }
+}
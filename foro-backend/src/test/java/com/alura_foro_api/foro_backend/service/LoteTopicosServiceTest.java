@@ -0,0 +1,62 @@
+package com.alura_foro_api.foro_backend.service;
+
+import com.alura_foro_api.foro_backend.dto.RegistroTopicoDTO;
+import com.alura_foro_api.foro_backend.dto.ResultadoItemLoteDTO;
+import com.alura_foro_api.foro_backend.dto.ResultadoLoteDTO;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Alta en lote cuando otro proceso inserta el mismo contenido entre la consulta
+ * de duplicados y el INSERT: la consulta se simula vacía para que el choque
+ * llegue a la restricción única de la base de datos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LoteTopicosServiceTest {
+
+    @Autowired
+    private LoteTopicosService loteTopicosService;
+
+    @SpyBean
+    private TopicoRepository topicoRepository;
+
+    @BeforeEach
+    void preparar() {
+        topicoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void unChoqueConcurrenteMarcaSoloEseElementoComoDuplicado() {
+        Long idExistente = loteTopicosService.registrar(List.of(
+                new RegistroTopicoDTO("Ya existe", "Creado por otra importación", "ana", "Java")))
+                .getResultados().get(0).getId();
+        doReturn(List.of()).when(topicoRepository).findHuellasByHashTituloIn(anyCollection());
+
+        ResultadoLoteDTO resultado = loteTopicosService.registrar(List.of(
+                new RegistroTopicoDTO("Nuevo uno", "Mensaje uno", "ana", "Java"),
+                new RegistroTopicoDTO("Ya existe", "Creado por otra importación", "luis", "Java"),
+                new RegistroTopicoDTO("Nuevo dos", "Mensaje dos", "ana", "Java")));
+
+        List<ResultadoItemLoteDTO> items = resultado.getResultados();
+        assertEquals(ResultadoItemLoteDTO.Estado.CREADO, items.get(0).getEstado());
+        assertEquals(ResultadoItemLoteDTO.Estado.DUPLICADO, items.get(1).getEstado());
+        assertEquals(ResultadoItemLoteDTO.Estado.CREADO, items.get(2).getEstado());
+        assertEquals(3, topicoRepository.count());
+        assertTrue(topicoRepository.existsById(items.get(0).getId()));
+        assertTrue(topicoRepository.existsById(items.get(2).getId()));
+        assertTrue(topicoRepository.existsById(idExistente));
+    }
+}
@@ -0,0 +1,91 @@
+package com.alura_foro_api.foro_backend.stats;
+
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.repository.TopicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EstadisticasTopicosServiceTest {
+
+    private TopicoRepository topicoRepository;
+    private EstadisticasTopicosService service;
+
+    @BeforeEach
+    void preparar() {
+        topicoRepository = mock(TopicoRepository.class);
+        service = new EstadisticasTopicosService(topicoRepository, Runnable::run);
+        when(topicoRepository.findAutoresMasActivos(any(Pageable.class))).thenReturn(filas("ana", 2));
+    }
+
+    @Test
+    void reemplazaLosContadoresConLaTabla() {
+        when(topicoRepository.findCursosMasActivos(any(Pageable.class))).thenReturn(filas("Java", 2));
+
+        service.reconciliar();
+
+        assertEquals(2, service.totalPorCurso("Java"));
+        assertEquals(2, service.totalPorAutor("ana"));
+    }
+
+    @Test
+    void unEventoDuranteLaConsultaNoSePierde() {
+        // La primera consulta no ve el tópico creado mientras corre; la segunda sí
+        AtomicInteger consultas = new AtomicInteger();
+        when(topicoRepository.findCursosMasActivos(any(Pageable.class))).thenAnswer(invocacion -> {
+            if (consultas.incrementAndGet() == 1) {
+                service.alCambiarTopico(TopicoEvento.creado(topico("Java", "ana")));
+                return filas("Java", 2);
+            }
+            return filas("Java", 3);
+        });
+
+        service.reconciliar();
+
+        assertEquals(3, service.totalPorCurso("Java"));
+        verify(topicoRepository, times(2)).findCursosMasActivos(any(Pageable.class));
+    }
+
+    @Test
+    void conEventosEnCadaIntentoConservaLosContadores() {
+        when(topicoRepository.findCursosMasActivos(any(Pageable.class))).thenReturn(filas("Java", 1));
+        service.reconciliar();
+        when(topicoRepository.findCursosMasActivos(any(Pageable.class))).thenAnswer(invocacion -> {
+            service.alCambiarTopico(TopicoEvento.creado(topico("Java", "ana")));
+            return filas("Java", 1);
+        });
+
+        service.reconciliar();
+
+        assertEquals(1 + EstadisticasTopicosService.INTENTOS_RECONCILIACION, service.totalPorCurso("Java"));
+    }
+
+    private static PageImpl<Object[]> filas(String nombre, long total) {
+        List<Object[]> filas = new ArrayList<>();
+        filas.add(new Object[]{nombre, total});
+        return new PageImpl<>(filas);
+    }
+
+    private static Topico topico(String curso, String autor) {
+        Topico topico = new Topico();
+        topico.setId(1L);
+        topico.setTitulo("Título");
+        topico.setMensaje("Mensaje");
+        topico.setCurso(curso);
+        topico.setAutor(autor);
+        return topico;
+    }
+}
@@ -0,0 +1,125 @@
+package com.alura_foro_api.foro_backend.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrieSugerenciasTest {
+
+    private static final String LETRAS = "aábAcB";
+
+    @Test
+    void pesoCeroRetiraElNombre() {
+        TrieSugerencias trie = new TrieSugerencias();
+        trie.poner("Java", 3);
+        trie.poner("JavaScript", 2);
+
+        trie.poner("Java", 0);
+
+        assertEquals(List.of(new ContadoresActividad.Conteo("JavaScript", 2)), trie.mejores("ja", 10));
+        trie.poner("JavaScript", -1);
+        assertEquals(List.of(), trie.mejores("", 10));
+    }
+
+    @Test
+    void prefijoQueTerminaEnMedioDeUnaArista() {
+        TrieSugerencias trie = new TrieSugerencias();
+        trie.poner("Spring Boot", 5);
+        trie.poner("Spring Data", 4);
+
+        assertEquals(List.of(new ContadoresActividad.Conteo("Spring Boot", 5),
+                new ContadoresActividad.Conteo("Spring Data", 4)), trie.mejores("spr", 10));
+        assertEquals(List.of(new ContadoresActividad.Conteo("Spring Data", 4)), trie.mejores("spring d", 10));
+        assertEquals(List.of(), trie.mejores("sprung", 10));
+        assertEquals(List.of(), trie.mejores("spring bootx", 10));
+    }
+
+    @Test
+    void nombresConLaMismaFormaNormalizadaSeSugierenPorSeparado() {
+        TrieSugerencias trie = new TrieSugerencias();
+        trie.poner("Java", 3);
+        trie.poner("java", 1);
+        trie.poner("Jáva", 2);
+
+        assertEquals(List.of(new ContadoresActividad.Conteo("Java", 3),
+                new ContadoresActividad.Conteo("Jáva", 2),
+                new ContadoresActividad.Conteo("java", 1)), trie.mejores("JAVA", 10));
+
+        trie.poner("Java", 0);
+        assertEquals(List.of(new ContadoresActividad.Conteo("Jáva", 2),
+                new ContadoresActividad.Conteo("java", 1)), trie.mejores("jav", 10));
+    }
+
+    /**
+     * Cambios aleatorios sobre un alfabeto chico (muchos prefijos compartidos,
+     * mayúsculas y acentos que se pliegan a la misma clave), comparando cada
+     * consulta con un recorrido completo de un mapa
+     */
+    @Test
+    void coincideConLaBusquedaPorFuerzaBruta() {
+        Random azar = new Random(42);
+        TrieSugerencias trie = new TrieSugerencias();
+        Map<String, Long> esperado = new HashMap<>();
+
+        for (int paso = 0; paso < 20_000; paso++) {
+            String nombre = texto(azar, 1 + azar.nextInt(5));
+            long peso = azar.nextInt(4) == 0 ? 0 : 1 + azar.nextInt(6);
+            trie.poner(nombre, peso);
+            if (peso > 0) {
+                esperado.put(nombre, peso);
+            } else {
+                esperado.remove(nombre);
+            }
+
+            if (paso % 10 == 0) {
+                comparar(trie, esperado, texto(azar, azar.nextInt(4)), 1 + azar.nextInt(8));
+            }
+            if (paso % 5_000 == 4_999) {
+                trie.reemplazar(esperado);
+            }
+        }
+        comparar(trie, esperado, "", esperado.size() + 1);
+    }
+
+    private static void comparar(TrieSugerencias trie, Map<String, Long> esperado, String prefijo, int limite) {
+        String clave = TrieSugerencias.normalizar(prefijo);
+        List<ContadoresActividad.Conteo> candidatos = new ArrayList<>();
+        esperado.forEach((nombre, peso) -> {
+            if (TrieSugerencias.normalizar(nombre).startsWith(clave)) {
+                candidatos.add(new ContadoresActividad.Conteo(nombre, peso));
+            }
+        });
+        candidatos.sort(Comparator.comparingLong(ContadoresActividad.Conteo::total).reversed());
+        List<ContadoresActividad.Conteo> obtenido = trie.mejores(prefijo, limite);
+
+        // Entre pesos iguales el orden no está fijado: se comparan los pesos y
+        // se verifica que cada nombre devuelto sea válido y aparezca una vez
+        String contexto = "prefijo '" + prefijo + "', límite " + limite;
+        assertEquals(candidatos.stream().limit(limite).map(ContadoresActividad.Conteo::total).toList(),
+                obtenido.stream().map(ContadoresActividad.Conteo::total).toList(), contexto);
+        Set<String> vistos = new HashSet<>();
+        for (ContadoresActividad.Conteo conteo : obtenido) {
+            assertEquals(esperado.get(conteo.nombre()), conteo.total(), contexto);
+            assertTrue(TrieSugerencias.normalizar(conteo.nombre()).startsWith(clave), contexto);
+            assertTrue(vistos.add(conteo.nombre()), contexto);
+        }
+    }
+
+    private static String texto(Random azar, int largo) {
+        StringBuilder texto = new StringBuilder(largo);
+        for (int i = 0; i < largo; i++) {
+            texto.append(LETRAS.charAt(azar.nextInt(LETRAS.length())));
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package com.alura_foro_api.foro_backend.stream;
+
+import com.alura_foro_api.foro_backend.event.TopicoEvento;
+import com.alura_foro_api.foro_backend.model.Topico;
+import com.alura_foro_api.foro_backend.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Flujo SSE sobre Tomcat real con un pool de envío de un solo hilo: un cliente
+ * que nunca lee no frena al que sí lee y se desconecta al vencer el plazo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "foro.flujo.hilos=1",
+        "foro.flujo.plazo-envio=PT1S",
+        // Sin desconexión por desborde: al cliente lento lo retira solo el plazo
+        "foro.flujo.politica-desborde=DESCARTAR_ANTIGUOS"
+})
+@ActiveProfiles("test")
+class FlujoTopicosServiceTest {
+
+    private static final int EVENTOS = 4000;
+    private static final int LOTE = 100;
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private FlujoTopicosService flujoTopicosService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void unClienteQueNoLeeNoFrenaAlResto() throws Exception {
+        String token = jwtUtil.generateToken("ana");
+        try (Socket lento = new Socket()) {
+            lento.setReceiveBufferSize(1024);
+            lento.connect(new InetSocketAddress("localhost", puerto));
+            OutputStream peticion = lento.getOutputStream();
+            peticion.write(("GET /api/v1/topicos/stream HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Authorization: Bearer " + token + "\r\nAccept: text/event-stream\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            peticion.flush();
+            esperar(() -> flujoTopicosService.getSuscriptores() == 1, 10);
+
+            AtomicLong recibidos = new AtomicLong();
+            HttpResponse<Stream<String>> respuesta = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + puerto + "/api/v1/topicos/stream"))
+                    .header("Authorization", "Bearer " + token)
+                    .build(), HttpResponse.BodyHandlers.ofLines());
+            assertEquals(200, respuesta.statusCode());
+            Thread lector = new Thread(() -> {
+                try {
+                    respuesta.body()
+                            .filter(linea -> linea.startsWith("event: creado"))
+                            .forEach(linea -> recibidos.incrementAndGet());
+                } catch (UncheckedIOException e) {
+                    // La prueba cerró la conexión
+                }
+            });
+            lector.setDaemon(true);
+            lector.start();
+            esperar(() -> flujoTopicosService.getSuscriptores() == 2, 10);
+
+            // Unos 8 MB por cliente, en lotes que el cliente rápido alcanza a leer
+            // antes de que su buffer descarte eventos
+            String mensaje = "x".repeat(Topico.LARGO_MAXIMO_MENSAJE);
+            for (int i = 1; i <= EVENTOS; i++) {
+                flujoTopicosService.alCambiarTopico(TopicoEvento.creado(topico(i, mensaje)));
+                if (i % LOTE == 0) {
+                    long esperados = i;
+                    esperar(() -> recibidos.get() == esperados, 10);
+                }
+            }
+
+            esperar(() -> flujoTopicosService.getSuscriptores() == 1, 15);
+            assertTrue(meterRegistry.get("foro.topicos.flujo.envios-vencidos").functionCounter().count() >= 1);
+            respuesta.body().close();
+        }
+    }
+
+    private static Topico topico(long id, String mensaje) {
+        Topico topico = new Topico();
+        topico.setId(id);
+        topico.setTitulo("Tópico " + id);
+        topico.setMensaje(mensaje);
+        topico.setAutor("ana");
+        topico.setCurso("Java");
+        return topico;
+    }
+
+    private static void esperar(BooleanSupplier condicion, int segundos) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "La condición no se cumplió a tiempo");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.alura_foro_api.foro_backend.stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Envíos a canales que aceptan o no datos, con un pool de un solo hilo: si un
+ * canal sin espacio retuviera el hilo, nadie más recibiría eventos.
+ */
+class SuscriptorFlujoTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(1);
+
+    @AfterEach
+    void detener() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void unCanalSinEspacioNoRetieneElHilo() throws Exception {
+        CanalDePrueba lento = new CanalDePrueba(false);
+        CanalDePrueba rapido = new CanalDePrueba(true);
+        SuscriptorFlujo suscriptorLento = suscriptor(lento);
+        SuscriptorFlujo suscriptorRapido = suscriptor(rapido);
+
+        suscriptorLento.encolar(envio("a"));
+        for (int i = 0; i < 3; i++) {
+            suscriptorRapido.encolar(envio("b" + i));
+        }
+
+        esperar(() -> rapido.escritos.size() == 3);
+        assertEquals(List.of("b0", "b1", "b2"), rapido.escritos);
+        assertTrue(rapido.enviados > 0);
+        assertTrue(lento.escritos.isEmpty());
+
+        // El canal avisa que volvió a aceptar datos
+        lento.listo = true;
+        suscriptorLento.alPoderEscribir();
+        esperar(() -> lento.escritos.size() == 1);
+    }
+
+    @Test
+    void venceElPlazoMientrasElCanalNoAceptaDatos() throws Exception {
+        CanalDePrueba lento = new CanalDePrueba(false);
+        SuscriptorFlujo suscriptor = suscriptor(lento);
+        assertFalse(suscriptor.envioVencido(System.nanoTime(), 0));
+
+        suscriptor.encolar(envio("a"));
+        esperar(() -> suscriptor.envioVencido(System.nanoTime(), 0));
+        assertFalse(suscriptor.envioVencido(System.nanoTime(), TimeUnit.MINUTES.toNanos(1)));
+
+        suscriptor.cerrar();
+        assertTrue(lento.cerrado.await(5, TimeUnit.SECONDS));
+        assertTrue(lento.escritos.isEmpty());
+    }
+
+    @Test
+    void unErrorDeEscrituraCierraElCanal() throws Exception {
+        CanalDePrueba roto = new CanalDePrueba(true) {
+            @Override
+            public void escribir(byte[] datos) throws IOException {
+                throw new IOException("Conexión reiniciada");
+            }
+        };
+        SuscriptorFlujo suscriptor = suscriptor(roto);
+
+        suscriptor.encolar(envio("a"));
+
+        assertTrue(roto.cerrado.await(5, TimeUnit.SECONDS));
+        assertTrue(suscriptor.estaCerrado());
+    }
+
+    @Test
+    void soloRecibeEnVivoDesdeSuRegistro() {
+        SuscriptorFlujo suscriptor = suscriptor(new CanalDePrueba(true));
+        assertFalse(suscriptor.recibe(10));
+
+        suscriptor.recibirDesde(10);
+
+        assertFalse(suscriptor.recibe(9));
+        assertTrue(suscriptor.recibe(10));
+    }
+
+    private SuscriptorFlujo suscriptor(CanalSse canal) {
+        return new SuscriptorFlujo(canal, null, null, 16, PoliticaDesborde.DESCONECTAR, executor, () -> { });
+    }
+
+    private static SuscriptorFlujo.Envio envio(String texto) {
+        byte[] contenido = texto.getBytes(StandardCharsets.UTF_8);
+        return () -> contenido;
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "La condición no se cumplió a tiempo");
+            Thread.sleep(5);
+        }
+    }
+
+    private static class CanalDePrueba implements CanalSse {
+
+        final List<String> escritos = new CopyOnWriteArrayList<>();
+        final CountDownLatch cerrado = new CountDownLatch(1);
+        volatile boolean listo;
+        volatile int enviados;
+
+        CanalDePrueba(boolean listo) {
+            this.listo = listo;
+        }
+
+        @Override
+        public void conectar(Runnable alPoderEscribir, Runnable alTerminar) {
+        }
+
+        @Override
+        public boolean listo() {
+            return listo;
+        }
+
+        @Override
+        public void escribir(byte[] datos) throws IOException {
+            escritos.add(new String(datos, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void enviarPendiente() {
+            enviados++;
+        }
+
+        @Override
+        public void cerrar() {
+            cerrado.countDown();
+        }
+    }
+}